@@ -16,6 +16,7 @@ CREATE TABLE IF NOT EXISTS users (
     full_name VARCHAR(100),
     role VARCHAR(20) NOT NULL DEFAULT 'USER',
     is_deleted BOOLEAN DEFAULT FALSE,
+    token_version BIGINT NOT NULL DEFAULT 0, -- Bumped to revoke every token issued to the user
     created_at TIMESTAMP DEFAULT NOW(),
     updated_at TIMESTAMP DEFAULT NOW()
 );
@@ -66,6 +67,7 @@ CREATE TABLE IF NOT EXISTS boards (
     workspace_id BIGINT NOT NULL,
     created_by BIGINT NOT NULL,
     is_deleted BOOLEAN DEFAULT FALSE,
+    change_version BIGINT NOT NULL DEFAULT 0, -- Bumped on every board/list/card change
     created_at TIMESTAMP DEFAULT NOW(),
     updated_at TIMESTAMP DEFAULT NOW(),
     CONSTRAINT fk_boards_workspace FOREIGN KEY (workspace_id) REFERENCES workspaces(id) ON DELETE CASCADE,
@@ -99,7 +101,9 @@ CREATE TABLE IF NOT EXISTS lists (
     name VARCHAR(100) NOT NULL,
     board_id BIGINT NOT NULL,
     position INT NOT NULL DEFAULT 0,
+    rank_key VARCHAR(64), -- Lexicographic sort key; position is a denormalised index
     is_deleted BOOLEAN DEFAULT FALSE,
+    change_version BIGINT NOT NULL DEFAULT 0, -- Board change version of the last write
     created_at TIMESTAMP DEFAULT NOW(),
     updated_at TIMESTAMP DEFAULT NOW(),
     CONSTRAINT fk_lists_board FOREIGN KEY (board_id) REFERENCES boards(id) ON DELETE CASCADE
@@ -108,6 +112,8 @@ CREATE TABLE IF NOT EXISTS lists (
 CREATE INDEX idx_lists_board_id ON lists(board_id);
 CREATE INDEX idx_lists_position ON lists(position);
 CREATE INDEX idx_lists_is_deleted ON lists(is_deleted);
+CREATE INDEX idx_lists_board_rank ON lists(board_id, rank_key);
+CREATE INDEX idx_lists_board_change_version ON lists(board_id, change_version);
 
 -- Cards table
 CREATE TABLE IF NOT EXISTS cards (
@@ -116,12 +122,14 @@ CREATE TABLE IF NOT EXISTS cards (
     description TEXT,
     list_id BIGINT NOT NULL,
     position INT NOT NULL DEFAULT 0,
+    rank_key VARCHAR(64), -- Lexicographic sort key; position is a denormalised index
     created_by BIGINT NOT NULL,
     assigned_to BIGINT,
     last_modified_by BIGINT,
     due_date TIMESTAMP,
     priority VARCHAR(20) DEFAULT 'MEDIUM', -- Priority levels: LOW, MEDIUM, HIGH, DONE
     is_deleted BOOLEAN DEFAULT FALSE,
+    change_version BIGINT NOT NULL DEFAULT 0, -- Board change version of the last write
     created_at TIMESTAMP DEFAULT NOW(),
     updated_at TIMESTAMP DEFAULT NOW(),
     CONSTRAINT fk_cards_list FOREIGN KEY (list_id) REFERENCES lists(id) ON DELETE CASCADE,
@@ -132,6 +140,9 @@ CREATE TABLE IF NOT EXISTS cards (
 
 CREATE INDEX idx_cards_list_id ON cards(list_id);
 CREATE INDEX idx_cards_position ON cards(position);
+CREATE INDEX idx_cards_list_rank ON cards(list_id, rank_key);
+CREATE INDEX idx_cards_list_rank_id ON cards(list_id, rank_key, id) WHERE is_deleted = false;
+CREATE INDEX idx_cards_list_change_version ON cards(list_id, change_version);
 CREATE INDEX idx_cards_assigned_to ON cards(assigned_to);
 CREATE INDEX idx_cards_last_modified_by ON cards(last_modified_by);
 CREATE INDEX idx_cards_is_deleted ON cards(is_deleted);
@@ -177,4 +188,40 @@ CREATE TRIGGER update_lists_updated_at BEFORE UPDATE ON lists
     FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 
 CREATE TRIGGER update_cards_updated_at BEFORE UPDATE ON cards
-    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
\ No newline at end of file
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Migration: rank-based card ordering
+-- Existing databases: add the sort key and seed it from the current positions.
+-- Keys are zero-padded positions with a non-zero suffix so new keys always fit between them;
+-- the application respreads any list that still has missing or overly long keys.
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS rank_key VARCHAR(64);
+UPDATE cards SET rank_key = LPAD(CAST(position + 1 AS TEXT), 10, '0') || 'i' WHERE rank_key IS NULL;
+CREATE INDEX IF NOT EXISTS idx_cards_list_rank ON cards(list_id, rank_key);
+
+-- Migration: rank-based list ordering (same scheme as cards)
+ALTER TABLE lists ADD COLUMN IF NOT EXISTS rank_key VARCHAR(64);
+UPDATE lists SET rank_key = LPAD(CAST(position + 1 AS TEXT), 10, '0') || 'i' WHERE rank_key IS NULL;
+CREATE INDEX IF NOT EXISTS idx_lists_board_rank ON lists(board_id, rank_key);
+
+-- Migration: per-board change versions for delta sync
+-- Existing rows start at version 0, so a client holding version 0 simply receives everything.
+ALTER TABLE boards ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE lists ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_lists_board_change_version ON lists(board_id, change_version);
+CREATE INDEX IF NOT EXISTS idx_cards_list_change_version ON cards(list_id, change_version);
+
+-- Migration: pooled sequence ids for JDBC batching
+-- The application allocates ids 50 at a time from each table's sequence, so the sequence must step by 50.
+-- Current values are kept, so existing ids are untouched and new ones continue above them.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE workspaces_id_seq INCREMENT BY 50;
+ALTER SEQUENCE workspace_members_id_seq INCREMENT BY 50;
+ALTER SEQUENCE boards_id_seq INCREMENT BY 50;
+ALTER SEQUENCE board_members_id_seq INCREMENT BY 50;
+ALTER SEQUENCE lists_id_seq INCREMENT BY 50;
+ALTER SEQUENCE cards_id_seq INCREMENT BY 50;
+
+-- Migration: keyset pages of a list's cards
+-- Pages continue after the (rank_key, id) of the previous page's last card, read straight off this index.
+CREATE INDEX IF NOT EXISTS idx_cards_list_rank_id ON cards(list_id, rank_key, id) WHERE is_deleted = false;
@@ -0,0 +1,70 @@
+import { PresenceViewer } from '@/types';
+
+const MAX_AVATARS = 5;
+
+const initials = (name?: string) =>
+  (name || '?')
+    .split(/\s+/)
+    .map((part) => part[0])
+    .join('')
+    .slice(0, 2)
+    .toUpperCase();
+
+interface PresenceAvatarsProps {
+  viewers: PresenceViewer[];
+  viewerCount: number;
+}
+
+// Who else has the board open; a ring marks people dragging or editing a card
+export function PresenceAvatars({ viewers, viewerCount }: PresenceAvatarsProps) {
+  if (viewerCount === 0) return null;
+  const shown = viewers.slice(0, MAX_AVATARS);
+  const more = viewerCount - shown.length;
+  return (
+    <div className="flex items-center -space-x-2" title={`${viewerCount} viewing`}>
+      {shown.map((viewer, index) => (
+        <div
+          key={`${viewer.userId ?? viewer.displayName}-${index}`}
+          title={viewer.activity === 'VIEWING' ? viewer.displayName : `${viewer.displayName} (${viewer.activity.toLowerCase()})`}
+          className={`h-8 w-8 rounded-full bg-blue-100 text-blue-700 border-2 flex items-center justify-center text-xs font-semibold ${
+            viewer.activity === 'VIEWING' ? 'border-white' : 'border-orange-400'
+          }`}
+        >
+          {initials(viewer.displayName)}
+        </div>
+      ))}
+      {more > 0 && (
+        <div className="h-8 w-8 rounded-full bg-gray-100 text-gray-600 border-2 border-white flex items-center justify-center text-xs font-medium">
+          +{more}
+        </div>
+      )}
+    </div>
+  );
+}
+
+interface PresenceCursorsProps {
+  viewers: PresenceViewer[];
+  ownName?: string;
+}
+
+// Other viewers' cursors, positioned as fractions of the enclosing (relative) board area
+export function PresenceCursors({ viewers, ownName }: PresenceCursorsProps) {
+  return (
+    <>
+      {viewers
+        .filter((viewer) => viewer.x != null && viewer.y != null && viewer.displayName !== ownName)
+        .map((viewer, index) => (
+          <div
+            key={`${viewer.userId ?? viewer.displayName}-${index}`}
+            className="pointer-events-none absolute z-50 transition-all duration-200"
+            style={{ left: `${viewer.x! * 100}%`, top: `${viewer.y! * 100}%` }}
+          >
+            <div className="h-2 w-2 rounded-full bg-orange-500" />
+            <span className="ml-2 rounded bg-orange-500 px-1.5 py-0.5 text-xs text-white whitespace-nowrap">
+              {viewer.displayName}
+            </span>
+          </div>
+        ))}
+    </>
+  );
+}
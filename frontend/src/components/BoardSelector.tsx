@@ -47,8 +47,9 @@ export default function BoardSelector() {
     retry: false,
   });
 
-  // Listen for global board updates (create/update/delete)
+  // Listen for board updates (create/update/delete) in the user's workspaces
   useGlobalBoardUpdates({
+    workspaceIds: workspaces?.map((workspace) => workspace.id) ?? [],
     onBoardUpdate: (message: BoardUpdateMessage) => {
       if (message.type === 'BOARD_CREATED' || message.type === 'BOARD_UPDATED' || message.type === 'BOARD_DELETED') {
         // Invalidate queries to refresh board list
@@ -1,5 +1,5 @@
 import { useState } from 'react';
-import { DragDropContext, DropResult, Droppable } from '@hello-pangea/dnd';
+import { DragDropContext, DragStart, DropResult, Droppable } from '@hello-pangea/dnd';
 import { useMutation, useQueryClient } from '@tanstack/react-query';
 import { boardService } from '@/services/boardService';
 import { useKanbanStore } from '@/store/kanbanStore';
@@ -13,9 +13,11 @@ import toast from 'react-hot-toast';
 interface KanbanBoardProps {
   board: BoardDTO;
   searchQuery?: string;
+  // Card being dragged, or null when the drag ends; shared with other viewers as presence
+  onDraggingChange?: (cardId: number | null) => void;
 }
 
-export default function KanbanBoard({ board, searchQuery = '' }: KanbanBoardProps) {
+export default function KanbanBoard({ board, searchQuery = '', onDraggingChange }: KanbanBoardProps) {
   const queryClient = useQueryClient();
   const { moveCardOptimistic, previousBoardState, rollbackBoard, currentBoard } = useKanbanStore();
   const isSystemAdmin = useAuthStore((state) => state.isAdmin);
@@ -106,8 +108,15 @@ export default function KanbanBoard({ board, searchQuery = '' }: KanbanBoardProp
     }
   };
 
+  const handleDragStart = (start: DragStart) => {
+    if (start.type !== 'LIST' && !start.draggableId.startsWith('list-')) {
+      onDraggingChange?.(Number(start.draggableId));
+    }
+  };
+
   const handleDragEnd = (result: DropResult) => {
     const { destination, source, draggableId, type } = result;
+    onDraggingChange?.(null);
 
     if (!destination) return;
     
@@ -149,7 +158,7 @@ export default function KanbanBoard({ board, searchQuery = '' }: KanbanBoardProp
 
   return (
     <div className="h-full overflow-x-auto bg-gray-50">
-      <DragDropContext onDragEnd={handleDragEnd}>
+      <DragDropContext onDragStart={handleDragStart} onDragEnd={handleDragEnd}>
         {canMoveLists ? (
           <Droppable droppableId="lists" direction="horizontal" type="LIST">
             {(provided) => (
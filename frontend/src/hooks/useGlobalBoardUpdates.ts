@@ -2,25 +2,41 @@ import { useEffect, useRef } from 'react';
 import { Client } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
 import { BoardUpdateMessage } from '@/types';
+import { useAuthStore } from '@/store/authStore';
 
 interface UseGlobalBoardUpdatesProps {
+  // Board created/updated/deleted events are only published to members of the board's workspace
+  workspaceIds: number[];
   onBoardUpdate: (message: BoardUpdateMessage) => void;
 }
 
-export const useGlobalBoardUpdates = ({ onBoardUpdate }: UseGlobalBoardUpdatesProps) => {
+export const useGlobalBoardUpdates = ({ workspaceIds, onBoardUpdate }: UseGlobalBoardUpdatesProps) => {
   const clientRef = useRef<Client | null>(null);
+  const onBoardUpdateRef = useRef(onBoardUpdate);
+  const workspaceKey = [...workspaceIds].sort((a, b) => a - b).join(',');
 
   useEffect(() => {
+    onBoardUpdateRef.current = onBoardUpdate;
+  }, [onBoardUpdate]);
+
+  useEffect(() => {
+    if (!workspaceKey) return;
     const wsUrl = import.meta.env.VITE_WS_URL || '/api/ws';
     const client = new Client({
       webSocketFactory: () => new SockJS(wsUrl) as any,
       reconnectDelay: 5000,
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
+      // Read on every (re)connect so a refreshed token is picked up
+      beforeConnect: () => {
+        client.connectHeaders = { Authorization: `Bearer ${useAuthStore.getState().token}` };
+      },
       onConnect: () => {
-        client.subscribe(`/topic/boards`, (message) => {
-          const update: BoardUpdateMessage = JSON.parse(message.body);
-          onBoardUpdate(update);
+        workspaceKey.split(',').forEach((workspaceId) => {
+          client.subscribe(`/topic/workspace/${workspaceId}/boards`, (message) => {
+            const update: BoardUpdateMessage = JSON.parse(message.body);
+            onBoardUpdateRef.current(update);
+          });
         });
       },
       onStompError: (frame) => {
@@ -36,6 +52,5 @@ export const useGlobalBoardUpdates = ({ onBoardUpdate }: UseGlobalBoardUpdatesPr
         clientRef.current.deactivate();
       }
     };
-  }, [onBoardUpdate]);
+  }, [workspaceKey]);
 };
-
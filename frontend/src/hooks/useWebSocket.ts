@@ -1,24 +1,195 @@
-import { useEffect, useRef } from 'react';
-import { Client } from '@stomp/stompjs';
+import { useCallback, useEffect, useRef } from 'react';
+import { Client, IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
-import { CardUpdateMessage } from '@/types';
+import { BoardEvent, BoardEventBatch, BoardPresence, BoardResyncMarker, PresenceActivity, PresenceViewer } from '@/types';
+import { useAuthStore } from '@/store/authStore';
+import { boardService } from '@/services/boardService';
 
 interface UseWebSocketProps {
   boardId: number | null;
-  onCardUpdate: (message: CardUpdateMessage) => void;
+  onCardUpdate: (message: BoardEvent) => void;
+  // Called when missed events can no longer be replayed and the board has to be reloaded
+  onResyncRequired?: () => void;
+  // Everyone on the board, merged across server instances
+  onPresence?: (viewers: PresenceViewer[], viewerCount: number) => void;
 }
 
-export const useWebSocket = ({ boardId, onCardUpdate }: UseWebSocketProps) => {
+interface StreamPosition {
+  epoch: string;
+  seq: number;
+}
+
+interface LocalPresence {
+  activity: PresenceActivity;
+  cardId?: number;
+  x?: number;
+  y?: number;
+}
+
+// Well inside the server's presence TTL, so a missed heartbeat does not drop us
+const PRESENCE_HEARTBEAT_MS = 5000;
+const CURSOR_THROTTLE_MS = 200;
+
+export const useWebSocket = ({ boardId, onCardUpdate, onResyncRequired, onPresence }: UseWebSocketProps) => {
   const clientRef = useRef<Client | null>(null);
   const onCardUpdateRef = useRef(onCardUpdate);
+  const onResyncRequiredRef = useRef(onResyncRequired);
+  const onPresenceRef = useRef(onPresence);
+  const boardIdRef = useRef(boardId);
+  const presenceRef = useRef<LocalPresence>({ activity: 'VIEWING' });
+  const cursorSentAtRef = useRef(0);
+  const cursorTimerRef = useRef<ReturnType<typeof setTimeout> | null>(null);
 
   useEffect(() => {
     onCardUpdateRef.current = onCardUpdate;
-  }, [onCardUpdate]);
+    onResyncRequiredRef.current = onResyncRequired;
+    onPresenceRef.current = onPresence;
+  }, [onCardUpdate, onResyncRequired, onPresence]);
+
+  const sendPresence = useCallback((leaving = false) => {
+    const client = clientRef.current;
+    const currentBoardId = boardIdRef.current;
+    if (!client?.connected || !currentBoardId) return;
+    // Who we are is taken from the authenticated session
+    client.publish({
+      destination: `/app/board/${currentBoardId}/presence`,
+      body: JSON.stringify({ ...presenceRef.current, leaving }),
+    });
+  }, []);
+
+  // What this client is doing; sent straight away so others see drags as they start
+  const setActivity = useCallback((activity: PresenceActivity, cardId?: number) => {
+    presenceRef.current = { ...presenceRef.current, activity, cardId };
+    sendPresence();
+  }, [sendPresence]);
+
+  // Cursor as a fraction of the board area; sent at most once per CURSOR_THROTTLE_MS
+  const moveCursor = useCallback((x: number, y: number) => {
+    presenceRef.current = { ...presenceRef.current, x, y };
+    if (cursorTimerRef.current) return;
+    const wait = Math.max(0, cursorSentAtRef.current + CURSOR_THROTTLE_MS - Date.now());
+    cursorTimerRef.current = setTimeout(() => {
+      cursorTimerRef.current = null;
+      cursorSentAtRef.current = Date.now();
+      sendPresence();
+    }, wait);
+  }, [sendPresence]);
 
   useEffect(() => {
+    boardIdRef.current = boardId;
     if (!boardId) return;
 
+    // Last frame applied, and frames held back while a replay is in flight
+    let position: StreamPosition | null = null;
+    let replaying = false;
+    let pending: IMessage[] = [];
+    let connected = false;
+
+    const apply = (update: BoardEvent | BoardEventBatch) => {
+      console.log('[WebSocket] Received update:', update);
+      if (update.type === 'BATCH') {
+        update.events.forEach((event) => onCardUpdateRef.current(event));
+      } else {
+        onCardUpdateRef.current(update);
+      }
+    };
+
+    const catchUp = async () => {
+      if (!position || replaying) return;
+      replaying = true;
+      try {
+        const replay = await boardService.getBoardEvents(boardId, position.seq, position.epoch);
+        if (replay.snapshotRequired) {
+          console.log('[WebSocket] Missed events are gone, reloading board');
+          onResyncRequiredRef.current?.();
+        } else {
+          replay.events.forEach((frame) => apply(frame.event));
+        }
+        // No epoch when the server does not number frames; every later gap is a reload then too
+        position = replay.epoch && replay.latestSeq != null ? { epoch: replay.epoch, seq: replay.latestSeq } : null;
+      } catch (error) {
+        console.error('[WebSocket] Replay failed, reloading board:', error);
+        onResyncRequiredRef.current?.();
+      } finally {
+        replaying = false;
+        const held = pending;
+        pending = [];
+        held.forEach(handleFrame);
+      }
+    };
+
+    const handleFrame = (message: IMessage) => {
+      if (replaying) {
+        pending.push(message);
+        return;
+      }
+      const epoch = message.headers['epoch'];
+      const seq = Number(message.headers['seq']);
+      if (position && epoch === position.epoch) {
+        if (seq <= position.seq) return; // Already applied by a replay
+        if (seq > position.seq + 1) {
+          // A gap: fetch what is missing first, this frame is applied after it
+          pending.push(message);
+          catchUp();
+          return;
+        }
+      } else if (position && epoch && seq > 1) {
+        // The server started a new sequence for this board and we missed its first frames
+        pending.push(message);
+        catchUp();
+        return;
+      }
+      let update: BoardEvent | BoardEventBatch | BoardResyncMarker;
+      try {
+        update = JSON.parse(message.body);
+      } catch (error) {
+        console.error('[WebSocket] Error parsing message:', error, message.body);
+        return;
+      }
+      if (update.type === 'RESYNC') {
+        // The server dropped updates because we fell behind; markers carry no sequence number
+        console.log('[WebSocket] Fell behind, catching up');
+        if (position) {
+          catchUp();
+        } else {
+          onResyncRequiredRef.current?.();
+        }
+        return;
+      }
+      apply(update);
+      if (epoch && !Number.isNaN(seq)) {
+        position = { epoch, seq };
+      }
+    };
+
+    // Latest snapshot from each server instance; each one only reports its own viewers
+    const presenceByInstance = new Map<string, BoardPresence>();
+
+    const handlePresence = (message: IMessage) => {
+      let presence: BoardPresence;
+      try {
+        presence = JSON.parse(message.body);
+      } catch (error) {
+        console.error('[WebSocket] Error parsing presence:', error, message.body);
+        return;
+      }
+      if (presence.viewerCount === 0) {
+        presenceByInstance.delete(presence.instance);
+      } else {
+        presenceByInstance.set(presence.instance, presence);
+      }
+      const viewers = new Map<string, PresenceViewer>();
+      let viewerCount = 0;
+      presenceByInstance.forEach((snapshot) => {
+        viewerCount += snapshot.viewerCount;
+        snapshot.viewers.forEach((viewer) => {
+          const key = String(viewer.userId ?? viewer.displayName);
+          if (!viewers.has(key) || viewer.activity !== 'VIEWING') viewers.set(key, viewer);
+        });
+      });
+      onPresenceRef.current?.(Array.from(viewers.values()), viewerCount);
+    };
+
     // Determine WebSocket URL - use environment variable or fallback
     // VITE_WS_URL should be the full WebSocket URL including /ws endpoint
     // IMPORTANT: SockJS requires https:// (not wss://) - it handles the protocol internally
@@ -33,17 +204,23 @@ export const useWebSocket = ({ boardId, onCardUpdate }: UseWebSocketProps) => {
       reconnectDelay: 5000,
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
+      // Subscriptions are authorised per board; read the token on every (re)connect
+      beforeConnect: () => {
+        client.connectHeaders = { Authorization: `Bearer ${useAuthStore.getState().token}` };
+      },
       onConnect: () => {
         console.log(`[WebSocket] Connected to board ${boardId}`);
-        client.subscribe(`/topic/board/${boardId}`, (message) => {
-          try {
-            const update: CardUpdateMessage = JSON.parse(message.body);
-            console.log('[WebSocket] Received update:', update);
-            onCardUpdateRef.current(update);
-          } catch (error) {
-            console.error('[WebSocket] Error parsing message:', error, message.body);
-          }
-        });
+        client.subscribe(`/topic/board/${boardId}`, handleFrame);
+        // After a reconnect, pick up whatever was broadcast while we were away. Without a
+        // position (frames are not numbered behind the relay or Redis bus) only a reload can
+        if (position) {
+          catchUp();
+        } else if (connected) {
+          onResyncRequiredRef.current?.();
+        }
+        connected = true;
+        client.subscribe(`/topic/board/${boardId}/presence`, handlePresence);
+        sendPresence();
       },
       onStompError: (frame) => {
         console.error('[WebSocket] STOMP error:', frame);
@@ -58,12 +235,22 @@ export const useWebSocket = ({ boardId, onCardUpdate }: UseWebSocketProps) => {
 
     client.activate();
     clientRef.current = client;
+    const heartbeat = setInterval(() => sendPresence(), PRESENCE_HEARTBEAT_MS);
 
     return () => {
+      clearInterval(heartbeat);
+      if (cursorTimerRef.current) {
+        clearTimeout(cursorTimerRef.current);
+        cursorTimerRef.current = null;
+      }
       if (clientRef.current) {
+        sendPresence(true);
         clientRef.current.deactivate();
       }
+      presenceRef.current = { activity: 'VIEWING' };
+      onPresenceRef.current?.([], 0);
     };
-  }, [boardId]);
-};
+  }, [boardId, sendPresence]);
 
+  return { setActivity, moveCursor };
+};
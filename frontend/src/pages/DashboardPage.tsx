@@ -7,11 +7,12 @@ import { workspaceService } from '@/services/workspaceService';
 import { useKanbanStore } from '@/store/kanbanStore';
 import { useAuthStore } from '@/store/authStore';
 import { useWebSocket } from '@/hooks/useWebSocket';
-import { CardUpdateMessage } from '@/types';
+import { BoardEvent, CardDTO, PresenceViewer } from '@/types';
 import KanbanBoard from '@/components/KanbanBoard';
 import CreateBoardDialog from '@/components/CreateBoardDialog';
 import NoBoardsMessage from '@/components/NoBoardsMessage';
 import Navigation from '@/components/Navigation';
+import { PresenceAvatars, PresenceCursors } from '@/components/BoardPresence';
 import { Info, Search, X } from 'lucide-react';
 import { Input } from '@/components/ui/input';
 
@@ -23,6 +24,8 @@ export default function DashboardPage() {
   const isAdmin = useAuthStore((state) => state.isAdmin);
   const [showPriorityLegend, setShowPriorityLegend] = useState(false);
   const [searchQuery, setSearchQuery] = useState('');
+  const [presence, setPresence] = useState<{ viewers: PresenceViewer[]; viewerCount: number }>({ viewers: [], viewerCount: 0 });
+  const currentUser = useAuthStore((state) => state.user);
   
   // Fetch workspaces and boards to check if user has any boards
   const { data: workspaces } = useQuery({
@@ -73,13 +76,16 @@ export default function DashboardPage() {
     }
   }, [board, setCurrentBoard]);
 
-  const handleCardUpdate = (message: CardUpdateMessage | any) => {
+  const handleCardUpdate = (message: BoardEvent) => {
     if (!boardId || !message.boardId || Number(message.boardId) !== Number(boardId)) return;
 
-    // Handle BoardUpdateMessage (for lists) - refetch board data
-    if (message.type?.startsWith('LIST_')) {
-      const userName = message.lastModifiedByName || 'Someone';
-      const listName = message.list?.name || 'a list';
+    const userName = message.actorName || 'Someone';
+    const findList = (listId?: number) => currentBoard?.lists.find(l => l.id === listId);
+
+    // List events - refetch board data
+    if (message.type.startsWith('LIST_')) {
+      const listName = message.list?.name || (message.changes?.name as string | undefined)
+        || findList(message.listId)?.name || 'a list';
       
       switch (message.type) {
         case 'LIST_CREATED':
@@ -93,7 +99,7 @@ export default function DashboardPage() {
           break;
         case 'LIST_MOVED':
           toast.success(`${userName} moved list "${listName}"`, {
-            id: `list-moved-${message.list?.id}-${Date.now()}`,
+            id: `list-moved-${message.listId}-${Date.now()}`,
             duration: 3000,
           });
           break;
@@ -104,11 +110,14 @@ export default function DashboardPage() {
       return;
     }
 
-    // Handle CardUpdateMessage (for cards)
+    // Card events
     if (!currentBoard || message.boardId !== currentBoard.id) return;
 
-    const userName = message.lastModifiedByName || 'Someone';
-    const cardTitle = message.card?.title || 'a card';
+    const existing = currentBoard.lists
+      .flatMap(l => l.cards)
+      .find(c => c.id === message.cardId);
+    const cardTitle = message.card?.title || (message.changes?.title as string | undefined)
+      || existing?.title || 'a card';
 
     switch (message.type) {
       case 'CREATED':
@@ -118,17 +127,22 @@ export default function DashboardPage() {
         }
         break;
       case 'UPDATED':
-        if (message.card) {
-          updateCardOptimistic(message.card);
+        if (existing) {
+          // Only the changed fields are sent; merge them into the card we already have
+          updateCardOptimistic({ ...existing, ...message.changes } as CardDTO);
           toast.success(`${userName} updated "${cardTitle}"`);
         }
         break;
       case 'MOVED':
-        if (message.card) {
-          moveCardOptimistic(message.card.id, message.card.listId, message.card.position);
-          const listName = currentBoard.lists.find(l => l.id === message.card?.listId)?.name || 'another list';
+        if (message.cardId && message.listId) {
+          moveCardOptimistic(message.cardId, message.listId, message.position ?? 0);
+          if (message.changes && existing) {
+            updateCardOptimistic({ ...existing, listId: message.listId, position: message.position ?? existing.position,
+              ...message.changes } as CardDTO);
+          }
+          const listName = findList(message.listId)?.name || 'another list';
           toast.success(`${userName} moved "${cardTitle}" to ${listName}`, {
-            id: `card-moved-${message.card?.id}-${Date.now()}`,
+            id: `card-moved-${message.cardId}-${Date.now()}`,
             duration: 3000,
           });
         }
@@ -146,9 +160,11 @@ export default function DashboardPage() {
     navigate(`/dashboard/${newBoardId}`);
   };
 
-  useWebSocket({
+  const { setActivity, moveCursor } = useWebSocket({
     boardId: boardId ? Number(boardId) : null,
     onCardUpdate: handleCardUpdate,
+    onResyncRequired: () => queryClient.refetchQueries({ queryKey: ['board', boardId] }),
+    onPresence: (viewers, viewerCount) => setPresence({ viewers, viewerCount }),
   });
 
   // If no boardId, handle based on user type and available boards
@@ -230,6 +246,8 @@ export default function DashboardPage() {
               )}
             </div>
             <div className="flex items-center gap-3">
+              <PresenceAvatars viewers={presence.viewers} viewerCount={presence.viewerCount} />
+
               {/* Search Bar */}
               <div className="relative">
                 <Search className="absolute left-3 top-1/2 transform -translate-y-1/2 h-4 w-4 text-gray-400" />
@@ -292,8 +310,19 @@ export default function DashboardPage() {
             </div>
           </div>
         </div>
-        <div className="flex-1 overflow-hidden">
-          <KanbanBoard board={currentBoard} searchQuery={searchQuery} />
+        <div
+          className="flex-1 overflow-hidden relative"
+          onMouseMove={(e) => {
+            const area = e.currentTarget.getBoundingClientRect();
+            moveCursor((e.clientX - area.left) / area.width, (e.clientY - area.top) / area.height);
+          }}
+        >
+          <KanbanBoard
+            board={currentBoard}
+            searchQuery={searchQuery}
+            onDraggingChange={(cardId) => (cardId ? setActivity('DRAGGING', cardId) : setActivity('VIEWING'))}
+          />
+          <PresenceCursors viewers={presence.viewers} ownName={currentUser?.fullName || currentUser?.username} />
         </div>
       </div>
     </div>
@@ -1,5 +1,5 @@
 import api from '@/lib/api';
-import { BoardDTO, ListDTO, CardDTO, CreateCardRequest, CreateListRequest, MoveCardRequest, MoveListRequest } from '@/types';
+import { BoardDTO, BoardDeltaDTO, BoardEventReplayDTO, BulkCardRequest, BulkCardResponse, CardPage, CardWindow, ListDTO, CardDTO, CreateCardRequest, CreateListRequest, MoveCardRequest, MoveListRequest } from '@/types';
 
 export interface CreateBoardRequest {
   name: string;
@@ -13,8 +13,24 @@ export const boardService = {
     return response.data;
   },
   
-  getBoardById: async (id: number): Promise<BoardDTO> => {
-    const response = await api.get<BoardDTO>(`/boards/${id}`);
+  // With cardWindow, large boards come back with only the first cards of each list; see getCardWindow
+  getBoardById: async (id: number, cardWindow?: number): Promise<BoardDTO> => {
+    const response = await api.get<BoardDTO>(`/boards/${id}`, { params: { cardWindow } });
+    return response.data;
+  },
+  
+  getCardWindow: async (boardId: number, listId: number, cursor: string, size?: number): Promise<CardWindow> => {
+    const response = await api.get<CardWindow>(`/boards/${boardId}/lists/${listId}/cards`, { params: { cursor, size } });
+    return response.data;
+  },
+  
+  getBoardChanges: async (id: number, since: number): Promise<BoardDeltaDTO> => {
+    const response = await api.get<BoardDeltaDTO>(`/boards/${id}/changes`, { params: { since } });
+    return response.data;
+  },
+  
+  getBoardEvents: async (id: number, after: number, epoch: string): Promise<BoardEventReplayDTO> => {
+    const response = await api.get<BoardEventReplayDTO>(`/boards/${id}/events`, { params: { after, epoch } });
     return response.data;
   },
   
@@ -33,6 +49,12 @@ export const boardService = {
     return response.data;
   },
   
+  // Keyset pages of card summaries, for long lists rendered in a virtualised column
+  getCardPage: async (listId: number, cursor?: string, size?: number): Promise<CardPage> => {
+    const response = await api.get<CardPage>(`/cards/list/${listId}/page`, { params: { cursor, size } });
+    return response.data;
+  },
+  
   createCard: async (data: CreateCardRequest): Promise<CardDTO> => {
     const response = await api.post<CardDTO>('/cards', data);
     return response.data;
@@ -52,6 +74,12 @@ export const boardService = {
     await api.delete(`/cards/${cardId}`);
   },
   
+  // Partial failures come back as 207 with per-operation results, not as an error
+  applyBulkCards: async (data: BulkCardRequest): Promise<BulkCardResponse> => {
+    const response = await api.post<BulkCardResponse>('/cards/bulk', data);
+    return response.data;
+  },
+  
   updateList: async (listId: number, data: CreateListRequest): Promise<ListDTO> => {
     const response = await api.put<ListDTO>(`/lists/${listId}`, data);
     return response.data;
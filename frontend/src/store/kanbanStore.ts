@@ -12,6 +12,13 @@ interface KanbanState {
   previousBoardState: BoardDTO | null;
 }
 
+// Positions are indexes in the list's rank order: put the card at its index and renumber the others
+const placeCard = (cards: CardDTO[], card: CardDTO): CardDTO[] => {
+  const others = cards.filter(c => c.id !== card.id);
+  others.splice(Math.min(Math.max(card.position, 0), others.length), 0, card);
+  return others.map((c, index) => (c.position === index ? c : { ...c, position: index }));
+};
+
 export const useKanbanStore = create<KanbanState>((set, get) => ({
   currentBoard: null,
   previousBoardState: null,
@@ -25,7 +32,9 @@ export const useKanbanStore = create<KanbanState>((set, get) => ({
     
     const updatedLists = board.lists.map(list => ({
       ...list,
-      cards: list.cards.map(c => c.id === card.id ? card : c),
+      cards: list.cards.some(c => c.id === card.id && c.position !== card.position)
+        ? placeCard(list.cards, card)
+        : list.cards.map(c => c.id === card.id ? card : c),
     }));
     
     set({ currentBoard: { ...board, lists: updatedLists } });
@@ -59,7 +68,7 @@ export const useKanbanStore = create<KanbanState>((set, get) => ({
         const targetList = updatedLists[targetListIndex];
         const card: CardDTO = cardToMove; // Type narrowing
         const newCard: CardDTO = { ...card, listId: targetListId, position: newPosition };
-        const updatedCards = [...targetList.cards, newCard].sort((a, b) => a.position - b.position);
+        const updatedCards = placeCard(targetList.cards, newCard);
         updatedLists[targetListIndex] = {
           ...targetList,
           cards: updatedCards,
@@ -94,7 +103,7 @@ export const useKanbanStore = create<KanbanState>((set, get) => ({
       if (list.id === card.listId) {
         return {
           ...list,
-          cards: [...list.cards, card].sort((a, b) => a.position - b.position),
+          cards: placeCard(list.cards, card),
         };
       }
       return list;
@@ -11,6 +11,8 @@ export interface CardDTO {
   description?: string;
   listId: number;
   position: number;
+  rank?: string;
+  version?: number;
   createdBy: number;
   creatorName?: string;
   assignedTo?: number; // Deprecated, kept for backward compatibility
@@ -30,9 +32,20 @@ export interface ListDTO {
   name: string;
   boardId: number;
   position: number;
+  rank?: string;
+  version?: number;
   createdAt: string;
   updatedAt: string;
   cards: CardDTO[];
+  cardCount?: number; // All of the list's cards, which may be more than cards holds
+  nextCardCursor?: string; // Set when cards is only the first window; pass to boardService.getCardWindow
+}
+
+export interface CardWindow {
+  listId: number;
+  cards: CardDTO[];
+  nextCursor?: string;
+  hasMore: boolean;
 }
 
 export interface BoardDTO {
@@ -41,19 +54,74 @@ export interface BoardDTO {
   description?: string;
   workspaceId: number;
   createdBy: number;
+  version?: number;
   createdAt: string;
   updatedAt: string;
   lists: ListDTO[];
 }
 
-export interface CardUpdateMessage {
-  type: 'CREATED' | 'UPDATED' | 'MOVED' | 'DELETED';
-  card?: CardDTO;
+export interface BoardDeltaDTO {
+  boardId: number;
+  fromVersion: number;
+  toVersion: number;
+  fullReload: boolean;
+  name: string;
+  description?: string;
+  lists: ListDTO[];
+  cards: CardDTO[];
+  deletedListIds: number[];
+  deletedCardIds: number[];
+}
+
+// Board frames missed since a given sequence; snapshotRequired means they are gone, reload instead
+export interface BoardEventReplayDTO {
+  epoch: string | null; // Null when the server does not number frames
+  latestSeq: number | null;
+  snapshotRequired: boolean;
+  events: { seq: number; event: BoardEvent | BoardEventBatch }[];
+}
+
+// Compact event on /topic/board/{id}; only the fields the event kind needs are present
+export interface BoardEvent {
+  type: 'CREATED' | 'UPDATED' | 'MOVED' | 'DELETED' | 'LIST_CREATED' | 'LIST_UPDATED' | 'LIST_MOVED' | 'LIST_DELETED';
   boardId: number;
+  cardId?: number;
+  listId?: number;
   previousListId?: number;
+  position?: number;
+  rank?: string;
+  version?: number;
+  changes?: Record<string, unknown>; // UPDATED and LIST_UPDATED: changed field -> new value
+  card?: CardDTO; // CREATED only
+  list?: ListDTO; // LIST_CREATED only
+  actorId?: number;
+  actorName?: string;
+}
+
+// Sent instead of updates the server dropped for a client that fell behind; replay or reload to catch up
+export interface BoardResyncMarker {
+  type: 'RESYNC';
+  boardId: number;
+}
+
+// Ephemeral presence on /topic/board/{id}/presence, one snapshot per server instance
+export type PresenceActivity = 'VIEWING' | 'DRAGGING' | 'EDITING';
+
+export interface PresenceViewer {
+  userId?: number;
+  displayName?: string;
+  activity: PresenceActivity;
   cardId?: number;
-  lastModifiedBy?: number;
-  lastModifiedByName?: string;
+  x?: number; // Cursor as a fraction of the board area
+  y?: number;
+}
+
+export interface BoardPresence {
+  type: 'PRESENCE';
+  boardId: number;
+  instance: string;
+  viewerCount: number;
+  viewers: PresenceViewer[];
 }
 
 export interface BoardUpdateMessage {
@@ -69,6 +137,13 @@ export interface BoardUpdateMessage {
   lastModifiedByName?: string;
 }
 
+// Several board events flushed together by the server, in the order they happened
+export interface BoardEventBatch {
+  type: 'BATCH';
+  boardId: number;
+  events: BoardEvent[];
+}
+
 export interface CreateListRequest {
   name: string;
   boardId: number;
@@ -91,6 +166,46 @@ export interface MoveCardRequest {
   newPosition: number;
 }
 
+export type BulkCardOperation =
+  | { type: 'MOVE'; cardId: number; targetListId: number; newPosition?: number }
+  | { type: 'UPDATE'; cardId: number; changes: Partial<CreateCardRequest> }
+  | { type: 'DELETE'; cardId: number };
+
+export interface BulkCardRequest {
+  operations: BulkCardOperation[];
+  atomic?: boolean; // Apply nothing if any operation is rejected
+}
+
+export interface BulkCardResult {
+  index: number;
+  cardId: number;
+  status: 'APPLIED' | 'FAILED' | 'SKIPPED';
+  error?: string;
+  card?: CardDTO;
+}
+
+export interface BulkCardResponse {
+  applied: number;
+  failed: number;
+  results: BulkCardResult[];
+}
+
+export interface CardSummary {
+  id: number;
+  title: string;
+  position: number;
+  priority: 'LOW' | 'MEDIUM' | 'HIGH' | 'DONE';
+  dueDate?: string;
+  assignedUserIds: number[];
+}
+
+export interface CardPage {
+  listId: number;
+  cards: CardSummary[];
+  nextCursor?: string; // Pass back as cursor for the next page; absent on the last page
+  hasMore: boolean;
+}
+
 export interface MoveListRequest {
   newPosition: number;
 }
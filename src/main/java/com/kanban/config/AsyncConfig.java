@@ -0,0 +1,73 @@
+package com.kanban.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String BOARD_EVENT_EXECUTOR = "boardEventExecutor";
+
+    // One thread so broadcasts leave in the order their transactions committed
+    @Bean(name = BOARD_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor boardEventExecutor(
+            @Value("${kanban.events.publisher.queue-capacity:10000}") int queueCapacity,
+            @Value("${kanban.events.publisher.enqueue-timeout-ms:5000}") long enqueueTimeoutMillis) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("board-event-publisher-");
+        executor.setRejectedExecutionHandler(new WaitForQueuePolicy(enqueueTimeoutMillis));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+
+    /**
+     * Waits for room in the queue instead of running the task on the caller, which would send it
+     * ahead of everything already queued. A task still not queued after the timeout is dropped and
+     * counted; its subscribers catch up on their next delta sync or reload.
+     */
+    @Slf4j
+    public static class WaitForQueuePolicy implements RejectedExecutionHandler {
+
+        private final long timeoutMillis;
+        private final AtomicLong dropped = new AtomicLong();
+
+        public WaitForQueuePolicy(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Executor is shut down");
+            }
+            try {
+                if (executor.getQueue().offer(task, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long total = dropped.incrementAndGet();
+            log.warn("Board event queue still full after {} ms, dropped a broadcast ({} dropped so far)", timeoutMillis, total);
+        }
+
+        public long getDropped() {
+            return dropped.get();
+        }
+    }
+}
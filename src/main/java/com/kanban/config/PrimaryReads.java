@@ -0,0 +1,40 @@
+package com.kanban.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs reads whose results end up in a shared cache against the primary. A read-only transaction
+ * may be served by a lagging replica, and a cache filled from it would hand pre-write data to
+ * every later request. Such reads get their own short read-only transaction pinned to the primary.
+ *
+ * Without a replica, or inside a read-write transaction (already on the primary, and the read
+ * must see that transaction's own writes), the read simply runs in place.
+ */
+@Component
+public class PrimaryReads {
+
+    private final ReplicaRoutingDataSource routing;
+    private final TransactionTemplate transaction;
+
+    public PrimaryReads(Optional<ReplicaRoutingDataSource> routing, PlatformTransactionManager transactionManager) {
+        this.routing = routing.orElse(null);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transaction.setReadOnly(true);
+    }
+
+    public <T> T read(Supplier<T> read) {
+        if (routing == null || (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return read.get();
+        }
+        return routing.onPrimary(() -> transaction.execute(status -> read.get()));
+    }
+}
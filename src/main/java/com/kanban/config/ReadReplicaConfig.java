@@ -0,0 +1,76 @@
+package com.kanban.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured pool with a primary and a replica pool when
+ * {@code kanban.datasource.replica.url} is set. Without it the application uses the primary only.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "kanban.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    // Milliseconds since the last replayed transaction, or 0 when the replica has replayed all it received
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery()"
+            + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${kanban.datasource.replica.url}") String url,
+            @Value("${kanban.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${kanban.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${kanban.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${kanban.datasource.replica.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${kanban.datasource.replica.read-your-writes-ms:5000}") long readYourWritesMillis,
+            @Value("${kanban.datasource.replica.max-tracked-users:10000}") int maxTrackedUsers) {
+        return new ReplicaRoutingDataSource(primary, replica, lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery,
+                maxLagMillis, readYourWritesMillis, maxTrackedUsers);
+    }
+
+    // The proxy hands out a connection handle at transaction begin but only picks the pool on first use,
+    // once the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
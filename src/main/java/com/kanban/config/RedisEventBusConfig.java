@@ -0,0 +1,48 @@
+package com.kanban.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// Only with kanban.events.bus=redis, so single-instance deployments never open a Redis connection
+@Configuration
+@ConditionalOnProperty(name = "kanban.events.bus", havingValue = "redis")
+public class RedisEventBusConfig {
+
+    public static final String BOARD_EVENT_LISTENER_EXECUTOR = "boardEventListenerExecutor";
+
+    // With the relay every instance already sends each broadcast to the shared broker; delivering
+    // from Redis as well would send every board event to every client twice
+    public RedisEventBusConfig(@Value("${kanban.websocket.broker.mode:simple}") String brokerMode) {
+        if ("relay".equalsIgnoreCase(brokerMode.trim())) {
+            throw new IllegalStateException(
+                    "kanban.events.bus=redis cannot be combined with kanban.websocket.broker.mode=relay; use one of them");
+        }
+    }
+
+    // A bean, so the context shuts its thread down with the container
+    @Bean(name = BOARD_EVENT_LISTENER_EXECUTOR)
+    public ThreadPoolTaskExecutor boardEventListenerExecutor() {
+        // One dispatch thread, so board events are delivered in the order Redis published them
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("board-event-listener-");
+        return executor;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer boardEventListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            @Qualifier(BOARD_EVENT_LISTENER_EXECUTOR) ThreadPoolTaskExecutor executor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(executor);
+        return container;
+    }
+}
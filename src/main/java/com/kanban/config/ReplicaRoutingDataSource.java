@@ -0,0 +1,183 @@
+package com.kanban.config;
+
+import com.kanban.dto.ReplicaRoutingStatsDTO;
+import com.kanban.util.SecurityUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. A read still
+ * goes to the primary while the replica's measured lag is unknown or above {@code max-lag-ms},
+ * and for a user who committed a write within the last {@code read-your-writes-ms}, so people
+ * always see their own changes. Must sit behind a {@code LazyConnectionDataSourceProxy}: the
+ * connection has to be taken after the transaction's read-only flag is set.
+ *
+ * Reads that fill a shared cache can be pinned to the primary with {@link #onPrimary}.
+ *
+ * Recent writers are tracked per instance. Keep the window well above the allowed lag so a user
+ * whose next request lands on another instance still reads a replica that has caught up.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private static final long UNKNOWN_LAG = -1;
+
+    private final JdbcTemplate replicaTemplate;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long readYourWritesMillis;
+
+    // Guarded by itself: username -> time of the user's last committed write
+    private final LinkedHashMap<String, Long> lastWrites;
+
+    private volatile long lagMillis = UNKNOWN_LAG;
+
+    // Set on a thread while its connections must come from the primary
+    private final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+    private final AtomicLong lagFallbacks = new AtomicLong();
+    private final AtomicLong readYourWritesFallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery,
+                                    long maxLagMillis, long readYourWritesMillis, int maxTrackedUsers) {
+        this.replicaTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.readYourWritesMillis = readYourWritesMillis;
+        this.lastWrites = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxTrackedUsers;
+            }
+        };
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && primaryOnly.get() != null) {
+            primaryReads.incrementAndGet();
+            return Route.PRIMARY;
+        }
+        String username = SecurityUtil.getCurrentUsername();
+        if (!readOnly && username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only a committed write opens the window; a rolled-back one changed nothing to read back
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(username, System.currentTimeMillis());
+                }
+            });
+        }
+        return route(readOnly, username, System.currentTimeMillis());
+    }
+
+    /**
+     * Runs {@code action} with every connection it opens taken from the primary, whatever the
+     * lag. Only connections obtained inside it are affected, so the action has to start its own
+     * transaction; {@link PrimaryReads} does that.
+     */
+    public <T> T onPrimary(Supplier<T> action) {
+        Boolean outer = primaryOnly.get();
+        primaryOnly.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (outer == null) {
+                primaryOnly.remove();
+            }
+        }
+    }
+
+    Route route(boolean readOnly, String username, long now) {
+        if (!readOnly) {
+            return Route.PRIMARY;
+        }
+        long lag = lagMillis;
+        if (lag == UNKNOWN_LAG || lag > maxLagMillis) {
+            lagFallbacks.incrementAndGet();
+            primaryReads.incrementAndGet();
+            return Route.PRIMARY;
+        }
+        if (username != null && wroteRecently(username, now)) {
+            readYourWritesFallbacks.incrementAndGet();
+            primaryReads.incrementAndGet();
+            return Route.PRIMARY;
+        }
+        replicaReads.incrementAndGet();
+        return Route.REPLICA;
+    }
+
+    void recordWrite(String username, long now) {
+        synchronized (lastWrites) {
+            lastWrites.put(username, now);
+        }
+    }
+
+    private boolean wroteRecently(String username, long now) {
+        synchronized (lastWrites) {
+            Long lastWrite = lastWrites.get(username);
+            if (lastWrite == null) {
+                return false;
+            }
+            if (now - lastWrite >= readYourWritesMillis) {
+                lastWrites.remove(username);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        try {
+            Long lag = replicaTemplate.queryForObject(lagQuery, Long.class);
+            updateLag(lag != null ? Math.max(0, lag) : UNKNOWN_LAG);
+        } catch (DataAccessException e) {
+            if (lagMillis != UNKNOWN_LAG) {
+                log.warn("Replica lag check failed, reading from the primary until it succeeds: {}", e.getMessage());
+            }
+            updateLag(UNKNOWN_LAG);
+        }
+    }
+
+    void updateLag(long lag) {
+        lagMillis = lag;
+    }
+
+    public ReplicaRoutingStatsDTO getStats() {
+        int trackedWriters;
+        synchronized (lastWrites) {
+            trackedWriters = lastWrites.size();
+        }
+        long lag = lagMillis;
+        return ReplicaRoutingStatsDTO.builder()
+                .enabled(true)
+                .replicaLagMillis(lag != UNKNOWN_LAG ? lag : null)
+                .maxLagMillis(maxLagMillis)
+                .readYourWritesMillis(readYourWritesMillis)
+                .replicaReads(replicaReads.get())
+                .primaryReads(primaryReads.get())
+                .lagFallbacks(lagFallbacks.get())
+                .readYourWritesFallbacks(readYourWritesFallbacks.get())
+                .trackedWriters(trackedWriters)
+                .build();
+    }
+}
@@ -1,39 +1,103 @@
 package com.kanban.config;
 
+import com.kanban.messaging.SlowConsumerGuard;
+import com.kanban.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 import java.util.Arrays;
-import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    
     // WebSocket allowed origins from environment variable (comma-separated)
     // Default: localhost for development
     @Value("${websocket.allowed.origins:http://localhost:5173,http://localhost:3000}")
     private String allowedOrigins;
     
+    // "simple" keeps the in-memory broker, which only reaches clients of this instance.
+    // "relay" forwards /topic traffic to a shared STOMP broker so every instance sees every broadcast.
+    @Value("${kanban.websocket.broker.mode:simple}")
+    private String brokerMode;
+    
+    @Value("${kanban.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+    
+    @Value("${kanban.websocket.broker.relay.port:61613}")
+    private int relayPort;
+    
+    @Value("${kanban.websocket.broker.relay.login:guest}")
+    private String relayLogin;
+    
+    @Value("${kanban.websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+    
+    @Value("${kanban.websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+    
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode.trim())) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else if ("simple".equalsIgnoreCase(brokerMode.trim())) {
+            config.enableSimpleBroker("/topic");
+        } else {
+            throw new IllegalStateException("Unknown kanban.websocket.broker.mode: " + brokerMode);
+        }
         config.setApplicationDestinationPrefixes("/app");
+        // Board frames are numbered; keep them in that order on the way to each session
+        config.setPreservePublishOrder(true);
+    }
+    
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // The handshake is unauthenticated; CONNECT, SUBSCRIBE and SEND frames are checked here
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+    
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Outbound frames queue in the guard, which applies kanban.websocket.outbound.* per session.
+        // Spring's own limits stay as a backstop for the rare concurrent send that bypasses it
+        registration.addDecoratorFactory(slowConsumerGuard)
+                .setSendTimeLimit((int) slowConsumerGuard.getSendTimeLimitMillis())
+                .setSendBufferSizeLimit(slowConsumerGuard.getMaxQueuedBytes());
     }
     
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // Parse allowed origins from environment variable (comma-separated)
-        List<String> origins = Arrays.asList(allowedOrigins.split(","));
+        String[] origins = Arrays.stream(allowedOrigins.split(","))
+                .map(String::trim)
+                .toArray(String[]::new);
         registry.addEndpoint("/ws")
-                .setAllowedOrigins(origins.stream()
-                        .map(String::trim)
-                        .toArray(String[]::new))
+                .setAllowedOrigins(origins)
                 .withSockJS();
+        // Plain WebSocket without SockJS, which can only carry text; needed for binary board topics
+        registry.addEndpoint("/ws/native")
+                .setAllowedOrigins(origins);
     }
 }
 
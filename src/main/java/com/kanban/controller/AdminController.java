@@ -61,6 +61,26 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getSystemStatistics());
     }
     
+    @GetMapping("/cache/boards")
+    public ResponseEntity<BoardCacheStatsDTO> getBoardCacheStats() {
+        return ResponseEntity.ok(adminService.getBoardCacheStats());
+    }
+    
+    @GetMapping("/events/batches")
+    public ResponseEntity<BoardEventBatchStatsDTO> getBoardEventBatchStats() {
+        return ResponseEntity.ok(adminService.getBoardEventBatchStats());
+    }
+    
+    @GetMapping("/websocket/sessions")
+    public ResponseEntity<WebSocketSessionStatsDTO> getWebSocketSessionStats() {
+        return ResponseEntity.ok(adminService.getWebSocketSessionStats());
+    }
+    
+    @GetMapping("/datasource/routing")
+    public ResponseEntity<ReplicaRoutingStatsDTO> getReplicaRoutingStats() {
+        return ResponseEntity.ok(adminService.getReplicaRoutingStats());
+    }
+    
     // Board Member Management
     @PostMapping("/boards/{boardId}/members")
     public ResponseEntity<BoardMemberDTO> assignUserToBoard(
@@ -1,18 +1,20 @@
 package com.kanban.controller;
 
 import com.kanban.dto.BoardDTO;
-import com.kanban.dto.BoardUpdateMessage;
+import com.kanban.dto.BoardDeltaDTO;
+import com.kanban.dto.BoardEventReplayDTO;
+import com.kanban.dto.CardWindowDTO;
 import com.kanban.dto.CreateBoardRequest;
-import com.kanban.model.User;
-import com.kanban.repository.BoardRepository;
+import com.kanban.messaging.BoardEventLog;
 import com.kanban.service.BoardService;
 import com.kanban.service.PermissionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,28 +24,57 @@ import java.util.List;
 public class BoardController {
     
     private final BoardService boardService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BoardEventLog boardEventLog;
     private final PermissionService permissionService;
-    private final BoardRepository boardRepository;
     
     @PostMapping
     public ResponseEntity<BoardDTO> createBoard(@Valid @RequestBody CreateBoardRequest request) {
-        BoardDTO board = boardService.createBoard(request);
-        
-        // Broadcast board creation for real-time updates
-        User currentUser = permissionService.getCurrentUser();
-        String userName = currentUser.getFullName() != null ? currentUser.getFullName() : currentUser.getUsername();
-        
-        BoardUpdateMessage message = new BoardUpdateMessage("BOARD_CREATED", null, null, board, board.getId(), 
-                null, null, null, currentUser.getId(), userName);
-        messagingTemplate.convertAndSend("/topic/boards", message);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(board);
+        return ResponseEntity.status(HttpStatus.CREATED).body(boardService.createBoard(request));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<BoardDTO> getBoardById(@PathVariable Long id) {
-        return ResponseEntity.ok(boardService.getBoardById(id));
+    public ResponseEntity<BoardDTO> getBoardById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer cardWindow,
+            WebRequest request
+    ) {
+        // The tag comes from the board version and window, so unchanged boards get a 304 without being loaded
+        String etag = boardService.getBoardETag(id, cardWindow);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(cardWindow != null ? boardService.getBoardWindow(id, cardWindow) : boardService.getBoardById(id));
+    }
+    
+    // The next cards of a list after a windowed board read, from the list's nextCardCursor
+    @GetMapping("/{id}/lists/{listId}/cards")
+    public ResponseEntity<CardWindowDTO> getCardWindow(
+            @PathVariable Long id,
+            @PathVariable Long listId,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(boardService.getCardWindow(id, listId, cursor, size));
+    }
+    
+    // Everything that changed since the version of the client's last snapshot, including deletions
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<BoardDeltaDTO> getBoardChanges(@PathVariable Long id, @RequestParam long since) {
+        return ResponseEntity.ok(boardService.getBoardChanges(id, since));
+    }
+    
+    // Real-time frames the client missed after the seq/epoch headers of the last one it saw
+    @GetMapping("/{id}/events")
+    public ResponseEntity<BoardEventReplayDTO> getBoardEvents(
+            @PathVariable Long id,
+            @RequestParam long after,
+            @RequestParam(required = false) String epoch
+    ) {
+        permissionService.verifyBoardAccess(id);
+        return ResponseEntity.ok(boardEventLog.replay(id, after, epoch));
     }
     
     @GetMapping("/workspace/{workspaceId}")
@@ -56,36 +87,12 @@ public class BoardController {
             @PathVariable Long id,
             @Valid @RequestBody CreateBoardRequest request
     ) {
-        BoardDTO board = boardService.updateBoard(id, request);
-        
-        // Broadcast board update for real-time updates
-        User currentUser = permissionService.getCurrentUser();
-        String userName = currentUser.getFullName() != null ? currentUser.getFullName() : currentUser.getUsername();
-        
-        BoardUpdateMessage message = new BoardUpdateMessage("BOARD_UPDATED", null, null, board, board.getId(), 
-                null, null, null, currentUser.getId(), userName);
-        messagingTemplate.convertAndSend("/topic/boards", message);
-        
-        return ResponseEntity.ok(board);
+        return ResponseEntity.ok(boardService.updateBoard(id, request));
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBoard(@PathVariable Long id) {
-        // Get board info before deletion for WebSocket broadcast
-        BoardDTO boardDTO = boardService.getBoardById(id);
-        Long workspaceId = boardDTO.getWorkspaceId();
-        
         boardService.deleteBoard(id);
-        
-        // Broadcast board deletion - use a global topic so all users get notified
-        User currentUser = permissionService.getCurrentUser();
-        String userName = currentUser.getFullName() != null ? currentUser.getFullName() : currentUser.getUsername();
-        
-        BoardUpdateMessage message = new BoardUpdateMessage("BOARD_DELETED", null, null, null, id, 
-                null, null, null, currentUser.getId(), userName);
-        // Broadcast to global boards topic for real-time updates
-        messagingTemplate.convertAndSend("/topic/boards", message);
-        
         return ResponseEntity.noContent().build();
     }
 }
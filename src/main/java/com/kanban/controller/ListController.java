@@ -1,19 +1,16 @@
 package com.kanban.controller;
 
-import com.kanban.dto.BoardUpdateMessage;
 import com.kanban.dto.CreateListRequest;
 import com.kanban.dto.ListDTO;
 import com.kanban.dto.MoveListRequest;
-import com.kanban.model.User;
-import com.kanban.repository.BoardRepository;
 import com.kanban.service.ListService;
-import com.kanban.service.PermissionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,23 +20,10 @@ import java.util.List;
 public class ListController {
     
     private final ListService listService;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final PermissionService permissionService;
-    private final BoardRepository boardRepository;
     
     @PostMapping
     public ResponseEntity<ListDTO> createList(@Valid @RequestBody CreateListRequest request) {
-        ListDTO list = listService.createList(request);
-        
-        // Broadcast list creation to board subscribers
-        User currentUser = permissionService.getCurrentUser();
-        String userName = currentUser.getFullName() != null ? currentUser.getFullName() : currentUser.getUsername();
-        
-        BoardUpdateMessage message = new BoardUpdateMessage("LIST_CREATED", null, list, null, request.getBoardId(), 
-                null, null, null, currentUser.getId(), userName);
-        messagingTemplate.convertAndSend("/topic/board/" + request.getBoardId(), message);
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(list);
+        return ResponseEntity.status(HttpStatus.CREATED).body(listService.createList(request));
     }
     
     @GetMapping("/{id}")
@@ -48,8 +32,15 @@ public class ListController {
     }
     
     @GetMapping("/board/{boardId}")
-    public ResponseEntity<List<ListDTO>> getListsByBoardId(@PathVariable Long boardId) {
-        return ResponseEntity.ok(listService.getListsByBoardId(boardId));
+    public ResponseEntity<List<ListDTO>> getListsByBoardId(@PathVariable Long boardId, WebRequest request) {
+        String etag = listService.getListsETag(boardId);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(listService.getListsByBoardId(boardId));
     }
     
     @PutMapping("/{id}")
@@ -57,35 +48,12 @@ public class ListController {
             @PathVariable Long id,
             @Valid @RequestBody CreateListRequest request
     ) {
-        ListDTO list = listService.updateList(id, request);
-        
-        // Broadcast list update to board subscribers
-        User currentUser = permissionService.getCurrentUser();
-        String userName = currentUser.getFullName() != null ? currentUser.getFullName() : currentUser.getUsername();
-        
-        BoardUpdateMessage message = new BoardUpdateMessage("LIST_UPDATED", null, list, null, list.getBoardId(), 
-                null, null, null, currentUser.getId(), userName);
-        messagingTemplate.convertAndSend("/topic/board/" + list.getBoardId(), message);
-        
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(listService.updateList(id, request));
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteList(@PathVariable Long id) {
-        ListDTO list = listService.getListById(id);
-        Long boardId = list.getBoardId();
-        Long listId = list.getId();
-        
-        User currentUser = permissionService.getCurrentUser();
-        String userName = currentUser.getFullName() != null ? currentUser.getFullName() : currentUser.getUsername();
-        
         listService.deleteList(id);
-        
-        // Broadcast list deletion to board subscribers
-        BoardUpdateMessage message = new BoardUpdateMessage("LIST_DELETED", null, null, null, boardId, 
-                null, null, listId, currentUser.getId(), userName);
-        messagingTemplate.convertAndSend("/topic/board/" + boardId, message);
-        
         return ResponseEntity.noContent().build();
     }
     
@@ -94,17 +62,7 @@ public class ListController {
             @PathVariable Long id,
             @Valid @RequestBody MoveListRequest request
     ) {
-        ListDTO list = listService.moveList(id, request);
-        
-        // Broadcast list move to board subscribers
-        User currentUser = permissionService.getCurrentUser();
-        String userName = currentUser.getFullName() != null ? currentUser.getFullName() : currentUser.getUsername();
-        
-        BoardUpdateMessage message = new BoardUpdateMessage("LIST_MOVED", null, list, null, list.getBoardId(),
-                null, null, null, currentUser.getId(), userName);
-        messagingTemplate.convertAndSend("/topic/board/" + list.getBoardId(), message);
-        
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok(listService.moveList(id, request));
     }
 }
 
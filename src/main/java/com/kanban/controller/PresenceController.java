@@ -0,0 +1,38 @@
+package com.kanban.controller;
+
+import com.kanban.dto.PresenceHeartbeat;
+import com.kanban.messaging.PresenceStore;
+import com.kanban.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP side of board presence. Heartbeats only touch the in-memory {@link PresenceStore};
+ * nothing here goes near the database. Board access was already checked for the SEND by the
+ * STOMP interceptor, and who the viewer is comes from the session, not from the payload.
+ */
+@Controller
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private final PresenceStore presenceStore;
+
+    @MessageMapping("/board/{boardId}/presence")
+    public void heartbeat(@DestinationVariable Long boardId,
+                          @Payload PresenceHeartbeat heartbeat,
+                          SimpMessageHeaderAccessor accessor) {
+        if (accessor.getSessionId() == null
+                || !(accessor.getUser() instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return;
+        }
+        heartbeat.setUserId(principal.getId());
+        heartbeat.setDisplayName(principal.getDisplayName());
+        presenceStore.heartbeat(boardId, accessor.getSessionId(), heartbeat, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,22 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardCacheStatsDTO {
+    private Integer entries;
+    private Integer maxEntries;
+    private Long estimatedBytes;
+    private Long maxBytes;
+    private Long hits;
+    private Long misses;
+    private Double hitRatio;
+    private Long evictions;
+    private Long invalidations;
+}
@@ -18,6 +18,7 @@ public class BoardDTO {
     private String description;
     private Long workspaceId;
     private Long createdBy;
+    private Long version; // Board change version this snapshot reflects; pass to /changes?since=
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<ListDTO> lists;
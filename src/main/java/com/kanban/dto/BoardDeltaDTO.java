@@ -0,0 +1,30 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes to a board since a client-supplied change version. Lists and cards are upserts;
+ * their position is the stored index, so clients merging a delta should order by rank.
+ * When fullReload is set the change set was too large and the client should refetch the board.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardDeltaDTO {
+    private Long boardId;
+    private Long fromVersion;
+    private Long toVersion;
+    private Boolean fullReload;
+    private String name;
+    private String description;
+    private List<ListDTO> lists;
+    private List<CardDTO> cards;
+    private List<Long> deletedListIds;
+    private List<Long> deletedCardIds;
+}
@@ -0,0 +1,40 @@
+package com.kanban.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Compact real-time event for {@code /topic/board/{id}}. Only the fields an event kind needs
+ * are set, and null fields are left out of the frame. A full card or list is only sent when
+ * it is created; updates carry the changed fields alone.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardEvent {
+    private Type type;
+    private Long boardId;
+    private Long cardId; // Card events
+    private Long listId; // The card's list, or the list itself for list events
+    private Long previousListId; // MOVED, when known
+    private Integer position; // MOVED and LIST_MOVED
+    private String rank; // MOVED and LIST_MOVED
+    private Long version; // Board change version the write was recorded at
+    private Map<String, Object> changes; // UPDATED and LIST_UPDATED: changed field -> new value
+    private CardDTO card; // CREATED only
+    private ListDTO list; // LIST_CREATED only
+    private Long actorId; // User who performed the action
+    private String actorName;
+
+    public enum Type {
+        CREATED, UPDATED, MOVED, DELETED,
+        LIST_CREATED, LIST_UPDATED, LIST_MOVED, LIST_DELETED
+    }
+}
@@ -0,0 +1,17 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Several board events delivered as one frame; clients apply them in order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardEventBatch {
+    private String type; // Always "BATCH"
+    private Long boardId;
+    private List<Object> events; // BoardEvent payloads, each as it would be sent on its own
+}
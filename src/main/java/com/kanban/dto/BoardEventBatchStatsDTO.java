@@ -0,0 +1,24 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardEventBatchStatsDTO {
+    private Long windowMillis;
+    private Integer maxBatchSize;
+    private Long eventsReceived;
+    private Long eventsCoalesced;
+    private Long flushes;
+    private Long framesSent;
+    private Double averageBatchSize;
+    private Integer largestBatch;
+    private List<Long> batchSizeHistogram; // Flushes of size 1, 2-9, 10-99 and 100+
+}
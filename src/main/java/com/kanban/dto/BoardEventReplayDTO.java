@@ -0,0 +1,29 @@
+package com.kanban.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardEventReplayDTO {
+    private String epoch; // Sequences are only comparable within one epoch; null when frames are not numbered
+    private Long latestSeq;
+    private Boolean snapshotRequired; // The requested range is gone; reload the board instead
+    private List<Frame> events; // Frames after the requested sequence, oldest first
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Frame {
+        private Long seq;
+        @JsonRawValue
+        private String event; // The frame's payload exactly as it was broadcast
+    }
+}
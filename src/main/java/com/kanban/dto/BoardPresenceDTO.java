@@ -0,0 +1,36 @@
+package com.kanban.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Who is on a board, broadcast on /topic/board/{id}/presence. Each instance reports only its own viewers
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardPresenceDTO {
+    private String type; // Always "PRESENCE"
+    private Long boardId;
+    private String instance;
+    private int viewerCount; // Distinct users, which may be more than the viewers listed
+    private List<Viewer> viewers;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Viewer {
+        private Long userId;
+        private String displayName;
+        private PresenceHeartbeat.Activity activity;
+        private Long cardId;
+        private Double x;
+        private Double y;
+    }
+}
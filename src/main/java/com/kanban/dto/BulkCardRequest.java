@@ -0,0 +1,38 @@
+package com.kanban.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCardRequest {
+    @NotEmpty(message = "At least one operation is required")
+    @Valid
+    private List<Operation> operations;
+    
+    private boolean atomic; // Apply nothing if any operation is rejected
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        @NotNull(message = "Operation type is required")
+        private Type type;
+        @NotNull(message = "Card ID is required")
+        private Long cardId;
+        private Long targetListId; // MOVE
+        private Integer newPosition; // MOVE; null appends to the target list
+        private UpdateCardRequest changes; // UPDATE
+    }
+    
+    public enum Type {
+        MOVE, UPDATE, DELETE
+    }
+}
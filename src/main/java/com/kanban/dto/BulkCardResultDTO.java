@@ -0,0 +1,37 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Outcome of a bulk request, one result per operation in request order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCardResultDTO {
+    private int applied;
+    private int failed;
+    private List<Result> results;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private int index;
+        private Long cardId;
+        private Status status;
+        private String error; // Why the operation was rejected
+        private CardDTO card; // State after the operation; null for deletes and rejected operations
+    }
+    
+    public enum Status {
+        APPLIED, // Written as part of the request's transaction
+        FAILED, // Rejected during validation, nothing written for it
+        SKIPPED // Valid, but not applied because the atomic request had a rejected operation
+    }
+}
@@ -17,7 +17,9 @@ public class CardDTO {
     private String title;
     private String description;
     private Long listId;
-    private Integer position;
+    private Integer position; // Index within the list
+    private String rank; // Sort key behind position, stable across moves of other cards
+    private Long version; // Board change version of the card's last write
     private Long createdBy;
     private String creatorName;
     private Long assignedTo; // Deprecated, kept for backward compatibility
@@ -0,0 +1,19 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardPageDTO {
+    private Long listId;
+    private List<CardSummaryDTO> cards;
+    private String nextCursor; // Opaque; pass back as ?cursor= for the next page. Null on the last page
+    private Boolean hasMore;
+}
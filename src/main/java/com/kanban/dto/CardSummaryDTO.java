@@ -0,0 +1,23 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Just enough of a card to render it in a virtualised column; the full card comes from GET /cards/{id}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardSummaryDTO {
+    private Long id;
+    private String title;
+    private Integer position; // Index in the list's rank order when the page was read
+    private String priority; // LOW, MEDIUM, HIGH, DONE
+    private LocalDateTime dueDate;
+    private List<Long> assignedUserIds;
+}
@@ -0,0 +1,19 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardWindowDTO {
+    private Long listId;
+    private List<CardDTO> cards;
+    private String nextCursor; // Pass back as ?cursor= for the window after this one. Null at the end of the list
+    private Boolean hasMore;
+}
@@ -16,9 +16,13 @@ public class ListDTO {
     private Long id;
     private String name;
     private Long boardId;
-    private Integer position;
+    private Integer position; // Index within the board
+    private String rank; // Sort key behind position, stable across moves of other lists
+    private Long version; // Board change version of the list's last write
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<CardDTO> cards;
+    private Integer cardCount; // All of the list's cards, which may be more than cards holds
+    private String nextCardCursor; // Set when cards is only a first window; see GET /boards/{id}/lists/{listId}/cards
 }
 
@@ -0,0 +1,22 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Sent by clients to /app/board/{id}/presence every few seconds, and whenever what they are doing changes
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceHeartbeat {
+
+    public enum Activity { VIEWING, DRAGGING, EDITING }
+
+    private Long userId; // Both set by the server from the authenticated session
+    private String displayName;
+    private Activity activity;
+    private Long cardId; // Card being dragged or edited
+    private Double x; // Cursor position as a fraction of the board's width and height
+    private Double y;
+    private boolean leaving; // The client closed the board; drop it without waiting for the TTL
+}
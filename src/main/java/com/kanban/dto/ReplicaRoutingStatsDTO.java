@@ -0,0 +1,22 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicaRoutingStatsDTO {
+    private Boolean enabled; // False when no replica is configured and everything uses the primary
+    private Long replicaLagMillis; // Null until measured, or while the lag check is failing
+    private Long maxLagMillis;
+    private Long readYourWritesMillis;
+    private Long replicaReads;
+    private Long primaryReads; // Read-only transactions sent to the primary instead
+    private Long lagFallbacks;
+    private Long readYourWritesFallbacks;
+    private Integer trackedWriters; // Users inside their read-your-writes window
+}
@@ -0,0 +1,37 @@
+package com.kanban.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebSocketSessionStatsDTO {
+    private String slowConsumerPolicy; // RESYNC or DISCONNECT
+    private Integer maxQueuedMessages;
+    private Integer maxQueuedBytes;
+    private Long sendTimeLimitMillis;
+    private Integer openSessions;
+    private Long queuedMessages; // Across all sessions right now
+    private Long framesDropped;
+    private Long resyncsSent;
+    private Long sessionsClosed; // Closed for overflowing or exceeding the send time limit
+    private List<SessionQueue> deepestQueues;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SessionQueue {
+        private String sessionId;
+        private Integer queuedMessages;
+        private Integer queuedBytes;
+        private Integer maxQueuedMessages; // High-water mark over the session's life
+        private Long framesDropped;
+    }
+}
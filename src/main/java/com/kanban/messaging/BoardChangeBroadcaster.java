@@ -0,0 +1,34 @@
+package com.kanban.messaging;
+
+import com.kanban.config.AsyncConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends the broadcasts services raise once their transaction has committed, so subscribers never
+ * see a change that was rolled back and requests do not wait on fan-out. Publishing runs on the
+ * single board event thread, which keeps events in commit order. Events raised outside a
+ * transaction are sent straight away.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardChangeBroadcaster {
+
+    private final BoardEventBatcher boardEventBatcher;
+    private final BoardEventBus boardEventBus;
+
+    @Async(AsyncConfig.BOARD_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        boardEventBatcher.publish(event.getBoardId(), event.getPayload());
+    }
+
+    @Async(AsyncConfig.BOARD_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkspaceBoardsChanged(WorkspaceBoardsChangedEvent event) {
+        boardEventBus.publishToWorkspace(event.getWorkspaceId(), event.getPayload());
+    }
+}
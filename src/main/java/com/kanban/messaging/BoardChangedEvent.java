@@ -0,0 +1,16 @@
+package com.kanban.messaging;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Raised by services when a write changes a board, with the frame to send on its topic. Nothing
+ * is sent until the transaction commits; see {@link BoardChangeBroadcaster}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BoardChangedEvent {
+
+    private final Long boardId;
+    private final Object payload;
+}
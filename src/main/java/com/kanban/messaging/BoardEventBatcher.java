@@ -0,0 +1,264 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardEvent;
+import com.kanban.dto.BoardEventBatch;
+import com.kanban.dto.BoardEventBatchStatsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Outbound pipeline for board topics. Events for a board are held for a short window, updates
+ * and moves of the same card or list collapse into the latest one, and the rest goes out as a
+ * single {@link BoardEventBatch} frame. A lone event is sent as is, so quiet boards see the
+ * same messages as before. A board whose buffer reaches the maximum size is flushed at once.
+ *
+ * All flushes run on one thread, so frames for a board leave in the order they were built.
+ */
+@Slf4j
+@Component
+public class BoardEventBatcher {
+
+    private static final String BATCH_TYPE = "BATCH";
+
+    private final BoardEventBus boardEventBus;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService executor;
+
+    // Guarded by this
+    private final Map<Long, PendingBatch> pending = new HashMap<>();
+
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong eventsCoalesced = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong eventsFlushed = new AtomicLong();
+    private final AtomicLong largestBatch = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(4);
+
+    public BoardEventBatcher(
+            BoardEventBus boardEventBus,
+            @Value("${kanban.events.batch.window-ms:20}") long windowMillis,
+            @Value("${kanban.events.batch.max-size:100}") int maxBatchSize) {
+        this.boardEventBus = boardEventBus;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-event-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues an event for {@code /topic/board/{boardId}}. A window of 0 sends it immediately. A
+     * {@link BoardEventBatch} built by the caller is queued as its individual events, so frames
+     * never nest batches.
+     */
+    public void publish(Long boardId, Object event) {
+        List<Object> events = event instanceof BoardEventBatch eventBatch ? eventBatch.getEvents() : List.of(event);
+        eventsReceived.addAndGet(events.size());
+        if (windowMillis <= 0) {
+            recordFlush(events.size());
+            boardEventBus.publish(boardId, event);
+            return;
+        }
+
+        boolean opened;
+        boolean full;
+        synchronized (this) {
+            PendingBatch batch = pending.get(boardId);
+            opened = batch == null;
+            if (opened) {
+                batch = new PendingBatch();
+                pending.put(boardId, batch);
+            }
+            for (Object queued : events) {
+                if (batch.add(queued)) {
+                    eventsCoalesced.incrementAndGet();
+                }
+            }
+            full = batch.size() >= maxBatchSize && !batch.flushRequested;
+            if (full) {
+                batch.flushRequested = true;
+            }
+        }
+
+        if (full) {
+            executor.execute(() -> flush(boardId));
+        } else if (opened) {
+            executor.schedule(() -> flush(boardId), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void flush(Long boardId) {
+        PendingBatch batch;
+        synchronized (this) {
+            batch = pending.remove(boardId);
+        }
+        if (batch == null) {
+            return;
+        }
+
+        List<Object> events = batch.events();
+        recordFlush(events.size());
+        try {
+            if (events.size() == 1) {
+                boardEventBus.publish(boardId, events.get(0));
+            } else {
+                boardEventBus.publish(boardId, new BoardEventBatch(BATCH_TYPE, boardId, events));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not publish {} events for board {}: {}", events.size(), boardId, e.getMessage());
+        }
+    }
+
+    public BoardEventBatchStatsDTO getStats() {
+        long flushCount = flushes.get();
+        List<Long> sizes = new ArrayList<>();
+        for (int i = 0; i < histogram.length(); i++) {
+            sizes.add(histogram.get(i));
+        }
+        return BoardEventBatchStatsDTO.builder()
+                .windowMillis(windowMillis)
+                .maxBatchSize(maxBatchSize)
+                .eventsReceived(eventsReceived.get())
+                .eventsCoalesced(eventsCoalesced.get())
+                .flushes(flushCount)
+                .framesSent(flushCount)
+                .averageBatchSize(flushCount == 0 ? 0.0 : (double) eventsFlushed.get() / flushCount)
+                .largestBatch((int) largestBatch.get())
+                .batchSizeHistogram(sizes)
+                .build();
+    }
+
+    // Sends whatever is still buffered so a shutdown does not swallow the last updates
+    @PreDestroy
+    void shutdown() {
+        List<Long> boardIds;
+        synchronized (this) {
+            boardIds = new ArrayList<>(pending.keySet());
+        }
+        executor.shutdownNow();
+        boardIds.forEach(this::flush);
+    }
+
+    private void recordFlush(int size) {
+        flushes.incrementAndGet();
+        eventsFlushed.addAndGet(size);
+        largestBatch.accumulateAndGet(size, Math::max);
+        histogram.incrementAndGet(size == 1 ? 0 : size < 10 ? 1 : size < 100 ? 2 : 3);
+    }
+
+    /** Events of one board in arrival order, with superseded card and list updates removed. */
+    private static final class PendingBatch {
+        private final LinkedHashMap<Object, Object> events = new LinkedHashMap<>();
+        private long sequence;
+        private boolean flushRequested;
+
+        // Returns true if the event replaced an earlier one
+        boolean add(Object event) {
+            Object key = collapseKey(event);
+            if (key == null) {
+                events.put(sequence++, event);
+                return false;
+            }
+            // Re-inserted at the end, so it keeps its place relative to the events around it
+            Object previous = events.remove(key);
+            events.put(key, previous == null ? event : merge(previous, event));
+            return previous != null;
+        }
+
+        int size() {
+            return events.size();
+        }
+
+        List<Object> events() {
+            return new ArrayList<>(events.values());
+        }
+
+        private static Object collapseKey(Object event) {
+            if (!(event instanceof BoardEvent boardEvent) || boardEvent.getType() == null) {
+                return null;
+            }
+            return switch (boardEvent.getType()) {
+                case UPDATED, MOVED -> "card:" + boardEvent.getCardId();
+                case LIST_UPDATED, LIST_MOVED -> "list:" + boardEvent.getListId();
+                default -> null;
+            };
+        }
+
+        // The latest state wins; a move anywhere in the run keeps the result a move
+        private static Object merge(Object previous, Object latest) {
+            BoardEvent before = (BoardEvent) previous;
+            BoardEvent after = (BoardEvent) latest;
+            boolean beforeMoved = isMove(before);
+            boolean afterMoved = isMove(after);
+            BoardEvent moveSource = afterMoved ? after : before;
+
+            Map<String, Object> changes = null;
+            if (before.getChanges() != null || after.getChanges() != null) {
+                changes = new LinkedHashMap<>();
+                if (before.getChanges() != null) {
+                    changes.putAll(before.getChanges());
+                }
+                // A later move decides the position, so an earlier reorder must not override it
+                if (afterMoved) {
+                    changes.remove("position");
+                    changes.remove("rank");
+                }
+                if (after.getChanges() != null) {
+                    changes.putAll(after.getChanges());
+                }
+            }
+
+            BoardEvent.BoardEventBuilder merged = BoardEvent.builder()
+                    .boardId(after.getBoardId())
+                    .cardId(after.getCardId())
+                    .listId(after.getListId())
+                    .version(after.getVersion())
+                    .changes(changes)
+                    .actorId(after.getActorId())
+                    .actorName(after.getActorName());
+            if (beforeMoved || afterMoved) {
+                Integer position = moveSource.getPosition();
+                String rank = moveSource.getRank();
+                // An update after the move may reorder the card again; its placement is the latest
+                if (!afterMoved && after.getChanges() != null) {
+                    if (after.getChanges().get("position") instanceof Number updatedPosition) {
+                        position = updatedPosition.intValue();
+                    }
+                    if (after.getChanges().get("rank") instanceof String updatedRank) {
+                        rank = updatedRank;
+                    }
+                }
+                merged.previousListId(beforeMoved ? before.getPreviousListId() : after.getPreviousListId())
+                        .position(position)
+                        .rank(rank);
+            }
+            boolean card = before.getType() == BoardEvent.Type.UPDATED || before.getType() == BoardEvent.Type.MOVED;
+            if (card) {
+                merged.type(beforeMoved || afterMoved ? BoardEvent.Type.MOVED : BoardEvent.Type.UPDATED);
+            } else {
+                merged.type(beforeMoved || afterMoved ? BoardEvent.Type.LIST_MOVED : BoardEvent.Type.LIST_UPDATED);
+            }
+            return merged.build();
+        }
+
+        private static boolean isMove(BoardEvent event) {
+            return event.getType() == BoardEvent.Type.MOVED || event.getType() == BoardEvent.Type.LIST_MOVED;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.kanban.messaging;
+
+/**
+ * Carries real-time board events to WebSocket clients on every backend instance. Controllers
+ * publish here rather than to the local STOMP broker; implementations hand events to
+ * {@link BoardEventFanout} on each instance that has subscribers for the board.
+ *
+ * Selected with {@code kanban.events.bus}: {@code local} (default, in-process) or {@code redis}.
+ */
+public interface BoardEventBus {
+
+    /** Publishes an event for {@code /topic/board/{boardId}}. */
+    void publish(Long boardId, Object event);
+
+    /** Publishes a board-level event for {@code /topic/workspace/{workspaceId}/boards}. */
+    void publishToWorkspace(Long workspaceId, Object event);
+
+    /** Called by {@link BoardSubscriptionTracker} when the first local client subscribes to a board. */
+    void listen(Long boardId);
+
+    /** Called by {@link BoardSubscriptionTracker} when the last local client leaves a board. */
+    void stopListening(Long boardId);
+}
@@ -0,0 +1,124 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last hop of the event bus: hands already-serialised JSON to this instance's STOMP broker,
+ * which delivers it to the clients subscribed here. Boards with local subscribers on a binary
+ * topic also get the event transcoded once per encoding, however many sessions receive it.
+ * With the broker relay, subscribers on other instances are served from what this instance
+ * publishes and cannot be seen from here, so every event is published in every encoding.
+ *
+ * The bytes are wrapped in a message and sent as is, without going through the template's
+ * converter. The broker copies only headers per subscriber, so every session of a board
+ * shares one payload array. Nothing may modify it after it is handed over.
+ *
+ * Board frames carry {@code seq} and {@code epoch} STOMP headers from the {@link BoardEventLog},
+ * which clients use to detect gaps and ask for a replay after reconnecting. With the broker relay
+ * or the Redis event bus the log does not number frames and they go out without these headers.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardEventFanout {
+
+    public static final String BOARD_TOPIC_PREFIX = "/topic/board/";
+    public static final String WORKSPACE_TOPIC_PREFIX = "/topic/workspace/";
+    public static final String WORKSPACE_BOARDS_SUFFIX = "/boards";
+    public static final String SEQ_HEADER = "seq";
+    public static final String EPOCH_HEADER = "epoch";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoardEventLog eventLog;
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Value("${kanban.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    // Guarded by this: local subscriptions per binary board destination, kept by BoardSubscriptionTracker
+    private final Map<String, Integer> binarySubscribers = new HashMap<>();
+
+    public void deliver(Long boardId, byte[] json) {
+        String cborDestination = BoardTopicEncoding.CBOR.destination(boardId);
+        byte[] cbor = relay() || hasBinarySubscribers(cborDestination) ? toCbor(json) : null;
+        eventLog.append(boardId, json, (seq, epoch) -> {
+            send(BOARD_TOPIC_PREFIX + boardId, json, BoardTopicEncoding.JSON.getContentType(), seq, epoch);
+            if (cbor != null) {
+                send(cborDestination, cbor, BoardTopicEncoding.CBOR.getContentType(), seq, epoch);
+            }
+        });
+    }
+
+    // Board created, renamed or deleted; only clients of the board's workspace are subscribed
+    public void deliverToWorkspace(Long workspaceId, byte[] json) {
+        send(workspaceBoardsDestination(workspaceId), json, BoardTopicEncoding.JSON.getContentType(), null, null);
+    }
+
+    public static String workspaceBoardsDestination(Long workspaceId) {
+        return WORKSPACE_TOPIC_PREFIX + workspaceId + WORKSPACE_BOARDS_SUFFIX;
+    }
+
+    synchronized void binarySubscribed(String destination) {
+        binarySubscribers.merge(destination, 1, Integer::sum);
+    }
+
+    synchronized void binaryReleased(String destination) {
+        binarySubscribers.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private boolean relay() {
+        return brokerMode != null && "relay".equalsIgnoreCase(brokerMode.trim());
+    }
+
+    private synchronized boolean hasBinarySubscribers(String destination) {
+        return binarySubscribers.containsKey(destination);
+    }
+
+    // convertAndSend would pick the JSON converter for an application/json byte[] and write it again
+    // as a base64 string; send() skips conversion. The header tells clients how the bytes are encoded
+    private void send(String destination, byte[] payload, MimeType contentType, Long seq, String epoch) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        if (seq != null) {
+            accessor.setNativeHeader(SEQ_HEADER, seq.toString());
+            accessor.setNativeHeader(EPOCH_HEADER, epoch);
+        }
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    private byte[] toCbor(byte[] json) {
+        try {
+            return cborMapper.writeValueAsBytes(objectMapper.readTree(json));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot transcode board event to CBOR", e);
+        }
+    }
+
+    /** Board id of a {@code /topic/board/{id}} destination in any encoding, or null for any other destination. */
+    public static Long boardIdOf(String destination) {
+        if (destination == null || !destination.startsWith(BOARD_TOPIC_PREFIX)) {
+            return null;
+        }
+        String id = destination.substring(BOARD_TOPIC_PREFIX.length());
+        id = id.substring(0, id.length() - BoardTopicEncoding.of(destination).getSuffix().length());
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
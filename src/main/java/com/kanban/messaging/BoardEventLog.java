@@ -0,0 +1,150 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardEventReplayDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Numbers the frames this instance delivers on each board topic and keeps the most recent ones
+ * in a ring per board, so a client that reconnects can fetch what it missed instead of
+ * reloading the board.
+ *
+ * Sequences are only meaningful within the ring that issued them. Each ring has an epoch, the
+ * instance's random id plus the ring's generation, that travels with the sequence: a ring
+ * dropped from the LRU and created again restarts at 1 under a new epoch. A replay request
+ * from another epoch, or for a sequence that has left the ring, is answered with "reload the
+ * snapshot".
+ *
+ * Rings are per instance, so numbering only works while one instance delivers every frame of a
+ * board. With the broker relay or the Redis event bus, frames on a board topic come from several
+ * instances and a replay request can reach any of them; there frames go out unnumbered and every
+ * replay is answered with "reload the snapshot".
+ */
+@Component
+public class BoardEventLog {
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final int bufferSize;
+    private final int maxBoards;
+
+    // Access-ordered, so the board that has gone quiet longest is dropped first
+    private final LinkedHashMap<Long, Ring> boards;
+    private long generations; // Guarded by this
+
+    @Value("${kanban.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${kanban.events.bus:local}")
+    private String eventBus;
+
+    public BoardEventLog(
+            @Value("${kanban.events.replay.buffer-size:256}") int bufferSize,
+            @Value("${kanban.events.replay.max-boards:1000}") int maxBoards) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxBoards = maxBoards;
+        this.boards = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Ring> eldest) {
+                return size() > BoardEventLog.this.maxBoards;
+            }
+        };
+    }
+
+    /**
+     * Assigns the next sequence of the board to an already-serialised frame and hands it, with
+     * the ring's epoch, to {@code delivery}. Delivery happens under the board's lock, so frames
+     * reach the broker in sequence order even when events for the board arrive on several threads.
+     * When frames are not numbered, {@code delivery} gets null for both.
+     */
+    public void append(Long boardId, byte[] json, Delivery delivery) {
+        if (!numbered()) {
+            delivery.deliver(null, null);
+            return;
+        }
+        Ring ring = ring(boardId);
+        synchronized (ring) {
+            long seq = ring.add(json);
+            delivery.deliver(seq, ring.epoch);
+        }
+    }
+
+    /** Frames of the board after {@code after}, or a snapshot request if they are no longer all here. */
+    public BoardEventReplayDTO replay(Long boardId, long after, String clientEpoch) {
+        if (!numbered()) {
+            return BoardEventReplayDTO.builder()
+                    .snapshotRequired(true)
+                    .events(List.of())
+                    .build();
+        }
+        // A board without a ring gets one, so the epoch handed out here is the one its next frames carry
+        Ring ring = ring(boardId);
+        synchronized (ring) {
+            long latest = ring.next - 1;
+            boolean covered = ring.epoch.equals(clientEpoch) && after <= latest && after >= ring.oldest() - 1;
+            List<BoardEventReplayDTO.Frame> frames = new ArrayList<>();
+            if (covered) {
+                for (long seq = after + 1; seq <= latest; seq++) {
+                    frames.add(new BoardEventReplayDTO.Frame(seq,
+                            new String(ring.get(seq), StandardCharsets.UTF_8)));
+                }
+            }
+            return BoardEventReplayDTO.builder()
+                    .epoch(ring.epoch)
+                    .latestSeq(latest)
+                    .snapshotRequired(!covered)
+                    .events(frames)
+                    .build();
+        }
+    }
+
+    // False when other instances deliver frames on the same board topics or serve its replays
+    private boolean numbered() {
+        return !is(brokerMode, "relay") && !is(eventBus, "redis");
+    }
+
+    private static boolean is(String property, String value) {
+        return property != null && value.equalsIgnoreCase(property.trim());
+    }
+
+    private synchronized Ring ring(Long boardId) {
+        return boards.computeIfAbsent(boardId, id -> new Ring(instanceId + "-" + ++generations, bufferSize));
+    }
+
+    @FunctionalInterface
+    public interface Delivery {
+        void deliver(Long seq, String epoch);
+    }
+
+    /** Fixed-size ring of the board's latest frames; sequences start at 1. Guarded by itself. */
+    private static final class Ring {
+        private final String epoch;
+        private final byte[][] frames;
+        private long next = 1;
+
+        private Ring(String epoch, int size) {
+            this.epoch = epoch;
+            this.frames = new byte[size][];
+        }
+
+        long add(byte[] json) {
+            long seq = next++;
+            frames[(int) (seq % frames.length)] = json;
+            return seq;
+        }
+
+        long oldest() {
+            return Math.max(1, next - frames.length);
+        }
+
+        byte[] get(long seq) {
+            return frames[(int) (seq % frames.length)];
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardEvent;
+import com.kanban.dto.CardDTO;
+import com.kanban.dto.CreateListRequest;
+import com.kanban.dto.ListDTO;
+import com.kanban.dto.UpdateCardRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the {@link BoardEvent}s broadcast after card and list writes. Update diffs list the
+ * fields the request touched, with the values the service actually stored.
+ */
+public final class BoardEvents {
+
+    private BoardEvents() {
+    }
+
+    public static BoardEvent cardCreated(Long boardId, CardDTO card) {
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.CREATED)
+                .boardId(boardId)
+                .cardId(card.getId())
+                .listId(card.getListId())
+                .version(card.getVersion())
+                .card(card)
+                .actorId(card.getLastModifiedBy())
+                .actorName(card.getLastModifiedByName())
+                .build();
+    }
+
+    public static BoardEvent cardUpdated(Long boardId, CardDTO card, UpdateCardRequest request) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (request.getTitle() != null) {
+            changes.put("title", card.getTitle());
+        }
+        if (request.getDescription() != null) {
+            changes.put("description", card.getDescription());
+        }
+        if (request.getPosition() != null) {
+            changes.put("position", card.getPosition());
+            changes.put("rank", card.getRank());
+        }
+        if (request.getAssignedUserIds() != null || request.getAssignedTo() != null) {
+            changes.put("assignedUserIds", card.getAssignedUserIds());
+            changes.put("assignedUserNames", card.getAssignedUserNames());
+            changes.put("assignedTo", card.getAssignedTo());
+            changes.put("assigneeName", card.getAssigneeName());
+        }
+        if (request.getDueDate() != null) {
+            changes.put("dueDate", card.getDueDate());
+        }
+        if (request.getPriority() != null) {
+            changes.put("priority", card.getPriority());
+        }
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.UPDATED)
+                .boardId(boardId)
+                .cardId(card.getId())
+                .listId(card.getListId())
+                .version(card.getVersion())
+                .changes(changes)
+                .actorId(card.getLastModifiedBy())
+                .actorName(card.getLastModifiedByName())
+                .build();
+    }
+
+    public static BoardEvent cardMoved(Long boardId, CardDTO card, Long previousListId) {
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.MOVED)
+                .boardId(boardId)
+                .cardId(card.getId())
+                .listId(card.getListId())
+                .previousListId(previousListId)
+                .position(card.getPosition())
+                .rank(card.getRank())
+                .version(card.getVersion())
+                .actorId(card.getLastModifiedBy())
+                .actorName(card.getLastModifiedByName())
+                .build();
+    }
+
+    public static BoardEvent cardDeleted(Long boardId, Long cardId, Long listId, Long actorId, String actorName) {
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.DELETED)
+                .boardId(boardId)
+                .cardId(cardId)
+                .listId(listId)
+                .actorId(actorId)
+                .actorName(actorName)
+                .build();
+    }
+
+    public static BoardEvent listCreated(ListDTO list, Long actorId, String actorName) {
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.LIST_CREATED)
+                .boardId(list.getBoardId())
+                .listId(list.getId())
+                .version(list.getVersion())
+                .list(list)
+                .actorId(actorId)
+                .actorName(actorName)
+                .build();
+    }
+
+    public static BoardEvent listUpdated(ListDTO list, CreateListRequest request, Long actorId, String actorName) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (request.getName() != null) {
+            changes.put("name", list.getName());
+        }
+        if (request.getPosition() != null) {
+            changes.put("position", list.getPosition());
+            changes.put("rank", list.getRank());
+        }
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.LIST_UPDATED)
+                .boardId(list.getBoardId())
+                .listId(list.getId())
+                .version(list.getVersion())
+                .changes(changes)
+                .actorId(actorId)
+                .actorName(actorName)
+                .build();
+    }
+
+    public static BoardEvent listMoved(ListDTO list, Long actorId, String actorName) {
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.LIST_MOVED)
+                .boardId(list.getBoardId())
+                .listId(list.getId())
+                .position(list.getPosition())
+                .rank(list.getRank())
+                .version(list.getVersion())
+                .actorId(actorId)
+                .actorName(actorName)
+                .build();
+    }
+
+    public static BoardEvent listDeleted(Long boardId, Long listId, Long actorId, String actorName) {
+        return BoardEvent.builder()
+                .type(BoardEvent.Type.LIST_DELETED)
+                .boardId(boardId)
+                .listId(listId)
+                .actorId(actorId)
+                .actorName(actorName)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.kanban.messaging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts this instance's STOMP subscriptions per board and tells the {@link BoardEventBus}
+ * when a board gains its first local subscriber or loses its last one. Subscriptions to a
+ * binary topic are also reported to the {@link BoardEventFanout}, which only transcodes
+ * events for destinations someone here is listening on.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardSubscriptionTracker {
+
+    private final BoardEventBus boardEventBus;
+    private final BoardEventFanout fanout;
+
+    // Guarded by this: session id -> (subscription id -> destination), and subscribers per board
+    private final Map<String, Map<String, String>> sessions = new HashMap<>();
+    private final Map<Long, Integer> subscribers = new HashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (BoardEventFanout.boardIdOf(destination) != null
+                && accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), destination);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    synchronized void subscribe(String sessionId, String subscriptionId, String destination) {
+        String previous = sessions.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, destination);
+        if (previous != null) {
+            release(previous);
+        }
+        Long boardId = BoardEventFanout.boardIdOf(destination);
+        if (subscribers.merge(boardId, 1, Integer::sum) == 1) {
+            boardEventBus.listen(boardId);
+        }
+        if (BoardTopicEncoding.of(destination) != BoardTopicEncoding.JSON) {
+            fanout.binarySubscribed(destination);
+        }
+    }
+
+    synchronized void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        String destination = subscriptions != null ? subscriptions.remove(subscriptionId) : null;
+        if (destination != null) {
+            release(destination);
+        }
+        if (subscriptions != null && subscriptions.isEmpty()) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    synchronized void disconnect(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    public synchronized int localSubscribers(Long boardId) {
+        return subscribers.getOrDefault(boardId, 0);
+    }
+
+    private void release(String destination) {
+        if (BoardTopicEncoding.of(destination) != BoardTopicEncoding.JSON) {
+            fanout.binaryReleased(destination);
+        }
+        Long boardId = BoardEventFanout.boardIdOf(destination);
+        Integer remaining = subscribers.computeIfPresent(boardId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            boardEventBus.stopListening(boardId);
+        }
+    }
+}
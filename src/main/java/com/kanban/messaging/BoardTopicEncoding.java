@@ -0,0 +1,46 @@
+package com.kanban.messaging;
+
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Wire encodings a client can pick for a board topic by the destination it subscribes to:
+ * {@code /topic/board/{id}} for JSON, {@code /topic/board/{id}.cbor} for CBOR.
+ */
+public enum BoardTopicEncoding {
+
+    JSON("", MimeTypeUtils.APPLICATION_JSON),
+    // Spring only writes binary WebSocket frames for octet-stream payloads, so the suffix is what
+    // tells clients the bytes are CBOR. SockJS cannot carry binary frames; use the /ws/native endpoint
+    CBOR(".cbor", MimeTypeUtils.APPLICATION_OCTET_STREAM);
+
+    private final String suffix;
+    private final MimeType contentType;
+
+    BoardTopicEncoding(String suffix, MimeType contentType) {
+        this.suffix = suffix;
+        this.contentType = contentType;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public MimeType getContentType() {
+        return contentType;
+    }
+
+    public String destination(Long boardId) {
+        return BoardEventFanout.BOARD_TOPIC_PREFIX + boardId + suffix;
+    }
+
+    /** Encoding named by a board destination's suffix; JSON when there is none. */
+    public static BoardTopicEncoding of(String destination) {
+        for (BoardTopicEncoding encoding : values()) {
+            if (!encoding.suffix.isEmpty() && destination != null && destination.endsWith(encoding.suffix)) {
+                return encoding;
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,47 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process bus for single-instance deployments, the STOMP relay mode and tests. Events go
+ * straight to the local broker, which already knows who is subscribed, so listen/stopListening
+ * have nothing to do.
+ */
+@Component
+@ConditionalOnProperty(name = "kanban.events.bus", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalBoardEventBus implements BoardEventBus {
+
+    private final BoardEventFanout fanout;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(Long boardId, Object event) {
+        fanout.deliver(boardId, toJson(event));
+    }
+
+    @Override
+    public void publishToWorkspace(Long workspaceId, Object event) {
+        fanout.deliverToWorkspace(workspaceId, toJson(event));
+    }
+
+    @Override
+    public void listen(Long boardId) {
+    }
+
+    @Override
+    public void stopListening(Long boardId) {
+    }
+
+    private byte[] toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialise board event", e);
+        }
+    }
+}
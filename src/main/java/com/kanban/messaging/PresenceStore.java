@@ -0,0 +1,293 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardPresenceDTO;
+import com.kanban.dto.PresenceHeartbeat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Who is looking at which board, kept in memory only. Clients send heartbeats over STOMP; an
+ * entry that has not been refreshed within the TTL is dropped. Boards whose viewers changed are
+ * broadcast at most once per interval on {@code /topic/board/{id}/presence}, so cursor moves from
+ * thousands of viewers cost one frame per subscriber per interval rather than one per move.
+ *
+ * Memory is bounded by {@code max-entries} (session/board pairs per instance) and each
+ * broadcast lists at most {@code max-broadcast-viewers} users. Presence is per instance: with
+ * several instances each one broadcasts its own viewers, tagged with its instance id.
+ */
+@Slf4j
+@Component
+public class PresenceStore {
+
+    public static final String PRESENCE_SUFFIX = "/presence";
+
+    private static final int MAX_DISPLAY_NAME_LENGTH = 64;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final String instance = UUID.randomUUID().toString();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final int maxBoardsPerSession;
+    private final int maxBroadcastViewers;
+
+    private final ConcurrentHashMap<Long, BoardPresence> boards = new ConcurrentHashMap<>();
+
+    // Guarded by itself: session id -> boards it is present on, and the number of pairs in total
+    private final Map<String, Set<Long>> sessions = new HashMap<>();
+    private int entries;
+
+    public PresenceStore(
+            SimpMessagingTemplate messagingTemplate,
+            @Value("${kanban.presence.ttl-ms:15000}") long ttlMillis,
+            @Value("${kanban.presence.max-entries:20000}") int maxEntries,
+            @Value("${kanban.presence.max-boards-per-session:8}") int maxBoardsPerSession,
+            @Value("${kanban.presence.max-broadcast-viewers:50}") int maxBroadcastViewers) {
+        this.messagingTemplate = messagingTemplate;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.maxBoardsPerSession = maxBoardsPerSession;
+        this.maxBroadcastViewers = maxBroadcastViewers;
+    }
+
+    public static String destination(Long boardId) {
+        return BoardEventFanout.BOARD_TOPIC_PREFIX + boardId + PRESENCE_SUFFIX;
+    }
+
+    /** Records a heartbeat. Returns false if it was refused because this instance is at its cap. */
+    public boolean heartbeat(Long boardId, String sessionId, PresenceHeartbeat heartbeat, long now) {
+        if (heartbeat.isLeaving()) {
+            leave(boardId, sessionId);
+            return true;
+        }
+        synchronized (sessions) {
+            Set<Long> present = sessions.get(sessionId);
+            if (present == null || !present.contains(boardId)) {
+                if (entries >= maxEntries || (present != null && present.size() >= maxBoardsPerSession)) {
+                    log.debug("Presence of session {} on board {} refused, store is full", sessionId, boardId);
+                    return false;
+                }
+                sessions.computeIfAbsent(sessionId, id -> new HashSet<>()).add(boardId);
+                entries++;
+            }
+        }
+        while (true) {
+            BoardPresence board = boards.computeIfAbsent(boardId, id -> new BoardPresence());
+            synchronized (board) {
+                // The board was emptied and removed after we looked it up; put the viewer on a fresh one
+                if (!board.closed) {
+                    board.update(sessionId, heartbeat, now);
+                    return true;
+                }
+            }
+        }
+    }
+
+    public void leave(Long boardId, String sessionId) {
+        BoardPresence board = boards.get(boardId);
+        if (board != null) {
+            synchronized (board) {
+                board.remove(sessionId);
+            }
+        }
+        release(boardId, List.of(sessionId));
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    void disconnect(String sessionId) {
+        Set<Long> present;
+        synchronized (sessions) {
+            present = sessions.remove(sessionId);
+            if (present == null) {
+                return;
+            }
+            entries -= present.size();
+        }
+        for (Long boardId : present) {
+            BoardPresence board = boards.get(boardId);
+            if (board != null) {
+                synchronized (board) {
+                    board.remove(sessionId);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.presence.broadcast-interval-ms:250}")
+    public void broadcast() {
+        flush(System.currentTimeMillis());
+    }
+
+    // Expires stale viewers and broadcasts every board whose viewers changed since the last flush
+    void flush(long now) {
+        for (Map.Entry<Long, BoardPresence> entry : boards.entrySet()) {
+            Long boardId = entry.getKey();
+            BoardPresence board = entry.getValue();
+            List<String> expired;
+            BoardPresenceDTO snapshot = null;
+            synchronized (board) {
+                expired = board.expire(now - ttlMillis);
+                if (board.dirty) {
+                    snapshot = snapshot(boardId, board);
+                    board.dirty = false;
+                }
+                if (board.viewers.isEmpty()) {
+                    board.closed = true;
+                    boards.remove(boardId, board);
+                }
+            }
+            if (!expired.isEmpty()) {
+                release(boardId, expired);
+            }
+            if (snapshot != null) {
+                messagingTemplate.convertAndSend(destination(boardId), snapshot);
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (sessions) {
+            return entries;
+        }
+    }
+
+    private void release(Long boardId, List<String> sessionIds) {
+        synchronized (sessions) {
+            for (String sessionId : sessionIds) {
+                Set<Long> present = sessions.get(sessionId);
+                if (present != null && present.remove(boardId)) {
+                    entries--;
+                    if (present.isEmpty()) {
+                        sessions.remove(sessionId);
+                    }
+                }
+            }
+        }
+    }
+
+    // One entry per user, preferring a tab that is doing something over one that is only open
+    private BoardPresenceDTO snapshot(Long boardId, BoardPresence board) {
+        Map<Object, Viewer> byUser = new LinkedHashMap<>();
+        board.viewers.forEach((sessionId, viewer) -> {
+            Object key = viewer.userId != null ? viewer.userId : sessionId;
+            byUser.merge(key, viewer, (a, b) -> b.rank() > a.rank() ? b : a);
+        });
+        List<Viewer> viewers = new ArrayList<>(byUser.values());
+        viewers.sort(Comparator.comparingLong(Viewer::rank).reversed());
+        List<BoardPresenceDTO.Viewer> listed = new ArrayList<>();
+        for (Viewer viewer : viewers.subList(0, Math.min(maxBroadcastViewers, viewers.size()))) {
+            listed.add(BoardPresenceDTO.Viewer.builder()
+                    .userId(viewer.userId)
+                    .displayName(viewer.displayName)
+                    .activity(viewer.activity)
+                    .cardId(viewer.cardId)
+                    .x(viewer.x)
+                    .y(viewer.y)
+                    .build());
+        }
+        return BoardPresenceDTO.builder()
+                .type("PRESENCE")
+                .boardId(boardId)
+                .instance(instance)
+                .viewerCount(byUser.size())
+                .viewers(listed)
+                .build();
+    }
+
+    private static final class BoardPresence {
+        private final Map<String, Viewer> viewers = new HashMap<>();
+        private boolean dirty;
+        private boolean closed;
+
+        private void update(String sessionId, PresenceHeartbeat heartbeat, long now) {
+            Viewer viewer = viewers.computeIfAbsent(sessionId, id -> new Viewer());
+            dirty |= viewer.apply(heartbeat);
+            viewer.lastSeen = now;
+        }
+
+        private void remove(String sessionId) {
+            dirty |= viewers.remove(sessionId) != null;
+        }
+
+        private List<String> expire(long seenBefore) {
+            List<String> expired = new ArrayList<>();
+            viewers.entrySet().removeIf(entry -> {
+                if (entry.getValue().lastSeen >= seenBefore) {
+                    return false;
+                }
+                expired.add(entry.getKey());
+                return true;
+            });
+            dirty |= !expired.isEmpty();
+            return expired;
+        }
+    }
+
+    private static final class Viewer {
+        private Long userId;
+        private String displayName;
+        private PresenceHeartbeat.Activity activity;
+        private Long cardId;
+        private Double x;
+        private Double y;
+        private long lastSeen;
+
+        // Returns true if anything other viewers can see has changed
+        private boolean apply(PresenceHeartbeat heartbeat) {
+            PresenceHeartbeat.Activity newActivity = heartbeat.getActivity() != null
+                    ? heartbeat.getActivity() : PresenceHeartbeat.Activity.VIEWING;
+            String newName = heartbeat.getDisplayName();
+            if (newName != null && newName.length() > MAX_DISPLAY_NAME_LENGTH) {
+                newName = newName.substring(0, MAX_DISPLAY_NAME_LENGTH);
+            }
+            Long newCardId = newActivity != PresenceHeartbeat.Activity.VIEWING ? heartbeat.getCardId() : null;
+            Double newX = coordinate(heartbeat.getX());
+            Double newY = coordinate(heartbeat.getY());
+            boolean changed = !Objects.equals(userId, heartbeat.getUserId())
+                    || !Objects.equals(displayName, newName)
+                    || activity != newActivity
+                    || !Objects.equals(cardId, newCardId)
+                    || !Objects.equals(x, newX)
+                    || !Objects.equals(y, newY);
+            userId = heartbeat.getUserId();
+            displayName = newName;
+            activity = newActivity;
+            cardId = newCardId;
+            x = newX;
+            y = newY;
+            return changed;
+        }
+
+        // Active viewers sort first, then the most recently seen
+        private long rank() {
+            return (activity != PresenceHeartbeat.Activity.VIEWING ? Long.MAX_VALUE / 2 : 0) + lastSeen;
+        }
+
+        private static Double coordinate(Double value) {
+            if (value == null || value.isNaN()) {
+                return null;
+            }
+            return Math.max(0.0, Math.min(1.0, value));
+        }
+    }
+}
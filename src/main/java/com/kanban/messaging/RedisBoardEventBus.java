@@ -0,0 +1,91 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis pub/sub bus for running several instances behind a load balancer. Each board has its
+ * own channel, and an instance only subscribes to the channels of boards its own clients are
+ * watching, so traffic for a board reaches only the instances that need it. Every instance,
+ * the publisher included, delivers to its clients from the channel, so nothing is sent twice.
+ * Board-level events go to a channel per workspace, which every instance receives through one
+ * pattern subscription.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kanban.events.bus", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisBoardEventBus implements BoardEventBus, MessageListener {
+
+    static final String BOARD_CHANNEL_PREFIX = "kanban:board:";
+    static final String WORKSPACE_CHANNEL_PREFIX = "kanban:workspace:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer boardEventListenerContainer;
+    private final BoardEventFanout fanout;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    void listenWorkspaces() {
+        boardEventListenerContainer.addMessageListener(this, new PatternTopic(WORKSPACE_CHANNEL_PREFIX + "*"));
+    }
+
+    @Override
+    public void publish(Long boardId, Object event) {
+        send(BOARD_CHANNEL_PREFIX + boardId, event);
+    }
+
+    @Override
+    public void publishToWorkspace(Long workspaceId, Object event) {
+        send(WORKSPACE_CHANNEL_PREFIX + workspaceId, event);
+    }
+
+    @Override
+    public void listen(Long boardId) {
+        boardEventListenerContainer.addMessageListener(this, new ChannelTopic(BOARD_CHANNEL_PREFIX + boardId));
+    }
+
+    @Override
+    public void stopListening(Long boardId) {
+        boardEventListenerContainer.removeMessageListener(this, new ChannelTopic(BOARD_CHANNEL_PREFIX + boardId));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        try {
+            if (channel.startsWith(WORKSPACE_CHANNEL_PREFIX)) {
+                fanout.deliverToWorkspace(Long.valueOf(channel.substring(WORKSPACE_CHANNEL_PREFIX.length())), message.getBody());
+            } else if (channel.startsWith(BOARD_CHANNEL_PREFIX)) {
+                fanout.deliver(Long.valueOf(channel.substring(BOARD_CHANNEL_PREFIX.length())), message.getBody());
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring board event on unexpected channel {}", channel);
+        }
+    }
+
+    // The change is already committed when events are published, so a Redis outage only costs
+    // the real-time update; clients catch up through the delta sync endpoint
+    private void send(String channel, Object event) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialise board event", e);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish board event to {}: {}", channel, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.kanban.dto.WebSocketSessionStatsDTO;
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded outbound queue in front of every STOMP WebSocket session.
+ *
+ * Frames for a session are queued here and written off the broker and outbound channel threads,
+ * one at a time per session. Plain WebSocket sessions are written with the container's
+ * asynchronous sends, so a slow socket holds no thread while it drains. SockJS sessions only
+ * offer blocking writes; those run on a writer pool that grows with the number of sessions
+ * writing at once, so one stuck socket never delays another. With ordered publishing the broker
+ * keeps its own per-session queue unbounded, so this is where a slow consumer is stopped. When
+ * a queue passes its message or byte cap:
+ * <ul>
+ *   <li>RESYNC drops the queued board updates and puts one RESYNC marker per board subscription
+ *   in their place, encoded like the subscription's frames (JSON, or CBOR on {@code .cbor}
+ *   topics). The client then asks for a replay or reloads the board.</li>
+ *   <li>DISCONNECT closes the session, and the client reconnects and catches up.</li>
+ * </ul>
+ * A session stuck in a single write for longer than the send time limit is closed under either
+ * policy. The limit is watched while the write is in flight, not when the next frame arrives.
+ *
+ * Board frames, text or binary, are recognised once when queued from their STOMP header block,
+ * so an overflow only walks the queue and never decodes frames again.
+ */
+@Slf4j
+@Component
+public class SlowConsumerGuard implements WebSocketHandlerDecoratorFactory {
+
+    public enum Policy { RESYNC, DISCONNECT }
+
+    private static final int REPORTED_SESSIONS = 20;
+    private static final String RESYNC_MESSAGE_ID_PREFIX = "resync-";
+
+    private final Policy policy;
+    private final int maxQueuedMessages;
+    private final int maxQueuedBytes;
+    private final long sendTimeLimitMillis;
+    private final ExecutorService writers;
+    private final ScheduledExecutorService watchdog;
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    private final Map<String, GuardedSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong resyncsSent = new AtomicLong();
+    private final AtomicLong sessionsClosed = new AtomicLong();
+
+    public SlowConsumerGuard(
+            @Value("${kanban.websocket.outbound.slow-consumer-policy:resync}") String policy,
+            @Value("${kanban.websocket.outbound.max-queued-messages:1000}") int maxQueuedMessages,
+            @Value("${kanban.websocket.outbound.max-queued-bytes:1048576}") int maxQueuedBytes,
+            @Value("${kanban.websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMillis) {
+        this.policy = Policy.valueOf(policy.trim().toUpperCase());
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        // Threads are only busy while a blocking write is in flight, and the watchdog ends those at the limit
+        AtomicInteger count = new AtomicInteger();
+        this.writers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ws-session-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ws-send-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(sendTimeLimitMillis / 4, 50);
+        watchdog.scheduleAtFixedRate(this::checkSendTimes, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSendTimeLimitMillis() {
+        return sendTimeLimitMillis;
+    }
+
+    public int getMaxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(guard(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                GuardedSession guarded = sessions.remove(session.getId());
+                super.afterConnectionClosed(guarded != null ? guarded : session, closeStatus);
+            }
+        };
+    }
+
+    public WebSocketSessionStatsDTO getStats() {
+        List<WebSocketSessionStatsDTO.SessionQueue> queues = new ArrayList<>();
+        long queued = 0;
+        for (GuardedSession session : sessions.values()) {
+            WebSocketSessionStatsDTO.SessionQueue queue = session.snapshot();
+            queued += queue.getQueuedMessages();
+            queues.add(queue);
+        }
+        queues.sort(Comparator.comparing(WebSocketSessionStatsDTO.SessionQueue::getQueuedMessages).reversed());
+        return WebSocketSessionStatsDTO.builder()
+                .slowConsumerPolicy(policy.name())
+                .maxQueuedMessages(maxQueuedMessages)
+                .maxQueuedBytes(maxQueuedBytes)
+                .sendTimeLimitMillis(sendTimeLimitMillis)
+                .openSessions(sessions.size())
+                .queuedMessages(queued)
+                .framesDropped(framesDropped.get())
+                .resyncsSent(resyncsSent.get())
+                .sessionsClosed(sessionsClosed.get())
+                .deepestQueues(queues.subList(0, Math.min(REPORTED_SESSIONS, queues.size())))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    GuardedSession guard(WebSocketSession session) {
+        GuardedSession guarded = new GuardedSession(session);
+        sessions.put(session.getId(), guarded);
+        return guarded;
+    }
+
+    private void checkSendTimes() {
+        long now = System.currentTimeMillis();
+        for (GuardedSession session : sessions.values()) {
+            session.checkSendTime(now);
+        }
+    }
+
+    /** The session as seen by the STOMP handler: sends are queued here and written in order, one at a time. */
+    class GuardedSession extends WebSocketSessionDecorator {
+
+        // Guarded by this
+        private final ArrayDeque<Queued> queue = new ArrayDeque<>();
+        private int queuedBytes;
+        private int maxDepth;
+        private long dropped;
+        private boolean draining;
+        private long sendStartedAt;
+        private boolean closing;
+        private long resyncCounter;
+        // Set for plain WebSocket sessions; SockJS sessions are written through their own framing
+        private final RemoteEndpoint.Async asyncRemote;
+
+        GuardedSession(WebSocketSession delegate) {
+            super(delegate);
+            this.asyncRemote = asyncRemote(delegate);
+        }
+
+        // Only a plain session writes frames as they are; a SockJS session frames them itself
+        private RemoteEndpoint.Async asyncRemote(WebSocketSession delegate) {
+            if (!(delegate instanceof StandardWebSocketSession standardSession)) {
+                return null;
+            }
+            Session session = standardSession.getNativeSession();
+            if (session == null) {
+                return null;
+            }
+            RemoteEndpoint.Async remote = session.getAsyncRemote();
+            remote.setSendTimeout(sendTimeLimitMillis);
+            return remote;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            boolean startDrain;
+            String closeReason = null;
+            synchronized (this) {
+                if (closing) {
+                    return;
+                }
+                queue.add(Queued.of(message));
+                queuedBytes += message.getPayloadLength();
+                maxDepth = Math.max(maxDepth, queue.size());
+                if (overLimit() && (policy == Policy.DISCONNECT || !dropBoardUpdates())) {
+                    closeReason = "outbound queue limit exceeded";
+                }
+                if (closeReason != null) {
+                    closing = true;
+                    queue.clear();
+                    queuedBytes = 0;
+                }
+                startDrain = closeReason == null && !draining;
+                draining |= startDrain;
+            }
+            if (closeReason != null) {
+                closeSlowConsumer(closeReason);
+            } else if (startDrain) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                WebSocketMessage<?> next;
+                synchronized (this) {
+                    Queued queued = closing ? null : queue.poll();
+                    if (queued == null) {
+                        draining = false;
+                        return;
+                    }
+                    next = queued.message;
+                    queuedBytes -= next.getPayloadLength();
+                    sendStartedAt = System.currentTimeMillis();
+                }
+                if (asyncRemote != null && next.isLast()
+                        && (next instanceof TextMessage || next instanceof BinaryMessage)) {
+                    sendAsync(next);
+                    return; // Draining carries on when the container reports the send done
+                }
+                try {
+                    getDelegate().sendMessage(next);
+                } catch (IOException | RuntimeException e) {
+                    writeFailed(e);
+                } finally {
+                    synchronized (this) {
+                        sendStartedAt = 0;
+                    }
+                }
+            }
+        }
+
+        private void sendAsync(WebSocketMessage<?> message) {
+            SendHandler done = result -> {
+                boolean closedByWatchdog;
+                synchronized (this) {
+                    sendStartedAt = 0;
+                    closedByWatchdog = closing;
+                }
+                if (!result.isOK()) {
+                    if (result.getException() instanceof SocketTimeoutException && !closedByWatchdog) {
+                        closeSlowConsumer("send time limit exceeded");
+                    }
+                    writeFailed(result.getException());
+                }
+                // Not inline: the container may call back on the sending thread
+                writers.execute(this::drain);
+            };
+            try {
+                if (message instanceof TextMessage text) {
+                    asyncRemote.sendText(text.getPayload(), done);
+                } else {
+                    asyncRemote.sendBinary(((BinaryMessage) message).getPayload(), done);
+                }
+            } catch (RuntimeException e) {
+                done.onResult(new SendResult(e));
+            }
+        }
+
+        private void writeFailed(Throwable e) {
+            log.debug("Failed to write to WebSocket session {}: {}", getId(), e != null ? e.getMessage() : null);
+            synchronized (this) {
+                closing = true;
+                queue.clear();
+                queuedBytes = 0;
+            }
+        }
+
+        // Called by the watchdog: a write in flight past the limit closes the session, which also ends the write
+        void checkSendTime(long now) {
+            synchronized (this) {
+                if (closing || sendStartedAt == 0 || now - sendStartedAt <= sendTimeLimitMillis) {
+                    return;
+                }
+                closing = true;
+                queue.clear();
+                queuedBytes = 0;
+            }
+            // Closing may wait on the stuck write, so it must not hold up the watchdog
+            writers.execute(() -> closeSlowConsumer("send time limit exceeded"));
+        }
+
+        private boolean overLimit() {
+            return queue.size() > maxQueuedMessages || queuedBytes > maxQueuedBytes;
+        }
+
+        // Replaces queued board frames with one RESYNC marker per subscription; false if still over the cap
+        private boolean dropBoardUpdates() {
+            Map<String, String> resync = new LinkedHashMap<>(); // subscription id -> destination
+            Iterator<Queued> iterator = queue.iterator();
+            long droppedNow = 0;
+            int markersReplaced = 0;
+            while (iterator.hasNext()) {
+                Queued queued = iterator.next();
+                if (queued.destination != null) {
+                    iterator.remove();
+                    queuedBytes -= queued.message.getPayloadLength();
+                    // Markers from an earlier overflow are folded into the new ones, not counted as drops
+                    if (queued.resyncMarker) {
+                        markersReplaced++;
+                    } else {
+                        droppedNow++;
+                    }
+                    resync.putIfAbsent(queued.subscriptionId, queued.destination);
+                }
+            }
+            resync.forEach((subscriptionId, destination) -> {
+                WebSocketMessage<?> marker = resyncMarker(subscriptionId, destination);
+                queue.add(new Queued(marker, subscriptionId, destination, true));
+                queuedBytes += marker.getPayloadLength();
+            });
+            dropped += droppedNow;
+            framesDropped.addAndGet(droppedNow);
+            resyncsSent.addAndGet(resync.size() - markersReplaced);
+            return !overLimit();
+        }
+
+        // In the subscription's own encoding, so CBOR clients can decode it like any other frame
+        private WebSocketMessage<?> resyncMarker(String subscriptionId, String destination) {
+            BoardTopicEncoding encoding = BoardTopicEncoding.of(destination);
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination(destination);
+            accessor.setMessageId(RESYNC_MESSAGE_ID_PREFIX + getId() + "-" + (++resyncCounter));
+            accessor.setContentType(encoding.getContentType());
+            Long boardId = BoardEventFanout.boardIdOf(destination);
+            if (encoding == BoardTopicEncoding.CBOR) {
+                byte[] payload;
+                try {
+                    payload = cborMapper.writeValueAsBytes(cborMapper.createObjectNode()
+                            .put("type", "RESYNC")
+                            .put("boardId", boardId));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Cannot encode RESYNC marker", e);
+                }
+                return new BinaryMessage(new StompEncoder().encode(accessor.getMessageHeaders(), payload));
+            }
+            byte[] payload = ("{\"type\":\"RESYNC\",\"boardId\":" + boardId + "}").getBytes(StandardCharsets.UTF_8);
+            return new TextMessage(new StompEncoder().encode(accessor.getMessageHeaders(), payload));
+        }
+
+        synchronized WebSocketSessionStatsDTO.SessionQueue snapshot() {
+            return WebSocketSessionStatsDTO.SessionQueue.builder()
+                    .sessionId(getId())
+                    .queuedMessages(queue.size())
+                    .queuedBytes(queuedBytes)
+                    .maxQueuedMessages(maxDepth)
+                    .framesDropped(dropped)
+                    .build();
+        }
+
+        private void closeSlowConsumer(String reason) {
+            sessionsClosed.incrementAndGet();
+            log.info("Closing slow WebSocket session {}: {}", getId(), reason);
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+            } catch (IOException e) {
+                log.debug("Failed to close WebSocket session {}: {}", getId(), e.getMessage());
+            }
+        }
+    }
+
+    /** A queued frame; subscription and destination are only set for MESSAGE frames on a board topic. */
+    private static final class Queued {
+        private final WebSocketMessage<?> message;
+        private final String subscriptionId;
+        private final String destination;
+        private final boolean resyncMarker;
+
+        private Queued(WebSocketMessage<?> message, String subscriptionId, String destination, boolean resyncMarker) {
+            this.message = message;
+            this.subscriptionId = subscriptionId;
+            this.destination = destination;
+            this.resyncMarker = resyncMarker;
+        }
+
+        // Reads the command and the first destination and subscription headers; the body is not touched
+        static Queued of(WebSocketMessage<?> message) {
+            String headers = headerBlock(message);
+            if (headers == null || !headers.startsWith(StompCommand.MESSAGE.name() + "\n")) {
+                return new Queued(message, null, null, false);
+            }
+            String subscriptionId = null;
+            String destination = null;
+            for (String line : headers.split("\n")) {
+                if (subscriptionId == null && line.startsWith("subscription:")) {
+                    subscriptionId = line.substring("subscription:".length());
+                } else if (destination == null && line.startsWith("destination:")) {
+                    destination = line.substring("destination:".length());
+                }
+            }
+            if (subscriptionId == null || BoardEventFanout.boardIdOf(destination) == null) {
+                return new Queued(message, null, null, false);
+            }
+            return new Queued(message, subscriptionId, destination, false);
+        }
+
+        // Command and headers up to the blank line that ends them, or null if the message is not a STOMP frame
+        private static String headerBlock(WebSocketMessage<?> message) {
+            if (message instanceof TextMessage text) {
+                String payload = text.getPayload();
+                int end = payload.indexOf("\n\n");
+                return end < 0 ? null : payload.substring(0, end);
+            }
+            if (message instanceof BinaryMessage binary) {
+                ByteBuffer payload = binary.getPayload();
+                for (int i = payload.position(); i + 1 < payload.limit(); i++) {
+                    if (payload.get(i) == '\n' && payload.get(i + 1) == '\n') {
+                        byte[] headers = new byte[i - payload.position()];
+                        payload.duplicate().get(headers);
+                        return new String(headers, StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.kanban.messaging;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Raised by services when a board is created, renamed or deleted, with the frame for the board
+ * list topic of its workspace. Sent after commit by {@link BoardChangeBroadcaster}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class WorkspaceBoardsChangedEvent {
+
+    private final Long workspaceId;
+    private final Object payload;
+}
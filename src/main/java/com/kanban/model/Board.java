@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -20,7 +21,8 @@ import java.util.List;
 @Builder
 public class Board {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boards_id_seq")
+    @SequenceGenerator(name = "boards_id_seq", sequenceName = "boards_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 100)
@@ -41,6 +43,12 @@ public class Board {
     @Builder.Default
     private Boolean isDeleted = false;
     
+    // Bumped in the database by BoardVersionService on every board, list or card change;
+    // never written from the entity, so a stale copy in the session cannot roll it back
+    @ColumnDefault("0")
+    @Column(name = "change_version", nullable = false, insertable = false, updatable = false)
+    private Long changeVersion;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,7 +58,7 @@ public class Board {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
-    @OrderBy("position ASC")
+    @OrderBy("rank ASC, id ASC")
     @Builder.Default
     private List<ListEntity> lists = new ArrayList<>();
     
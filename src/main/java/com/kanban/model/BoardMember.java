@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Builder
 public class BoardMember {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_members_id_seq")
+    @SequenceGenerator(name = "board_members_id_seq", sequenceName = "board_members_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -20,7 +20,8 @@ import java.util.List;
 @Builder
 public class Card {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_id_seq")
+    @SequenceGenerator(name = "cards_id_seq", sequenceName = "cards_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 200)
@@ -35,7 +36,11 @@ public class Card {
     
     @Column(nullable = false)
     @Builder.Default
-    private Integer position = 0;
+    private Integer position = 0; // Legacy index, only read to order rows that have no rank yet
+    
+    // Lexicographic sort key within the list (see RankUtil); moves only rewrite this row
+    @Column(name = "rank_key", length = 64)
+    private String rank;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
@@ -71,6 +76,11 @@ public class Card {
     @Builder.Default
     private Boolean isDeleted = false;
     
+    // Board change version of the last write to this row, used for delta sync
+    @Column(name = "change_version", nullable = false)
+    @Builder.Default
+    private Long changeVersion = 0L;
+    
     public enum Priority {
         LOW, MEDIUM, HIGH, DONE
     }
@@ -20,7 +20,8 @@ import java.util.List;
 @Builder
 public class ListEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lists_id_seq")
+    @SequenceGenerator(name = "lists_id_seq", sequenceName = "lists_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 100)
@@ -34,10 +35,19 @@ public class ListEntity {
     @Builder.Default
     private Integer position = 0;
     
+    // Lexicographic sort key (see RankUtil); position is a denormalised index rewritten on rebalance
+    @Column(name = "rank_key", length = 64)
+    private String rank;
+    
     @Column(name = "is_deleted", nullable = false)
     @Builder.Default
     private Boolean isDeleted = false;
     
+    // Board change version of the last write to this row, used for delta sync
+    @Column(name = "change_version", nullable = false)
+    @Builder.Default
+    private Long changeVersion = 0L;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -47,7 +57,7 @@ public class ListEntity {
     private LocalDateTime updatedAt;
     
     @OneToMany(mappedBy = "list", cascade = CascadeType.ALL, orphanRemoval = true)
-    @OrderBy("position ASC")
+    @OrderBy("rank ASC, id ASC")
     @Builder.Default
     private List<Card> cards = new ArrayList<>();
 }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -20,7 +21,8 @@ import java.util.List;
 @Builder
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true, length = 50)
@@ -44,6 +46,12 @@ public class User {
     @Builder.Default
     private Boolean isDeleted = false;
     
+    // Embedded in issued tokens; bumping it with UserRepository.incrementTokenVersion revokes them.
+    // Never written from the entity, like Board.changeVersion
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+    private Long tokenVersion;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
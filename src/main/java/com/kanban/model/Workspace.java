@@ -20,7 +20,8 @@ import java.util.List;
 @Builder
 public class Workspace {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workspaces_id_seq")
+    @SequenceGenerator(name = "workspaces_id_seq", sequenceName = "workspaces_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 100)
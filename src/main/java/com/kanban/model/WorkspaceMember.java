@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Builder
 public class WorkspaceMember {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workspace_members_id_seq")
+    @SequenceGenerator(name = "workspace_members_id_seq", sequenceName = "workspace_members_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
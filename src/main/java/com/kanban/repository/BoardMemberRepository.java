@@ -2,6 +2,8 @@ package com.kanban.repository;
 
 import com.kanban.model.BoardMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,5 +15,8 @@ public interface BoardMemberRepository extends JpaRepository<BoardMember, Long>
     List<BoardMember> findByBoardIdAndIsDeletedFalse(Long boardId);
     List<BoardMember> findByUserIdAndIsDeletedFalse(Long userId);
     boolean existsByBoardIdAndUserIdAndIsDeletedFalse(Long boardId, Long userId);
+    
+    @Query("SELECT m.board.id FROM BoardMember m WHERE m.user.id = :userId AND m.isDeleted = false")
+    List<Long> findBoardIdsByUserId(@Param("userId") Long userId);
 }
 
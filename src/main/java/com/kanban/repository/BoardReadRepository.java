@@ -0,0 +1,234 @@
+package com.kanban.repository;
+
+import com.kanban.model.Board;
+import com.kanban.model.Card;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Flat, read-only projections used to assemble a whole board without loading managed entities.
+ * Each query is a single statement regardless of how many lists, cards or assignees the board has.
+ */
+public interface BoardReadRepository extends Repository<Board, Long> {
+
+    @Query("SELECT b.id AS id, b.name AS name, b.description AS description, " +
+           "w.id AS workspaceId, u.id AS createdById, b.changeVersion AS changeVersion, " +
+           "b.createdAt AS createdAt, b.updatedAt AS updatedAt " +
+           "FROM Board b LEFT JOIN b.workspace w LEFT JOIN b.createdBy u " +
+           "WHERE b.id = :boardId AND b.isDeleted = false")
+    Optional<BoardRow> findBoardRow(@Param("boardId") Long boardId);
+
+    @Query("SELECT l.id AS id, l.name AS name, l.position AS position, l.rank AS rank, l.changeVersion AS changeVersion, " +
+           "l.createdAt AS createdAt, l.updatedAt AS updatedAt " +
+           "FROM ListEntity l " +
+           "WHERE l.board.id = :boardId AND l.isDeleted = false " +
+           "ORDER BY l.rank, l.id")
+    List<ListRow> findListRows(@Param("boardId") Long boardId);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, l.id AS listId, " +
+           "c.position AS position, c.rank AS rank, c.changeVersion AS changeVersion, " +
+           "cb.id AS createdById, cb.username AS createdByUsername, cb.fullName AS createdByFullName, " +
+           "lm.id AS lastModifiedById, lm.username AS lastModifiedByUsername, lm.fullName AS lastModifiedByFullName, " +
+           "c.dueDate AS dueDate, c.priority AS priority, c.createdAt AS createdAt, c.updatedAt AS updatedAt " +
+           "FROM Card c JOIN c.list l LEFT JOIN c.createdBy cb LEFT JOIN c.lastModifiedBy lm " +
+           "WHERE l.board.id = :boardId AND l.isDeleted = false AND c.isDeleted = false " +
+           "ORDER BY l.id, c.rank, c.id")
+    List<CardRow> findCardRows(@Param("boardId") Long boardId);
+
+    @Query("SELECT c.id AS cardId, u.id AS userId, u.username AS username, u.fullName AS fullName " +
+           "FROM Card c JOIN c.list l JOIN c.assignedUsers u " +
+           "WHERE l.board.id = :boardId AND l.isDeleted = false AND c.isDeleted = false " +
+           "ORDER BY c.id")
+    List<AssigneeRow> findAssigneeRows(@Param("boardId") Long boardId);
+
+    // Delta sync: rows written after a given board change version
+
+    // Stored positions are not maintained, so a changed row's position is computed as its index in rank order,
+    // with unranked rows last by id, as the board load orders them
+    @Query("SELECT l.id AS id, l.name AS name, l.rank AS rank, l.changeVersion AS changeVersion, " +
+           "(SELECT COUNT(o) FROM ListEntity o WHERE o.board = l.board AND o.isDeleted = false " +
+           "AND (o.rank < l.rank OR (o.rank = l.rank AND o.id < l.id) " +
+           "OR (l.rank IS NULL AND (o.rank IS NOT NULL OR o.id < l.id)))) AS position, " +
+           "l.createdAt AS createdAt, l.updatedAt AS updatedAt " +
+           "FROM ListEntity l " +
+           "WHERE l.board.id = :boardId AND l.isDeleted = false AND l.changeVersion > :since " +
+           "ORDER BY l.rank, l.id")
+    List<ListRow> findListRowsChangedSince(@Param("boardId") Long boardId, @Param("since") long since, Pageable limit);
+
+    @Query("SELECT l.id FROM ListEntity l " +
+           "WHERE l.board.id = :boardId AND l.isDeleted = true AND l.changeVersion > :since")
+    List<Long> findListIdsDeletedSince(@Param("boardId") Long boardId, @Param("since") long since);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, l.id AS listId, " +
+           "c.rank AS rank, c.changeVersion AS changeVersion, " +
+           "(SELECT COUNT(o) FROM Card o WHERE o.list = l AND o.isDeleted = false " +
+           "AND (o.rank < c.rank OR (o.rank = c.rank AND o.id < c.id) " +
+           "OR (c.rank IS NULL AND (o.rank IS NOT NULL OR o.id < c.id)))) AS position, " +
+           "cb.id AS createdById, cb.username AS createdByUsername, cb.fullName AS createdByFullName, " +
+           "lm.id AS lastModifiedById, lm.username AS lastModifiedByUsername, lm.fullName AS lastModifiedByFullName, " +
+           "c.dueDate AS dueDate, c.priority AS priority, c.createdAt AS createdAt, c.updatedAt AS updatedAt " +
+           "FROM Card c JOIN c.list l LEFT JOIN c.createdBy cb LEFT JOIN c.lastModifiedBy lm " +
+           "WHERE l.board.id = :boardId AND l.isDeleted = false AND c.isDeleted = false " +
+           "AND c.changeVersion > :since " +
+           "ORDER BY l.id, c.rank, c.id")
+    List<CardRow> findCardRowsChangedSince(@Param("boardId") Long boardId, @Param("since") long since, Pageable limit);
+
+    @Query("SELECT c.id FROM Card c JOIN c.list l " +
+           "WHERE l.board.id = :boardId AND c.isDeleted = true AND c.changeVersion > :since")
+    List<Long> findCardIdsDeletedSince(@Param("boardId") Long boardId, @Param("since") long since);
+
+    @Query("SELECT c.id AS cardId, u.id AS userId, u.username AS username, u.fullName AS fullName " +
+           "FROM Card c JOIN c.list l JOIN c.assignedUsers u " +
+           "WHERE l.board.id = :boardId AND l.isDeleted = false AND c.isDeleted = false " +
+           "AND c.changeVersion > :since " +
+           "ORDER BY c.id")
+    List<AssigneeRow> findAssigneeRowsChangedSince(@Param("boardId") Long boardId, @Param("since") long since);
+
+    // Board skeleton: ids of the first :window cards of each list in rank order, with the list's card count
+    // and how many of those cards have a rank. Only ids and ranks are read here; the windowed cards are
+    // then loaded by id
+    @Query(value = "SELECT id, list_id, card_count, ranked_count FROM (" +
+                   "SELECT c.id, c.list_id, " +
+                   "ROW_NUMBER() OVER (PARTITION BY c.list_id ORDER BY c.rank_key, c.id) AS row_index, " +
+                   "COUNT(*) OVER (PARTITION BY c.list_id) AS card_count, " +
+                   "COUNT(c.rank_key) OVER (PARTITION BY c.list_id) AS ranked_count " +
+                   "FROM cards c JOIN lists l ON l.id = c.list_id " +
+                   "WHERE l.board_id = :boardId AND l.is_deleted = false AND c.is_deleted = false" +
+                   ") windowed WHERE row_index <= :window", nativeQuery = true)
+    List<Object[]> findCardWindowIds(@Param("boardId") Long boardId, @Param("window") int window);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, l.id AS listId, " +
+           "c.position AS position, c.rank AS rank, c.changeVersion AS changeVersion, " +
+           "cb.id AS createdById, cb.username AS createdByUsername, cb.fullName AS createdByFullName, " +
+           "lm.id AS lastModifiedById, lm.username AS lastModifiedByUsername, lm.fullName AS lastModifiedByFullName, " +
+           "c.dueDate AS dueDate, c.priority AS priority, c.createdAt AS createdAt, c.updatedAt AS updatedAt " +
+           "FROM Card c JOIN c.list l LEFT JOIN c.createdBy cb LEFT JOIN c.lastModifiedBy lm " +
+           "WHERE c.id IN :cardIds " +
+           "ORDER BY l.id, c.rank, c.id")
+    List<CardRow> findCardRowsByIds(@Param("cardIds") Collection<Long> cardIds);
+
+    // The window after one a client already holds, continuing past the (rank, id) of its last card
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, l.id AS listId, " +
+           "c.position AS position, c.rank AS rank, c.changeVersion AS changeVersion, " +
+           "cb.id AS createdById, cb.username AS createdByUsername, cb.fullName AS createdByFullName, " +
+           "lm.id AS lastModifiedById, lm.username AS lastModifiedByUsername, lm.fullName AS lastModifiedByFullName, " +
+           "c.dueDate AS dueDate, c.priority AS priority, c.createdAt AS createdAt, c.updatedAt AS updatedAt " +
+           "FROM Card c JOIN c.list l LEFT JOIN c.createdBy cb LEFT JOIN c.lastModifiedBy lm " +
+           "WHERE l.id = :listId AND l.board.id = :boardId AND l.isDeleted = false AND c.isDeleted = false " +
+           "AND (c.rank > :rank OR (c.rank = :rank AND c.id > :id)) " +
+           "ORDER BY c.rank, c.id")
+    List<CardRow> findCardRowsAfter(@Param("boardId") Long boardId,
+                                    @Param("listId") Long listId,
+                                    @Param("rank") String rank,
+                                    @Param("id") Long id,
+                                    Pageable limit);
+
+    @Query("SELECT c.id AS cardId, u.id AS userId, u.username AS username, u.fullName AS fullName " +
+           "FROM Card c JOIN c.assignedUsers u " +
+           "WHERE c.id IN :cardIds " +
+           "ORDER BY c.id")
+    List<AssigneeRow> findAssigneeRowsByCardIds(@Param("cardIds") Collection<Long> cardIds);
+
+    // Keyset pages of one list's cards in rank order. A page after a cursor starts past the (rank, id) of
+    // the last card already read, so it costs the same however deep into the list it is. Cards not yet
+    // given a rank come last in id order, so they are paged too
+
+    @Query("SELECT c.id AS id, c.title AS title, c.rank AS rank, c.priority AS priority, c.dueDate AS dueDate " +
+           "FROM Card c " +
+           "WHERE c.list.id = :listId AND c.isDeleted = false " +
+           "ORDER BY c.rank ASC NULLS LAST, c.id")
+    List<CardSummaryRow> findCardSummaries(@Param("listId") Long listId, Pageable limit);
+
+    @Query("SELECT c.id AS id, c.title AS title, c.rank AS rank, c.priority AS priority, c.dueDate AS dueDate " +
+           "FROM Card c " +
+           "WHERE c.list.id = :listId AND c.isDeleted = false " +
+           "AND (c.rank > :rank OR (c.rank = :rank AND c.id > :id) OR c.rank IS NULL) " +
+           "ORDER BY c.rank ASC NULLS LAST, c.id")
+    List<CardSummaryRow> findCardSummariesAfter(@Param("listId") Long listId,
+                                                @Param("rank") String rank,
+                                                @Param("id") Long id,
+                                                Pageable limit);
+
+    // Continues past an unranked card; only unranked cards can follow it
+    @Query("SELECT c.id AS id, c.title AS title, c.rank AS rank, c.priority AS priority, c.dueDate AS dueDate " +
+           "FROM Card c " +
+           "WHERE c.list.id = :listId AND c.isDeleted = false AND c.rank IS NULL AND c.id > :id " +
+           "ORDER BY c.id")
+    List<CardSummaryRow> findUnrankedCardSummariesAfter(@Param("listId") Long listId,
+                                                        @Param("id") Long id,
+                                                        Pageable limit);
+
+    @Query("SELECT c.id AS cardId, u.id AS userId " +
+           "FROM Card c JOIN c.assignedUsers u " +
+           "WHERE c.id IN :cardIds " +
+           "ORDER BY c.id")
+    List<AssigneeIdRow> findAssigneeIds(@Param("cardIds") Collection<Long> cardIds);
+
+    interface BoardRow {
+        Long getId();
+        String getName();
+        String getDescription();
+        Long getWorkspaceId();
+        Long getCreatedById();
+        Long getChangeVersion();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface ListRow {
+        Long getId();
+        String getName();
+        Integer getPosition();
+        String getRank();
+        Long getChangeVersion();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface CardRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        Long getListId();
+        Integer getPosition();
+        String getRank();
+        Long getChangeVersion();
+        Long getCreatedById();
+        String getCreatedByUsername();
+        String getCreatedByFullName();
+        Long getLastModifiedById();
+        String getLastModifiedByUsername();
+        String getLastModifiedByFullName();
+        LocalDateTime getDueDate();
+        Card.Priority getPriority();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    interface AssigneeRow {
+        Long getCardId();
+        Long getUserId();
+        String getUsername();
+        String getFullName();
+    }
+
+    interface CardSummaryRow {
+        Long getId();
+        String getTitle();
+        String getRank();
+        Card.Priority getPriority();
+        LocalDateTime getDueDate();
+    }
+
+    interface AssigneeIdRow {
+        Long getCardId();
+        Long getUserId();
+    }
+}
@@ -3,6 +3,7 @@ package com.kanban.repository;
 import com.kanban.model.Board;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -29,5 +30,16 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
            "LEFT JOIN FETCH b.workspace " +
            "WHERE b.id = :id AND b.isDeleted = false")
     Optional<Board> findByIdWithWorkspace(@Param("id") Long id);
+    
+    @Query("SELECT b.workspace.id FROM Board b WHERE b.id = :id AND b.isDeleted = false")
+    Optional<Long> findWorkspaceId(@Param("id") Long id);
+    
+    // Row-locks the board until commit, so change versions of one board commit in order
+    @Modifying
+    @Query("UPDATE Board b SET b.changeVersion = b.changeVersion + 1 WHERE b.id = :id")
+    int incrementChangeVersion(@Param("id") Long id);
+    
+    @Query("SELECT b.changeVersion FROM Board b WHERE b.id = :id")
+    Optional<Long> findChangeVersion(@Param("id") Long id);
 }
 
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +16,53 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     @EntityGraph(attributePaths = {"createdBy", "assignedTo", "assignedUsers", "lastModifiedBy", "list"})
     Optional<Card> findByIdAndIsDeletedFalse(Long id);
     
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo", "assignedUsers", "lastModifiedBy", "list"})
+    List<Card> findByIdInAndIsDeletedFalse(Collection<Long> ids);
+    
     @EntityGraph(attributePaths = {"createdBy", "assignedTo", "assignedUsers", "lastModifiedBy"})
     List<Card> findByListIdAndIsDeletedFalseOrderByPositionAsc(Long listId);
     
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo", "assignedUsers", "lastModifiedBy"})
+    List<Card> findByListIdAndIsDeletedFalseOrderByRankAscIdAsc(Long listId);
+    
+    List<Card> findByListIdAndIsDeletedFalse(Long listId);
+    
     @Query("SELECT MAX(c.position) FROM Card c WHERE c.list.id = :listId AND c.isDeleted = false")
     Integer findMaxPositionByListId(@Param("listId") Long listId);
     
+    @Query("SELECT MAX(c.rank) FROM Card c WHERE c.list.id = :listId AND c.isDeleted = false")
+    String findMaxRankByListId(@Param("listId") Long listId);
+    
+    // Index of a ranked card in its list's rank order
+    @Query("SELECT COUNT(c) FROM Card c WHERE c.list.id = :listId AND c.isDeleted = false " +
+           "AND (c.rank < :rank OR (c.rank = :rank AND c.id < :cardId))")
+    long countCardsBefore(@Param("listId") Long listId, @Param("rank") String rank, @Param("cardId") Long cardId);
+    
+    @Query("SELECT MAX(c.rank) FROM Card c WHERE c.list.id = :listId AND c.isDeleted = false AND c.id <> :cardId")
+    String findMaxRankByListIdExcludingCard(@Param("listId") Long listId, @Param("cardId") Long cardId);
+    
+    // Rank window around an insertion index, so a move only reads its two neighbours
+    @Query(value = "SELECT rank_key FROM cards WHERE list_id = :listId AND is_deleted = false " +
+                   "ORDER BY rank_key, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> findRanksInWindow(@Param("listId") Long listId,
+                                   @Param("offset") int offset,
+                                   @Param("limit") int limit);
+    
+    @Query(value = "SELECT rank_key FROM cards WHERE list_id = :listId AND is_deleted = false AND id <> :cardId " +
+                   "ORDER BY rank_key, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> findRanksInWindowExcludingCard(@Param("listId") Long listId,
+                                                @Param("cardId") Long cardId,
+                                                @Param("offset") int offset,
+                                                @Param("limit") int limit);
+    
+    @Query("SELECT DISTINCT c.list.id FROM Card c WHERE c.isDeleted = false " +
+           "AND (c.rank IS NULL OR LENGTH(c.rank) > :maxLength)")
+    List<Long> findListIdsNeedingRebalance(@Param("maxLength") int maxLength);
+    
+    // Ids and rank keys of a list in order, so several cards can be placed in it after one read
+    @Query("SELECT c.id, c.rank FROM Card c WHERE c.list.id = :listId AND c.isDeleted = false ORDER BY c.rank, c.id")
+    List<Object[]> findIdsAndRanksByListId(@Param("listId") Long listId);
+    
     @Query("SELECT c.list.id FROM Card c WHERE c.id = :cardId AND c.isDeleted = false")
     Optional<Long> findListIdByCardId(@Param("cardId") Long cardId);
 }
@@ -14,10 +14,41 @@ public interface ListRepository extends JpaRepository<ListEntity, Long> {
     Optional<ListEntity> findByIdAndIsDeletedFalse(Long id);
     List<ListEntity> findByBoardIdAndIsDeletedFalseOrderByPositionAsc(Long boardId);
     
+    List<ListEntity> findByBoardIdAndIsDeletedFalseOrderByRankAscIdAsc(Long boardId);
+    
+    List<ListEntity> findByBoardIdAndIsDeletedFalse(Long boardId);
+    
+    @Query("SELECT MAX(l.position) FROM ListEntity l WHERE l.board.id = :boardId AND l.isDeleted = false")
+    Integer findMaxPositionByBoardId(@Param("boardId") Long boardId);
+    
+    @Query("SELECT MAX(l.rank) FROM ListEntity l WHERE l.board.id = :boardId AND l.isDeleted = false")
+    String findMaxRankByBoardId(@Param("boardId") Long boardId);
+    
+    @Query("SELECT MAX(l.rank) FROM ListEntity l WHERE l.board.id = :boardId AND l.isDeleted = false AND l.id <> :listId")
+    String findMaxRankByBoardIdExcludingList(@Param("boardId") Long boardId, @Param("listId") Long listId);
+    
+    // Rank window around an insertion index, so a move only reads its two neighbours
+    @Query(value = "SELECT rank_key FROM lists WHERE board_id = :boardId AND is_deleted = false " +
+                   "ORDER BY rank_key, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> findRanksInWindow(@Param("boardId") Long boardId,
+                                   @Param("offset") int offset,
+                                   @Param("limit") int limit);
+    
+    @Query(value = "SELECT rank_key FROM lists WHERE board_id = :boardId AND is_deleted = false AND id <> :listId " +
+                   "ORDER BY rank_key, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> findRanksInWindowExcludingList(@Param("boardId") Long boardId,
+                                                @Param("listId") Long listId,
+                                                @Param("offset") int offset,
+                                                @Param("limit") int limit);
+    
+    @Query("SELECT DISTINCT l.board.id FROM ListEntity l WHERE l.isDeleted = false " +
+           "AND (l.rank IS NULL OR LENGTH(l.rank) > :maxLength)")
+    List<Long> findBoardIdsNeedingRebalance(@Param("maxLength") int maxLength);
+    
     @Query("SELECT DISTINCT l FROM ListEntity l " +
            "LEFT JOIN FETCH l.cards c " +
            "WHERE l.board.id = :boardId AND l.isDeleted = false " +
-           "ORDER BY l.position")
+           "ORDER BY l.rank, l.id")
     List<ListEntity> findByBoardIdWithCards(@Param("boardId") Long boardId);
     
     @Query("SELECT l FROM ListEntity l " +
@@ -30,5 +61,8 @@ public interface ListRepository extends JpaRepository<ListEntity, Long> {
            "LEFT JOIN FETCH l.board b " +
            "WHERE l.id = :id AND l.isDeleted = false")
     Optional<ListEntity> findByIdWithBoard(@Param("id") Long id);
+    
+    @Query("SELECT l.board.id FROM ListEntity l WHERE l.id = :id AND l.isDeleted = false")
+    Optional<Long> findBoardIdById(@Param("id") Long id);
 }
 
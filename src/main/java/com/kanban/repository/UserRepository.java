@@ -2,6 +2,9 @@ package com.kanban.repository;
 
 import com.kanban.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,5 +15,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailAndIsDeletedFalse(String email);
     Boolean existsByUsernameAndIsDeletedFalse(String username);
     Boolean existsByEmailAndIsDeletedFalse(String email);
+    
+    // Empty for deleted users, so their tokens stop working too
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id AND u.isDeleted = false")
+    Optional<Long> findActiveTokenVersion(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 }
 
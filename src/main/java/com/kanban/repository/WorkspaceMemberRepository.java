@@ -3,6 +3,8 @@ package com.kanban.repository;
 import com.kanban.model.WorkspaceMember;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,5 +19,15 @@ public interface WorkspaceMemberRepository extends JpaRepository<WorkspaceMember
     
     List<WorkspaceMember> findByUserIdAndIsDeletedFalse(Long userId);
     boolean existsByWorkspaceIdAndUserIdAndIsDeletedFalse(Long workspaceId, Long userId);
+    
+    // Memberships of live workspaces only, as (workspaceId, role) pairs for the permission cache
+    @Query("SELECT w.id AS workspaceId, m.role AS role FROM WorkspaceMember m JOIN m.workspace w " +
+           "WHERE m.user.id = :userId AND m.isDeleted = false AND w.isDeleted = false")
+    List<WorkspaceRoleRow> findWorkspaceRolesByUserId(@Param("userId") Long userId);
+    
+    interface WorkspaceRoleRow {
+        Long getWorkspaceId();
+        WorkspaceMember.WorkspaceRole getRole();
+    }
 }
 
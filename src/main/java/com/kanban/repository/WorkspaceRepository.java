@@ -2,6 +2,8 @@ package com.kanban.repository;
 
 import com.kanban.model.Workspace;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +13,8 @@ import java.util.Optional;
 public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
     Optional<Workspace> findByIdAndIsDeletedFalse(Long id);
     List<Workspace> findByOwnerIdAndIsDeletedFalse(Long ownerId);
+    
+    @Query("SELECT w.id FROM Workspace w WHERE w.owner.id = :ownerId AND w.isDeleted = false")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
 }
 
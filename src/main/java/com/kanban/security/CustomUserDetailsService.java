@@ -19,12 +19,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsernameAndIsDeletedFalse(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
-        String role = "ROLE_" + user.getRole().name();
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPasswordHash())
-                .authorities(role)
-                .build();
+        return UserPrincipal.from(user);
     }
 }
 
@@ -0,0 +1,57 @@
+package com.kanban.security;
+
+import com.kanban.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a bearer token into the user it authenticates. Shared by {@link JwtAuthenticationFilter}
+ * for HTTP requests and {@link StompAuthChannelInterceptor} for STOMP CONNECT frames.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * Principal for a bearer token, or null if it was revoked. Recently verified tokens are
+     * answered from memory; otherwise the token is parsed once and its version compared with
+     * the user's in a single scalar query. Throws a {@link io.jsonwebtoken.JwtException} if the
+     * signature is invalid or the token has expired.
+     */
+    public UserDetails resolve(String jwt) {
+        long now = System.currentTimeMillis();
+        UserPrincipal cached = verifiedTokenCache.get(jwt, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(jwt);
+        UserPrincipal principal = verified.getPrincipal();
+        if (principal == null) {
+            // Issued before tokens carried user claims; resolve the user the old way. These count as
+            // version 0, so any revocation since they were issued rejects them too
+            UserDetails user = userDetailsService.loadUserByUsername(verified.getUsername());
+            return user instanceof UserPrincipal legacy && isCurrent(legacy.getId(), verified) ? user : null;
+        }
+
+        if (!isCurrent(principal.getId(), verified)) {
+            return null;
+        }
+
+        verifiedTokenCache.put(jwt, verified, now);
+        return principal;
+    }
+
+    // Deleted users and tokens older than the user's last revocation are rejected
+    private boolean isCurrent(Long userId, JwtUtil.VerifiedToken verified) {
+        Long currentVersion = userRepository.findActiveTokenVersion(userId).orElse(null);
+        return currentVersion != null && currentVersion == verified.getTokenVersion();
+    }
+}
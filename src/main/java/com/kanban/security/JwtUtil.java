@@ -1,8 +1,11 @@
 package com.kanban.security;
 
+import com.kanban.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -13,54 +16,123 @@ import java.util.function.Function;
 
 @Component
 public class JwtUtil {
-    
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
-    
+
     @Value("${jwt.expiration}")
     private Long expiration;
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+    // Both are immutable and thread-safe, so they are built once instead of per token
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
-    
-    public String generateToken(String username) {
+
+    /**
+     * Issues a token that carries the user's id, role, display name and token version, so
+     * requests can be authenticated from the token alone. Bumping the user's token version
+     * revokes every token issued before.
+     */
+    public String generateToken(User user) {
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_NAME, user.getFullName())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion() != null ? user.getTokenVersion() : 0L)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-    
+
+    /**
+     * Verifies signature and expiry in a single parse. Throws a {@link io.jsonwebtoken.JwtException}
+     * if either check fails. Tokens issued before user claims were added come back with a null principal.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        Long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : null;
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return new VerifiedToken(claims.getSubject(), null, 0L, expiresAt);
+        }
+        UserPrincipal principal = new UserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                null,
+                User.UserRole.valueOf(role),
+                claims.get(CLAIM_NAME, String.class));
+        Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return new VerifiedToken(claims.getSubject(), principal, version != null ? version.longValue() : 0L, expiresAt);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
-    
+
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
-    
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
-    
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
-    
+
     public Boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
-    
+
     public Boolean validateToken(String token, String username) {
         final String tokenUsername = extractUsername(token);
         return (tokenUsername.equals(username) && !isTokenExpired(token));
     }
-}
 
+    public static final class VerifiedToken {
+        private final String username;
+        private final UserPrincipal principal;
+        private final long tokenVersion;
+        private final Long expiresAt;
+
+        VerifiedToken(String username, UserPrincipal principal, long tokenVersion, Long expiresAt) {
+            this.username = username;
+            this.principal = principal;
+            this.tokenVersion = tokenVersion;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public UserPrincipal getPrincipal() {
+            return principal;
+        }
+
+        public long getTokenVersion() {
+            return tokenVersion;
+        }
+
+        public boolean isExpired(long now) {
+            return expiresAt != null && expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.kanban.security;
+
+import com.kanban.messaging.BoardEventFanout;
+import com.kanban.messaging.PresenceStore;
+import com.kanban.service.PermissionService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authentication and authorisation for STOMP. The WebSocket handshake itself is open, so this is
+ * where access is decided: CONNECT must carry a bearer token in its {@code Authorization} header,
+ * and the resulting user is kept on the session. SUBSCRIBE and SEND are only allowed to board
+ * and workspace destinations the user can access, checked against the cached access model in
+ * {@link PermissionService}. Anything else is refused, and the client gets an ERROR frame.
+ *
+ * Access is checked when subscribing; a subscription outlives a later loss of access until the
+ * client reconnects.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Pattern WORKSPACE_BOARDS = Pattern.compile(
+            Pattern.quote(BoardEventFanout.WORKSPACE_TOPIC_PREFIX) + "(\\d+)" + Pattern.quote(BoardEventFanout.WORKSPACE_BOARDS_SUFFIX));
+    private static final Pattern BOARD_APP_DESTINATION = Pattern.compile("/app/board/(\\d+)/[^/]+");
+
+    private final JwtPrincipalResolver principalResolver;
+    private final PermissionService permissionService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor));
+            case SUBSCRIBE -> authorizeSubscribe(principal(accessor), accessor.getDestination());
+            case SEND -> authorizeSend(principal(accessor), accessor.getDestination());
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private Authentication authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            throw new BadCredentialsException("Missing bearer token");
+        }
+        UserDetails user;
+        try {
+            user = principalResolver.resolve(header.substring(BEARER_PREFIX.length()));
+        } catch (JwtException e) {
+            throw new BadCredentialsException("Invalid token", e);
+        }
+        if (user == null) {
+            throw new BadCredentialsException("Token has been revoked");
+        }
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    private void authorizeSubscribe(UserPrincipal principal, String destination) {
+        Long boardId = boardIdOf(destination);
+        if (boardId != null) {
+            requireAccess(permissionService.hasBoardAccess(boardId, principal), destination);
+            return;
+        }
+        Matcher workspace = destination != null ? WORKSPACE_BOARDS.matcher(destination) : null;
+        if (workspace != null && workspace.matches()) {
+            requireAccess(permissionService.hasWorkspaceAccess(Long.valueOf(workspace.group(1)), principal), destination);
+            return;
+        }
+        throw new AccessDeniedException("Cannot subscribe to " + destination);
+    }
+
+    private void authorizeSend(UserPrincipal principal, String destination) {
+        Matcher board = destination != null ? BOARD_APP_DESTINATION.matcher(destination) : null;
+        if (board == null || !board.matches()) {
+            throw new AccessDeniedException("Cannot send to " + destination);
+        }
+        requireAccess(permissionService.hasBoardAccess(Long.valueOf(board.group(1)), principal), destination);
+    }
+
+    private static void requireAccess(boolean allowed, String destination) {
+        if (!allowed) {
+            throw new AccessDeniedException("Access denied to " + destination);
+        }
+    }
+
+    private static UserPrincipal principal(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        throw new AccessDeniedException("Not authenticated");
+    }
+
+    // Board of a board topic in any encoding, or of its presence topic
+    private static Long boardIdOf(String destination) {
+        if (destination != null && destination.endsWith(PresenceStore.PRESENCE_SUFFIX)) {
+            destination = destination.substring(0, destination.length() - PresenceStore.PRESENCE_SUFFIX.length());
+        }
+        return BoardEventFanout.boardIdOf(destination);
+    }
+}
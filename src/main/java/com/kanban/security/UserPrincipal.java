@@ -0,0 +1,86 @@
+package com.kanban.security;
+
+import com.kanban.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated principal. Carries what controllers and permission checks need about the
+ * current user, so they can read it from the security context instead of querying again.
+ */
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final User.UserRole role;
+    private final String fullName;
+
+    public UserPrincipal(Long id, String username, String password, User.UserRole role, String fullName) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.fullName = fullName;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPasswordHash(), user.getRole(), user.getFullName());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User.UserRole getRole() {
+        return role;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    // Name shown in real-time update messages
+    public String getDisplayName() {
+        return fullName != null ? fullName : username;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
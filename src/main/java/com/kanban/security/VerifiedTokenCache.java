@@ -0,0 +1,87 @@
+package com.kanban.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of tokens whose user and token version were checked against the database
+ * recently. A hit lets {@link JwtAuthenticationFilter} authenticate without parsing the token
+ * or querying. Entries expire after a short TTL, which bounds how long a token revoked on
+ * another instance keeps working here. Revocations on this instance take effect at commit.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Access-ordered, so the least recently used token is evicted first
+    private final LinkedHashMap<String, Entry> entries;
+
+    public VerifiedTokenCache(
+            @Value("${kanban.security.token-cache.max-entries:10000}") int maxEntries,
+            @Value("${kanban.security.token-cache.ttl-ms:60000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > VerifiedTokenCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized UserPrincipal get(String token, long now) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.checkedAt + ttlMillis <= now || entry.token.isExpired(now)) {
+            entries.remove(token);
+            return null;
+        }
+        return entry.token.getPrincipal();
+    }
+
+    public synchronized void put(String token, JwtUtil.VerifiedToken verified, long now) {
+        if (verified.getPrincipal() != null) {
+            entries.put(token, new Entry(verified, now));
+        }
+    }
+
+    /** Forgets the user's tokens once the transaction that bumped their token version commits. */
+    public void revokeUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(userId);
+                }
+            });
+        } else {
+            evictUser(userId);
+        }
+    }
+
+    private synchronized void evictUser(Long userId) {
+        entries.values().removeIf(entry -> userId.equals(entry.token.getPrincipal().getId()));
+    }
+
+    private static final class Entry {
+        private final JwtUtil.VerifiedToken token;
+        private final long checkedAt;
+
+        private Entry(JwtUtil.VerifiedToken token, long checkedAt) {
+            this.token = token;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.kanban.service;
 
+import com.kanban.config.ReplicaRoutingDataSource;
 import com.kanban.dto.*;
+import com.kanban.messaging.BoardEventBatcher;
+import com.kanban.messaging.SlowConsumerGuard;
 import com.kanban.model.Board;
 import com.kanban.model.User;
 import com.kanban.model.Workspace;
@@ -10,7 +13,9 @@ import com.kanban.repository.CardRepository;
 import com.kanban.repository.UserRepository;
 import com.kanban.repository.WorkspaceRepository;
 import com.kanban.repository.WorkspaceMemberRepository;
+import com.kanban.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +33,13 @@ public class AdminService {
     private final CardRepository cardRepository;
     private final PermissionService permissionService;
     private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final BoardSnapshotCache boardSnapshotCache;
+    private final BoardVersionService boardVersionService;
+    private final PermissionCache permissionCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final BoardEventBatcher boardEventBatcher;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
     
     @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
@@ -47,6 +59,10 @@ public class AdminService {
         
         user.setRole(User.UserRole.valueOf(request.getRole()));
         user = userRepository.save(user);
+        // Issued tokens carry the old role, so revoke them
+        userRepository.incrementTokenVersion(userId);
+        verifiedTokenCache.revokeUser(userId);
+        permissionCache.invalidateUser(userId);
         
         return userToDTO(user);
     }
@@ -60,6 +76,9 @@ public class AdminService {
         
         user.setIsDeleted(!user.getIsDeleted());
         user = userRepository.save(user);
+        userRepository.incrementTokenVersion(userId);
+        verifiedTokenCache.revokeUser(userId);
+        permissionCache.invalidateUser(userId);
         
         return userToDTO(user);
     }
@@ -99,11 +118,39 @@ public class AdminService {
         List<Board> boards = boardRepository.findByWorkspaceIdAndIsDeletedFalse(workspaceId);
         for (Board board : boards) {
             board.setIsDeleted(true);
+            boardVersionService.recordChange(board.getId());
             boardRepository.save(board);
         }
         
         workspace.setIsDeleted(true);
         workspaceRepository.save(workspace);
+        // Every member's and the owner's access changes, so drop all cached access models
+        permissionCache.invalidateAll();
+    }
+    
+    public BoardCacheStatsDTO getBoardCacheStats() {
+        permissionService.verifyAdmin();
+        
+        return boardSnapshotCache.getStats();
+    }
+    
+    public BoardEventBatchStatsDTO getBoardEventBatchStats() {
+        permissionService.verifyAdmin();
+        
+        return boardEventBatcher.getStats();
+    }
+    
+    public WebSocketSessionStatsDTO getWebSocketSessionStats() {
+        permissionService.verifyAdmin();
+        
+        return slowConsumerGuard.getStats();
+    }
+    
+    public ReplicaRoutingStatsDTO getReplicaRoutingStats() {
+        permissionService.verifyAdmin();
+        
+        ReplicaRoutingDataSource routing = replicaRoutingDataSource.getIfAvailable();
+        return routing != null ? routing.getStats() : ReplicaRoutingStatsDTO.builder().enabled(false).build();
     }
     
     @Transactional(readOnly = true)
@@ -221,6 +268,7 @@ public class AdminService {
                 .build();
         
         boardMember = boardMemberRepository.save(boardMember);
+        permissionCache.invalidateUser(userId);
         return boardMemberToDTO(boardMember);
     }
     
@@ -234,6 +282,7 @@ public class AdminService {
         
         boardMember.setIsDeleted(true);
         boardMemberRepository.save(boardMember);
+        permissionCache.invalidateUser(userId);
     }
     
     @Transactional(readOnly = true)
@@ -45,7 +45,7 @@ public class AuthService {
         
         user = userRepository.save(user);
         
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user);
         
         return new AuthResponse(
                 token,
@@ -71,7 +71,7 @@ public class AuthService {
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
-        String token = jwtUtil.generateToken(user.getUsername());
+        String token = jwtUtil.generateToken(user);
         
         return new AuthResponse(
                 token,
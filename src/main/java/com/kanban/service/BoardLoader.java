@@ -0,0 +1,318 @@
+package com.kanban.service;
+
+import com.kanban.dto.BoardDTO;
+import com.kanban.dto.BoardDeltaDTO;
+import com.kanban.dto.CardDTO;
+import com.kanban.dto.CardWindowDTO;
+import com.kanban.dto.ListDTO;
+import com.kanban.repository.BoardReadRepository;
+import com.kanban.repository.BoardReadRepository.AssigneeRow;
+import com.kanban.repository.BoardReadRepository.BoardRow;
+import com.kanban.repository.BoardReadRepository.CardRow;
+import com.kanban.repository.BoardReadRepository.ListRow;
+import com.kanban.util.UserNameUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a full {@link BoardDTO} from flat projections: one statement each for the board,
+ * its lists, its cards and the card assignees, however large the board is.
+ * No entities are loaded, so nothing is lazily initialised per card.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardLoader {
+
+    private final BoardReadRepository boardReadRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<BoardDTO> load(Long boardId) {
+        Optional<BoardRow> boardRow = boardReadRepository.findBoardRow(boardId);
+        if (boardRow.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, ListDTO> lists = loadLists(boardId);
+        Map<Long, List<AssigneeRow>> assignees = groupByCard(boardReadRepository.findAssigneeRows(boardId));
+        addCards(lists, boardReadRepository.findCardRows(boardId), assignees);
+        for (ListDTO list : lists.values()) {
+            list.setCardCount(list.getCards().size());
+        }
+        return Optional.of(toBoardDTO(boardRow.get(), lists.values()));
+    }
+
+    /**
+     * Like {@link #load}, but each list holds only its first {@code window} cards, with its card
+     * count and a cursor for the next window. Boards of at most {@code fullLoadMaxCards} cards,
+     * or whose lists all fit in one window, are loaded whole. So are boards with cards that have
+     * no rank yet: cursors page by rank, so those could not be reached. Cards beyond the windows
+     * are only counted, never read into memory.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BoardDTO> loadWindow(Long boardId, int window, int fullLoadMaxCards) {
+        List<Long> cardIds = new ArrayList<>();
+        Map<Long, Integer> cardCounts = new HashMap<>();
+        boolean unranked = false;
+        for (Object[] row : boardReadRepository.findCardWindowIds(boardId, window)) {
+            cardIds.add(((Number) row[0]).longValue());
+            cardCounts.put(((Number) row[1]).longValue(), ((Number) row[2]).intValue());
+            unranked |= ((Number) row[3]).intValue() < ((Number) row[2]).intValue();
+        }
+        int totalCards = cardCounts.values().stream().mapToInt(Integer::intValue).sum();
+        if (unranked || totalCards <= fullLoadMaxCards || totalCards == cardIds.size()) {
+            return load(boardId);
+        }
+
+        Optional<BoardRow> boardRow = boardReadRepository.findBoardRow(boardId);
+        if (boardRow.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, ListDTO> lists = loadLists(boardId);
+        Map<Long, List<AssigneeRow>> assignees = groupByCard(boardReadRepository.findAssigneeRowsByCardIds(cardIds));
+        addCards(lists, boardReadRepository.findCardRowsByIds(cardIds), assignees);
+        for (ListDTO list : lists.values()) {
+            List<CardDTO> cards = list.getCards();
+            list.setCardCount(cardCounts.getOrDefault(list.getId(), 0));
+            // Empty if its cards were deleted since they were counted; then there is nothing to continue from
+            if (!cards.isEmpty() && cards.size() < list.getCardCount()) {
+                CardDTO last = cards.get(cards.size() - 1);
+                list.setNextCardCursor(new CardPageCursor(cards.size() - 1, last.getId(), last.getRank()).encode());
+            }
+        }
+        return Optional.of(toBoardDTO(boardRow.get(), lists.values()));
+    }
+
+    /** The window of a list's cards after the one a {@link #loadWindow} or earlier call returned. */
+    @Transactional(readOnly = true)
+    public CardWindowDTO loadCardWindow(Long boardId, Long listId, String cursor, int size) {
+        CardPageCursor after = CardPageCursor.decode(cursor);
+        List<CardRow> rows = boardReadRepository.findCardRowsAfter(
+                boardId, listId, after.getRank(), after.getId(), PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        List<Long> cardIds = rows.stream().map(CardRow::getId).collect(Collectors.toList());
+        Map<Long, List<AssigneeRow>> assignees = cardIds.isEmpty()
+                ? Map.of() : groupByCard(boardReadRepository.findAssigneeRowsByCardIds(cardIds));
+        List<CardDTO> cards = new ArrayList<>(rows.size());
+        for (CardRow row : rows) {
+            CardDTO card = toCardDTO(row, assignees.getOrDefault(row.getId(), List.of()));
+            card.setPosition(after.getIndex() + 1 + cards.size());
+            cards.add(card);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            CardDTO last = cards.get(cards.size() - 1);
+            nextCursor = new CardPageCursor(last.getPosition(), last.getId(), last.getRank()).encode();
+        }
+        return CardWindowDTO.builder()
+                .listId(listId)
+                .cards(cards)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * The windowed form of a full snapshot, for when the whole board is already cached. The
+     * snapshot is shared, so lists that need trimming are copied rather than changed.
+     */
+    static BoardDTO window(BoardDTO board, int window) {
+        List<ListDTO> lists = new ArrayList<>(board.getLists().size());
+        for (ListDTO list : board.getLists()) {
+            List<CardDTO> cards = list.getCards();
+            CardDTO last = cards.size() > window ? cards.get(window - 1) : null;
+            if (last == null || last.getRank() == null) {
+                lists.add(list);
+                continue;
+            }
+            lists.add(ListDTO.builder()
+                    .id(list.getId())
+                    .name(list.getName())
+                    .boardId(list.getBoardId())
+                    .position(list.getPosition())
+                    .rank(list.getRank())
+                    .version(list.getVersion())
+                    .createdAt(list.getCreatedAt())
+                    .updatedAt(list.getUpdatedAt())
+                    .cards(new ArrayList<>(cards.subList(0, window)))
+                    .cardCount(cards.size())
+                    .nextCardCursor(new CardPageCursor(window - 1, last.getId(), last.getRank()).encode())
+                    .build());
+        }
+        return BoardDTO.builder()
+                .id(board.getId())
+                .name(board.getName())
+                .description(board.getDescription())
+                .workspaceId(board.getWorkspaceId())
+                .createdBy(board.getCreatedBy())
+                .version(board.getVersion())
+                .createdAt(board.getCreatedAt())
+                .updatedAt(board.getUpdatedAt())
+                .lists(lists)
+                .build();
+    }
+
+    /**
+     * Lists and cards written after {@code since}, plus ids of those soft-deleted since then.
+     * If more than {@code maxChanges} lists or cards changed, only the versions are returned
+     * with fullReload set, since a full board read is then cheaper than the delta.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BoardDeltaDTO> loadChanges(Long boardId, long since, int maxChanges) {
+        Optional<BoardRow> boardRow = boardReadRepository.findBoardRow(boardId);
+        if (boardRow.isEmpty()) {
+            return Optional.empty();
+        }
+        // Read the version first: rows committed after this point are sent again next time, never skipped
+        BoardRow board = boardRow.get();
+        BoardDeltaDTO delta = BoardDeltaDTO.builder()
+                .boardId(boardId)
+                .fromVersion(since)
+                .toVersion(board.getChangeVersion())
+                .name(board.getName())
+                .description(board.getDescription())
+                .fullReload(false)
+                .build();
+        if (since >= board.getChangeVersion()) {
+            // Up to date, or a version this board never had (e.g. restored from backup)
+            delta.setFullReload(since > board.getChangeVersion());
+            delta.setLists(List.of());
+            delta.setCards(List.of());
+            delta.setDeletedListIds(List.of());
+            delta.setDeletedCardIds(List.of());
+            return Optional.of(delta);
+        }
+
+        PageRequest limit = PageRequest.of(0, maxChanges + 1);
+        List<ListRow> listRows = boardReadRepository.findListRowsChangedSince(boardId, since, limit);
+        List<CardRow> cardRows = boardReadRepository.findCardRowsChangedSince(boardId, since, limit);
+        if (listRows.size() + cardRows.size() > maxChanges) {
+            delta.setFullReload(true);
+            return Optional.of(delta);
+        }
+
+        Map<Long, List<AssigneeRow>> assignees = groupByCard(
+                boardReadRepository.findAssigneeRowsChangedSince(boardId, since));
+        List<ListDTO> lists = new ArrayList<>();
+        for (ListRow row : listRows) {
+            lists.add(toListDTO(row, boardId));
+        }
+        List<CardDTO> cards = new ArrayList<>();
+        for (CardRow row : cardRows) {
+            cards.add(toCardDTO(row, assignees.getOrDefault(row.getId(), List.of())));
+        }
+
+        delta.setLists(lists);
+        delta.setCards(cards);
+        delta.setDeletedListIds(boardReadRepository.findListIdsDeletedSince(boardId, since));
+        delta.setDeletedCardIds(boardReadRepository.findCardIdsDeletedSince(boardId, since));
+        return Optional.of(delta);
+    }
+
+    private Map<Long, ListDTO> loadLists(Long boardId) {
+        Map<Long, ListDTO> lists = new LinkedHashMap<>();
+        for (ListRow row : boardReadRepository.findListRows(boardId)) {
+            ListDTO list = toListDTO(row, boardId);
+            // Lists arrive in rank order; their index is the position the frontend sorts by
+            list.setPosition(lists.size());
+            lists.put(row.getId(), list);
+        }
+        return lists;
+    }
+
+    private void addCards(Map<Long, ListDTO> lists, List<CardRow> rows, Map<Long, List<AssigneeRow>> assignees) {
+        for (CardRow row : rows) {
+            ListDTO list = lists.get(row.getListId());
+            if (list == null) {
+                continue;
+            }
+            CardDTO card = toCardDTO(row, assignees.getOrDefault(row.getId(), List.of()));
+            // Cards arrive in rank order within each list
+            card.setPosition(list.getCards().size());
+            list.getCards().add(card);
+        }
+    }
+
+    private BoardDTO toBoardDTO(BoardRow board, Collection<ListDTO> lists) {
+        return BoardDTO.builder()
+                .id(board.getId())
+                .name(board.getName())
+                .description(board.getDescription())
+                .workspaceId(board.getWorkspaceId())
+                .createdBy(board.getCreatedById())
+                .version(board.getChangeVersion())
+                .createdAt(board.getCreatedAt())
+                .updatedAt(board.getUpdatedAt())
+                .lists(new ArrayList<>(lists))
+                .build();
+    }
+
+    private Map<Long, List<AssigneeRow>> groupByCard(List<AssigneeRow> rows) {
+        Map<Long, List<AssigneeRow>> assignees = new HashMap<>();
+        for (AssigneeRow row : rows) {
+            assignees.computeIfAbsent(row.getCardId(), id -> new ArrayList<>()).add(row);
+        }
+        return assignees;
+    }
+
+    private ListDTO toListDTO(ListRow row, Long boardId) {
+        return ListDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .boardId(boardId)
+                .position(row.getPosition())
+                .rank(row.getRank())
+                .version(row.getChangeVersion())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .cards(new ArrayList<>())
+                .build();
+    }
+
+    private CardDTO toCardDTO(CardRow row, List<AssigneeRow> assignees) {
+        List<Long> assignedUserIds = new ArrayList<>();
+        List<String> assignedUserNames = new ArrayList<>();
+        for (AssigneeRow assignee : assignees) {
+            assignedUserIds.add(assignee.getUserId());
+            assignedUserNames.add(UserNameUtil.format(assignee.getFullName(), assignee.getUsername()));
+        }
+
+        return CardDTO.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .listId(row.getListId())
+                .position(row.getPosition())
+                .rank(row.getRank())
+                .version(row.getChangeVersion())
+                .createdBy(row.getCreatedById())
+                .creatorName(row.getCreatedById() != null
+                        ? UserNameUtil.format(row.getCreatedByFullName(), row.getCreatedByUsername()) : null)
+                .assignedTo(assignedUserIds.isEmpty() ? null : assignedUserIds.get(0)) // Backward compatibility
+                .assigneeName(assignedUserNames.isEmpty() ? null : assignedUserNames.get(0)) // Backward compatibility
+                .assignedUserIds(assignedUserIds)
+                .assignedUserNames(assignedUserNames)
+                .lastModifiedBy(row.getLastModifiedById())
+                .lastModifiedByName(row.getLastModifiedById() != null
+                        ? UserNameUtil.format(row.getLastModifiedByFullName(), row.getLastModifiedByUsername()) : null)
+                .dueDate(row.getDueDate())
+                .priority(row.getPriority() != null ? row.getPriority().name() : "MEDIUM")
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+}
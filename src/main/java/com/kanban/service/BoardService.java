@@ -1,10 +1,12 @@
 package com.kanban.service;
 
 import com.kanban.dto.BoardDTO;
-import com.kanban.dto.CardDTO;
+import com.kanban.dto.BoardDeltaDTO;
+import com.kanban.dto.BoardUpdateMessage;
+import com.kanban.dto.CardWindowDTO;
 import com.kanban.dto.CreateBoardRequest;
-import com.kanban.dto.ListDTO;
 import com.kanban.exception.NotFoundException;
+import com.kanban.messaging.WorkspaceBoardsChangedEvent;
 import com.kanban.model.Board;
 import com.kanban.model.ListEntity;
 import com.kanban.model.User;
@@ -13,11 +15,16 @@ import com.kanban.repository.BoardRepository;
 import com.kanban.repository.ListRepository;
 import com.kanban.repository.UserRepository;
 import com.kanban.repository.WorkspaceRepository;
+import com.kanban.security.UserPrincipal;
+import com.kanban.util.RankUtil;
 import com.kanban.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,6 +38,25 @@ public class BoardService {
     private final UserRepository userRepository;
     private final ListRepository listRepository;
     private final PermissionService permissionService;
+    private final BoardSnapshotCache boardSnapshotCache;
+    private final BoardLoader boardLoader;
+    private final BoardVersionService boardVersionService;
+    private final PermissionCache permissionCache;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Above this many changed lists + cards a delta is no cheaper than a full reload
+    @Value("${kanban.delta.max-changes:2000}")
+    private int maxDeltaChanges;
+    
+    // Windowed board reads: boards up to this many cards are returned whole anyway
+    @Value("${kanban.board.window.full-load-max-cards:1000}")
+    private int fullLoadMaxCards;
+    
+    @Value("${kanban.board.window.default-size:50}")
+    private int defaultCardWindow;
+    
+    @Value("${kanban.board.window.max-size:500}")
+    private int maxCardWindow;
     
     @Transactional
     public BoardDTO createBoard(CreateBoardRequest request) {
@@ -53,43 +79,85 @@ public class BoardService {
         // Create default lists for the new board
         createDefaultLists(board);
         
-        // Fetch the saved board with workspace to build DTO properly
-        Board savedBoard = boardRepository.findByIdWithWorkspace(board.getId())
-                .orElse(board);
-        return toDTOWithLists(savedBoard);
+        // Same read path as getBoardById; the query flushes the default lists first
+        BoardDTO dto = boardLoader.load(board.getId())
+                .orElseThrow(() -> new NotFoundException("Board not found"));
+        publishBoardChange("BOARD_CREATED", dto.getId(), workspace.getId(), dto, UserPrincipal.from(user));
+        return dto;
     }
     
     @Transactional(readOnly = true)
     public BoardDTO getBoardById(Long id) {
         permissionService.verifyBoardAccess(id); // Verify user has access to board
         
-        // Fetch board with workspace to avoid lazy loading issues
-        Board board = boardRepository.findByIdWithWorkspace(id)
+        // Access is checked per user above; the snapshot itself is the same for everyone.
+        // One scalar query on the primary decides whether it is still current, whichever instance
+        // wrote last. The load below may come from a replica; it is cached under the version it saw
+        BoardDTO cached = boardSnapshotCache.get(id, boardVersionService.committedVersion(id));
+        if (cached != null) {
+            return cached;
+        }
+        
+        // Flat projections: a fixed number of statements however many cards the board has
+        BoardDTO dto = boardLoader.load(id)
                 .orElseThrow(() -> new NotFoundException("Board not found"));
         
-        // Fetch lists with cards in a single query to avoid N+1 issues
-        List<ListEntity> lists = listRepository.findByBoardIdWithCards(id);
+        boardSnapshotCache.put(id, dto);
+        return dto;
+    }
+    
+    // Skeleton read for large boards: every list, but only the first cards of each, with counts and
+    // cursors for the rest. Only complete boards are cached, and a cached one is windowed in memory
+    @Transactional(readOnly = true)
+    public BoardDTO getBoardWindow(Long id, int cardWindow) {
+        permissionService.verifyBoardAccess(id);
         
-        // Build DTO with workspace ID
-        BoardDTO dto = BoardDTO.builder()
-                .id(board.getId())
-                .name(board.getName())
-                .description(board.getDescription())
-                .workspaceId(board.getWorkspace() != null ? board.getWorkspace().getId() : null)
-                .createdBy(board.getCreatedBy() != null ? board.getCreatedBy().getId() : null)
-                .createdAt(board.getCreatedAt())
-                .updatedAt(board.getUpdatedAt())
-                .build();
+        int window = Math.min(Math.max(cardWindow, 1), maxCardWindow);
+        BoardDTO cached = boardSnapshotCache.get(id, boardVersionService.committedVersion(id));
+        if (cached != null) {
+            int cards = cached.getLists().stream().mapToInt(list -> list.getCards().size()).sum();
+            return cards <= fullLoadMaxCards ? cached : BoardLoader.window(cached, window);
+        }
         
-        // Convert lists to DTOs
-        List<ListDTO> listDTOs = lists.stream()
-                .map(this::listToDTO)
-                .collect(Collectors.toList());
-        dto.setLists(listDTOs);
+        BoardDTO dto = boardLoader.loadWindow(id, window, fullLoadMaxCards)
+                .orElseThrow(() -> new NotFoundException("Board not found"));
         
+        if (dto.getLists().stream().allMatch(list -> list.getNextCardCursor() == null)) {
+            boardSnapshotCache.put(id, dto);
+        }
         return dto;
     }
     
+    @Transactional(readOnly = true)
+    public CardWindowDTO getCardWindow(Long id, Long listId, String cursor, Integer size) {
+        permissionService.verifyBoardAccess(id);
+        
+        int window = Math.min(Math.max(size != null ? size : defaultCardWindow, 1), maxCardWindow);
+        return boardLoader.loadCardWindow(id, listId, cursor, window);
+    }
+    
+    // Access check plus one scalar query, so conditional GETs can be answered before loading the board.
+    // A windowed read is a different body from the full board, so the window is part of the tag.
+    @Transactional(readOnly = true)
+    public String getBoardETag(Long id, Integer cardWindow) {
+        permissionService.verifyBoardAccess(id);
+        
+        long version = boardVersionService.committedVersion(id);
+        if (cardWindow == null) {
+            return BoardVersionService.etag(id, version);
+        }
+        int window = Math.min(Math.max(cardWindow, 1), maxCardWindow);
+        return BoardVersionService.etag(id, version, "w" + window);
+    }
+    
+    @Transactional(readOnly = true)
+    public BoardDeltaDTO getBoardChanges(Long id, long since) {
+        permissionService.verifyBoardAccess(id);
+        
+        return boardLoader.loadChanges(id, Math.max(since, 0), maxDeltaChanges)
+                .orElseThrow(() -> new NotFoundException("Board not found"));
+    }
+    
     @Transactional(readOnly = true)
     public List<BoardDTO> getBoardsByWorkspaceId(Long workspaceId) {
         permissionService.verifyWorkspaceAccess(workspaceId); // Verify user has access to workspace
@@ -110,11 +178,14 @@ public class BoardService {
         board.setName(request.getName());
         board.setDescription(request.getDescription());
         
+        boardVersionService.recordChange(id);
         board = boardRepository.save(board);
         // Fetch the saved board with workspace to build DTO properly
         Board savedBoard = boardRepository.findByIdWithWorkspace(board.getId())
                 .orElse(board);
-        return toDTO(savedBoard);
+        BoardDTO dto = toDTO(savedBoard);
+        publishBoardChange("BOARD_UPDATED", id, dto.getWorkspaceId(), dto, permissionService.getCurrentPrincipal());
+        return dto;
     }
     
     @Transactional
@@ -125,7 +196,17 @@ public class BoardService {
                 .orElseThrow(() -> new RuntimeException("Board not found"));
         
         board.setIsDeleted(true);
+        boardVersionService.recordChange(id);
         boardRepository.save(board);
+        permissionCache.invalidateBoard(id);
+        publishBoardChange("BOARD_DELETED", id, board.getWorkspace().getId(), null, permissionService.getCurrentPrincipal());
+    }
+    
+    // Sent to the board list topic of the workspace once the transaction commits
+    private void publishBoardChange(String type, Long boardId, Long workspaceId, BoardDTO board, UserPrincipal actor) {
+        BoardUpdateMessage message = new BoardUpdateMessage(type, null, null, board, boardId,
+                null, null, null, actor.getId(), actor.getDisplayName());
+        eventPublisher.publishEvent(new WorkspaceBoardsChangedEvent(workspaceId, message));
     }
     
     private BoardDTO toDTO(Board board) {
@@ -149,150 +230,27 @@ public class BoardService {
                 .description(board.getDescription())
                 .workspaceId(workspaceId)
                 .createdBy(createdById)
+                .version(board.getChangeVersion())
                 .createdAt(board.getCreatedAt())
                 .updatedAt(board.getUpdatedAt())
                 .build();
     }
     
-    private BoardDTO toDTOWithLists(Board board) {
-        BoardDTO dto = toDTO(board);
-        
-        // Fetch lists separately to avoid lazy loading issues
-        List<ListDTO> lists = List.of();
-        try {
-            List<ListEntity> listEntities = listRepository.findByBoardIdAndIsDeletedFalseOrderByPositionAsc(board.getId());
-            lists = listEntities.stream()
-                    .map(this::listToDTO)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            // If fetching lists fails, try to access from board (fallback)
-            try {
-                if (board.getLists() != null) {
-                    lists = board.getLists().stream()
-                            .filter(list -> !list.getIsDeleted())
-                            .map(this::listToDTO)
-                            .collect(Collectors.toList());
-                }
-            } catch (Exception ex) {
-                // Both methods failed, lists will remain empty
-            }
-        }
-        
-        dto.setLists(lists);
-        return dto;
-    }
-    
-    private ListDTO listToDTO(ListEntity list) {
-        Long boardId = null;
-        try {
-            boardId = list.getBoard() != null ? list.getBoard().getId() : null;
-        } catch (Exception e) {
-            // Lazy loading failed, boardId will remain null
-        }
-        
-        // Fetch cards separately to avoid lazy loading issues
-        List<CardDTO> cards = List.of();
-        try {
-            // Try to access cards from list first
-            if (list.getCards() != null) {
-                cards = list.getCards().stream()
-                        .filter(card -> !card.getIsDeleted())
-                        .map(this::cardToDTO)
-                        .collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            // Lazy loading failed - cards will be empty
-            // Cards should be loaded via CardService when needed
-        }
-        
-        // If cards list is empty and we have a listId, try to fetch via repository
-        // Note: This is a fallback, but typically cards should be loaded elsewhere
-        
-        return ListDTO.builder()
-                .id(list.getId())
-                .name(list.getName())
-                .boardId(boardId)
-                .position(list.getPosition())
-                .createdAt(list.getCreatedAt())
-                .updatedAt(list.getUpdatedAt())
-                .cards(cards)
-                .build();
-    }
-    
-    private String formatUserName(com.kanban.model.User user) {
-        if (user.getFullName() != null && !user.getFullName().trim().isEmpty()) {
-            return user.getFullName();
-        }
-        // Format username for better display
-        String username = user.getUsername();
-        if (username.contains("@")) {
-            // If username is an email, extract the local part
-            username = username.substring(0, username.indexOf("@"));
-        }
-        // Capitalize first letter
-        if (!username.isEmpty()) {
-            username = username.substring(0, 1).toUpperCase() + username.substring(1);
-        }
-        return username;
-    }
-    
-    private com.kanban.dto.CardDTO cardToDTO(com.kanban.model.Card card) {
-        // Get assigned user IDs and names (lazy-load the collection within transaction)
-        List<Long> assignedUserIds = new java.util.ArrayList<>();
-        List<String> assignedUserNames = new java.util.ArrayList<>();
-        
-        try {
-            // Access the lazy-loaded collection - this will trigger loading within the transaction
-            List<com.kanban.model.User> assignedUsers = card.getAssignedUsers();
-            if (assignedUsers != null && !assignedUsers.isEmpty()) {
-                assignedUserIds = assignedUsers.stream()
-                        .map(com.kanban.model.User::getId)
-                        .collect(java.util.stream.Collectors.toList());
-                assignedUserNames = assignedUsers.stream()
-                        .map(this::formatUserName)
-                        .collect(java.util.stream.Collectors.toList());
-            }
-        } catch (Exception e) {
-            // If lazy loading fails, use empty lists
-            // This shouldn't happen in a @Transactional method, but handle gracefully
-        }
-        
-        // Backward compatibility: assignedTo and assigneeName (use first assignee if exists)
-        Long assignedTo = assignedUserIds.isEmpty() ? null : assignedUserIds.get(0);
-        String assigneeName = assignedUserNames.isEmpty() ? null : assignedUserNames.get(0);
-        
-        return com.kanban.dto.CardDTO.builder()
-                .id(card.getId())
-                .title(card.getTitle())
-                .description(card.getDescription())
-                .listId(card.getList().getId())
-                .position(card.getPosition())
-                .createdBy(card.getCreatedBy().getId())
-                .creatorName(formatUserName(card.getCreatedBy()))
-                .assignedTo(assignedTo) // Backward compatibility
-                .assigneeName(assigneeName) // Backward compatibility
-                .assignedUserIds(assignedUserIds)
-                .assignedUserNames(assignedUserNames)
-                .lastModifiedBy(card.getLastModifiedBy() != null ? card.getLastModifiedBy().getId() : null)
-                .lastModifiedByName(card.getLastModifiedBy() != null ? formatUserName(card.getLastModifiedBy()) : null)
-                .dueDate(card.getDueDate())
-                .priority(card.getPriority() != null ? card.getPriority().name() : "MEDIUM")
-                .createdAt(card.getCreatedAt())
-                .updatedAt(card.getUpdatedAt())
-                .build();
-    }
-    
     private void createDefaultLists(Board board) {
         List<String> defaultListNames = Arrays.asList("To Do", "In Progress", "Done");
+        List<String> ranks = RankUtil.spread(defaultListNames.size());
+        List<ListEntity> lists = new ArrayList<>();
         for (int i = 0; i < defaultListNames.size(); i++) {
-            ListEntity list = ListEntity.builder()
+            lists.add(ListEntity.builder()
                     .name(defaultListNames.get(i))
                     .board(board)
                     .position(i)
+                    .rank(ranks.get(i))
                     .isDeleted(false)
-                    .build();
-            listRepository.save(list);
+                    .build());
         }
+        // One insert batch at flush
+        listRepository.saveAll(lists);
     }
 }
 
@@ -0,0 +1,174 @@
+package com.kanban.service;
+
+import com.kanban.dto.BoardCacheStatsDTO;
+import com.kanban.dto.BoardDTO;
+import com.kanban.dto.CardDTO;
+import com.kanban.dto.ListDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of fully materialised board snapshots, as returned by
+ * {@link BoardService#getBoardById}. Entries are bounded both by count and by an
+ * estimate of their size, so a few very large boards cannot crowd out memory.
+ *
+ * Snapshots are keyed by the board's {@code change_version} they were built from, and a
+ * lookup names the version the caller just read from the database. Any committed write
+ * on any instance bumps that version, so a snapshot that is out of date, or that was
+ * built by a reader racing with a writer, is simply never matched again. Invalidation
+ * after commit only frees the memory early. Cached snapshots are shared between callers
+ * and must not be modified.
+ */
+@Component
+public class BoardSnapshotCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Snapshot> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BoardSnapshotCache(
+            @Value("${kanban.cache.board.max-entries:1000}") int maxEntries,
+            @Value("${kanban.cache.board.max-bytes:67108864}") long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    // Snapshot of the board at exactly this version, as read from boards.change_version
+    public synchronized BoardDTO get(Long boardId, long version) {
+        Snapshot snapshot = entries.get(boardId);
+        if (snapshot == null || snapshot.version != version) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return snapshot.board;
+    }
+
+    /**
+     * Stores a snapshot under the version it was loaded at, {@link BoardDTO#getVersion()}.
+     * Dropped silently if a newer snapshot is already cached, or if the snapshot alone
+     * exceeds the size budget.
+     */
+    public synchronized void put(Long boardId, BoardDTO board) {
+        long version = board.getVersion() != null ? board.getVersion() : 0L;
+        Snapshot current = entries.get(boardId);
+        if (current != null && current.version > version) {
+            return;
+        }
+        long bytes = estimateBytes(board);
+        if (bytes > maxBytes) {
+            return;
+        }
+
+        Snapshot previous = entries.put(boardId, new Snapshot(board, version, bytes));
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += bytes;
+
+        Iterator<Map.Entry<Long, Snapshot>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            Map.Entry<Long, Snapshot> entry = eldest.next();
+            totalBytes -= entry.getValue().bytes;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops the board's snapshot once the current transaction commits, or immediately
+     * when called outside a transaction. Rolled-back changes leave the cache untouched.
+     */
+    public void invalidate(Long boardId) {
+        if (boardId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(boardId);
+                }
+            });
+        } else {
+            evict(boardId);
+        }
+    }
+
+    public synchronized BoardCacheStatsDTO getStats() {
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        return BoardCacheStatsDTO.builder()
+                .entries(entries.size())
+                .maxEntries(maxEntries)
+                .estimatedBytes(totalBytes)
+                .maxBytes(maxBytes)
+                .hits(hitCount)
+                .misses(misses.get())
+                .hitRatio(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    private synchronized void evict(Long boardId) {
+        Snapshot removed = entries.remove(boardId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    // Rough heap footprint: fixed overhead per object plus two bytes per character of text
+    private static long estimateBytes(BoardDTO board) {
+        long bytes = 256 + textBytes(board.getName()) + textBytes(board.getDescription());
+        if (board.getLists() != null) {
+            for (ListDTO list : board.getLists()) {
+                bytes += 192 + textBytes(list.getName()) + textBytes(list.getRank());
+                if (list.getCards() != null) {
+                    for (CardDTO card : list.getCards()) {
+                        bytes += 512 + textBytes(card.getTitle()) + textBytes(card.getDescription())
+                                + textBytes(card.getRank()) + textBytes(card.getCreatorName());
+                        if (card.getAssignedUserNames() != null) {
+                            for (String name : card.getAssignedUserNames()) {
+                                bytes += 48 + textBytes(name);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long textBytes(String text) {
+        return text == null ? 0 : 40 + 2L * text.length();
+    }
+
+    private static final class Snapshot {
+        private final BoardDTO board;
+        private final long version;
+        private final long bytes;
+
+        private Snapshot(BoardDTO board, long version, long bytes) {
+            this.board = board;
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.kanban.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over a list's cards in rank order: the index, id and rank key of the last
+ * card a client already holds, so the next page starts right after it. Ranks are base-36, so the
+ * rank can safely come last after two separators; an unranked card is written with an empty rank.
+ */
+final class CardPageCursor {
+
+    private final int index;
+    private final Long id;
+    private final String rank;
+
+    CardPageCursor(int index, Long id, String rank) {
+        this.index = index;
+        this.id = id;
+        this.rank = rank;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String getRank() {
+        return rank;
+    }
+
+    String encode() {
+        String raw = index + ":" + id + ":" + (rank != null ? rank : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CardPageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            return new CardPageCursor(Integer.parseInt(parts[0]), Long.valueOf(parts[1]), parts[2].isEmpty() ? null : parts[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package com.kanban.service;
 
+import com.kanban.dto.BoardEvent;
+import com.kanban.dto.BoardEventBatch;
+import com.kanban.dto.BulkCardRequest;
+import com.kanban.dto.BulkCardResultDTO;
 import com.kanban.dto.CardDTO;
+import com.kanban.dto.CardPageDTO;
+import com.kanban.dto.CardSummaryDTO;
 import com.kanban.dto.CreateCardRequest;
 import com.kanban.dto.MoveCardRequest;
 import com.kanban.dto.UpdateCardRequest;
+import com.kanban.messaging.BoardChangedEvent;
+import com.kanban.messaging.BoardEvents;
 import com.kanban.model.Card;
 import com.kanban.model.ListEntity;
 import com.kanban.model.User;
+import com.kanban.repository.BoardReadRepository;
+import com.kanban.repository.BoardReadRepository.AssigneeIdRow;
+import com.kanban.repository.BoardReadRepository.CardSummaryRow;
 import com.kanban.repository.CardRepository;
 import com.kanban.repository.ListRepository;
 import com.kanban.repository.UserRepository;
+import com.kanban.util.RankUtil;
+import com.kanban.util.UserNameUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +49,19 @@ public class CardService {
     private final ListRepository listRepository;
     private final UserRepository userRepository;
     private final PermissionService permissionService;
+    private final RankRebalanceService rankRebalanceService;
+    private final BoardVersionService boardVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoardReadRepository boardReadRepository;
+    
+    @Value("${kanban.cards.bulk.max-operations:500}")
+    private int maxBulkOperations;
+    
+    @Value("${kanban.cards.page.default-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${kanban.cards.page.max-size:500}")
+    private int maxPageSize;
     
     @Transactional
     public CardDTO createCard(CreateCardRequest request) {
@@ -44,11 +79,10 @@ public class CardService {
             throw new AccessDeniedException("You do not have permission to create cards in this board.");
         }
         
-        Integer position = request.getPosition();
-        if (position == null) {
-            Integer maxPosition = cardRepository.findMaxPositionByListId(request.getListId());
-            position = maxPosition == null ? 0 : maxPosition + 1;
-        }
+        // Only the rank is stored; the position clients see is derived from rank order
+        String rank = request.getPosition() == null
+                ? RankUtil.between(cardRepository.findMaxRankByListId(request.getListId()), null)
+                : rankAt(request.getListId(), null, request.getPosition());
         
         // Handle multiple assignees
         List<User> assignedUsers = new ArrayList<>();
@@ -81,7 +115,7 @@ public class CardService {
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .list(list)
-                .position(position)
+                .rank(rank)
                 .createdBy(currentUser)
                 .assignedTo(assignedTo) // Keep for backward compatibility
                 .assignedUsers(assignedUsers)
@@ -91,8 +125,13 @@ public class CardService {
                 .isDeleted(false)
                 .build();
         
+        Long boardId = list.getBoard().getId();
+        card.setChangeVersion(boardVersionService.recordChange(boardId));
         card = cardRepository.save(card);
-        return toDTO(card);
+        CardDTO dto = toDTO(card);
+        dto.setPosition(rankIndex(card, list.getId()));
+        eventPublisher.publishEvent(new BoardChangedEvent(boardId, BoardEvents.cardCreated(boardId, dto)));
+        return dto;
     }
     
     @Transactional(readOnly = true)
@@ -128,6 +167,20 @@ public class CardService {
         return toDTO(card);
     }
     
+    // A list's cards change only together with its board's version, so the board version is a valid tag
+    @Transactional(readOnly = true)
+    public String getCardsETag(Long listId) {
+        User currentUser = permissionService.getCurrentUser();
+        Long boardId = listRepository.findBoardIdById(listId)
+                .orElseThrow(() -> new RuntimeException("List not found"));
+        
+        if (!permissionService.hasBoardAccess(boardId, currentUser)) {
+            throw new AccessDeniedException("You do not have permission to view cards in this list.");
+        }
+        
+        return BoardVersionService.etag(boardId, boardVersionService.committedVersion(boardId));
+    }
+    
     @Transactional(readOnly = true)
     public List<CardDTO> getCardsByListId(Long listId) {
         User currentUser = permissionService.getCurrentUser();
@@ -142,10 +195,78 @@ public class CardService {
             throw new AccessDeniedException("You do not have permission to view cards in this list.");
         }
         
-        List<Card> cards = cardRepository.findByListIdAndIsDeletedFalseOrderByPositionAsc(listId);
-        return cards.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        List<Card> cards = cardRepository.findByListIdAndIsDeletedFalseOrderByRankAscIdAsc(listId);
+        List<CardDTO> cardDTOs = new ArrayList<>(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            CardDTO dto = toDTO(cards.get(i));
+            dto.setPosition(i); // Stored positions go stale between rebalances; the rank order is authoritative
+            cardDTOs.add(dto);
+        }
+        return cardDTOs;
+    }
+    
+    // Card summaries of a list in rank order, one keyset page at a time. Cards without a rank key yet
+    // are left out until the rebalance sweep gives them one
+    @Transactional(readOnly = true)
+    public CardPageDTO getCardPage(Long listId, String cursor, Integer size) {
+        User currentUser = permissionService.getCurrentUser();
+        Long boardId = listRepository.findBoardIdById(listId)
+                .orElseThrow(() -> new RuntimeException("List not found"));
+        
+        if (!permissionService.hasBoardAccess(boardId, currentUser)) {
+            throw new AccessDeniedException("You do not have permission to view cards in this list.");
+        }
+        
+        int pageSize = Math.min(Math.max(size != null ? size : defaultPageSize, 1), maxPageSize);
+        // One row past the page tells whether there is another page without counting the list
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        CardPageCursor after = cursor != null && !cursor.isBlank() ? CardPageCursor.decode(cursor) : null;
+        List<CardSummaryRow> rows;
+        if (after == null) {
+            rows = boardReadRepository.findCardSummaries(listId, limit);
+        } else if (after.getRank() == null) {
+            rows = boardReadRepository.findUnrankedCardSummariesAfter(listId, after.getId(), limit);
+        } else {
+            rows = boardReadRepository.findCardSummariesAfter(listId, after.getRank(), after.getId(), limit);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        
+        Map<Long, List<Long>> assignees = new HashMap<>();
+        if (!rows.isEmpty()) {
+            List<Long> cardIds = rows.stream().map(CardSummaryRow::getId).collect(Collectors.toList());
+            for (AssigneeIdRow row : boardReadRepository.findAssigneeIds(cardIds)) {
+                assignees.computeIfAbsent(row.getCardId(), id -> new ArrayList<>()).add(row.getUserId());
+            }
+        }
+        
+        int firstIndex = after != null ? after.getIndex() + 1 : 0;
+        List<CardSummaryDTO> cards = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CardSummaryRow row = rows.get(i);
+            cards.add(CardSummaryDTO.builder()
+                    .id(row.getId())
+                    .title(row.getTitle())
+                    .position(firstIndex + i)
+                    .priority(row.getPriority() != null ? row.getPriority().name() : "MEDIUM")
+                    .dueDate(row.getDueDate())
+                    .assignedUserIds(assignees.getOrDefault(row.getId(), List.of()))
+                    .build());
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            CardSummaryRow last = rows.get(rows.size() - 1);
+            nextCursor = new CardPageCursor(firstIndex + rows.size() - 1, last.getId(), last.getRank()).encode();
+        }
+        return CardPageDTO.builder()
+                .listId(listId)
+                .cards(cards)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
     
     @Transactional
@@ -159,69 +280,20 @@ public class CardService {
         Card card = cardRepository.findByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new RuntimeException("Card not found"));
         
-        if (request.getTitle() != null) {
-            card.setTitle(request.getTitle());
-        }
-        if (request.getDescription() != null) {
-            card.setDescription(request.getDescription());
-        }
         if (request.getPosition() != null) {
-            card.setPosition(request.getPosition());
-        }
-        // Handle multiple assignees (only admins can assign)
-        if (request.getAssignedUserIds() != null) {
-            if (currentUser.getRole() != User.UserRole.ADMIN) {
-                throw new AccessDeniedException("Only administrators can assign cards.");
-            }
-            
-            List<User> newAssignedUsers = request.getAssignedUserIds().stream()
-                    .map(userId -> userRepository.findById(userId).orElse(null))
-                    .filter(user -> user != null)
-                    .collect(Collectors.toList());
-            
-            // Clear existing assignees and add new ones (properly manage ManyToMany collection)
-            card.getAssignedUsers().clear();
-            card.getAssignedUsers().addAll(newAssignedUsers);
-            
-            // Update deprecated assignedTo for backward compatibility (use first assignee)
-            card.setAssignedTo(newAssignedUsers.isEmpty() ? null : newAssignedUsers.get(0));
-        } else if (request.getAssignedTo() != null) {
-            // Backward compatibility: handle single assignedTo
-            if (currentUser.getRole() != User.UserRole.ADMIN) {
-                throw new AccessDeniedException("Only administrators can assign cards.");
-            }
-            
-            User assignedTo = userRepository.findById(request.getAssignedTo()).orElse(null);
-            card.setAssignedTo(assignedTo);
-            
-            // Clear existing assignees and add new one (properly manage ManyToMany collection)
-            card.getAssignedUsers().clear();
-            if (assignedTo != null) {
-                card.getAssignedUsers().add(assignedTo);
-            }
-        }
-        if (request.getDueDate() != null) {
-            // Convert LocalDate to LocalDateTime at start of day (00:00:00)
-            card.setDueDate(request.getDueDate().atStartOfDay());
-        }
-        if (request.getPriority() != null) {
-            // Only assigned users or owner can change priority
-            boolean canChangePriority = currentUser.getRole() == User.UserRole.ADMIN 
-                    || card.getCreatedBy().getId().equals(currentUser.getId())
-                    || card.getAssignedUsers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
-            
-            if (canChangePriority) {
-                try {
-                    card.setPriority(Card.Priority.valueOf(request.getPriority().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    // Invalid priority value, ignore
-                }
-            }
+            card.setRank(rankAt(card.getList().getId(), card.getId(), request.getPosition()));
         }
+        applyChanges(card, request, currentUser);
         
         card.setLastModifiedBy(currentUser);
+        Long boardId = card.getList().getBoard().getId();
+        card.setChangeVersion(boardVersionService.recordChange(boardId));
         card = cardRepository.save(card);
-        return toDTO(card);
+        CardDTO dto = toDTO(card);
+        dto.setPosition(rankIndex(card, card.getList().getId()));
+        // Subscribers get only the fields this request changed
+        eventPublisher.publishEvent(new BoardChangedEvent(boardId, BoardEvents.cardUpdated(boardId, dto, request)));
+        return dto;
     }
     
     @Transactional
@@ -263,76 +335,22 @@ public class CardService {
         Card card = cardRepository.findByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new RuntimeException("Card not found"));
         
-        // Determine if moving to different list
-        boolean isMovingToDifferentList = (sourceListId != null && !sourceListId.equals(request.getTargetListId()));
-        
-        // Use sourceListId if we have it, otherwise assume same list move
-        Long actualSourceListId = sourceListId != null ? sourceListId : request.getTargetListId();
-        int newPosition = request.getNewPosition();
-        int oldPosition = card.getPosition();
-        
-        if (isMovingToDifferentList) {
-            // Moving to a different list
-            // 1. Remove from source list: decrement positions of cards after old position
-            List<Card> sourceCards = cardRepository.findByListIdAndIsDeletedFalseOrderByPositionAsc(actualSourceListId);
-            for (Card sourceCard : sourceCards) {
-                if (sourceCard.getId().equals(id)) {
-                    continue; // Skip the card being moved
-                }
-                if (sourceCard.getPosition() > oldPosition) {
-                    sourceCard.setPosition(sourceCard.getPosition() - 1);
-                }
-            }
-            cardRepository.saveAll(sourceCards);
-            
-            // 2. Add to target list: increment positions of cards at/after new position
-            List<Card> targetCards = cardRepository.findByListIdAndIsDeletedFalseOrderByPositionAsc(request.getTargetListId());
-            for (Card targetCard : targetCards) {
-                // Skip the card being moved if it's somehow in the target list already
-                if (targetCard.getId().equals(id)) {
-                    continue;
-                }
-                if (targetCard.getPosition() >= newPosition) {
-                    targetCard.setPosition(targetCard.getPosition() + 1);
-                }
-            }
-            cardRepository.saveAll(targetCards);
-        } else {
-            // Moving within the same list
-            List<Card> cards = cardRepository.findByListIdAndIsDeletedFalseOrderByPositionAsc(request.getTargetListId());
-            if (oldPosition < newPosition) {
-                // Moving forward: shift cards between old and new position backward
-                for (Card c : cards) {
-                    if (c.getId().equals(id)) {
-                        continue; // Skip the card being moved
-                    }
-                    if (c.getPosition() > oldPosition && c.getPosition() <= newPosition) {
-                        c.setPosition(c.getPosition() - 1);
-                    }
-                }
-            } else if (oldPosition > newPosition) {
-                // Moving backward: shift cards between new and old position forward
-                for (Card c : cards) {
-                    if (c.getId().equals(id)) {
-                        continue; // Skip the card being moved
-                    }
-                    if (c.getPosition() >= newPosition && c.getPosition() < oldPosition) {
-                        c.setPosition(c.getPosition() + 1);
-                    }
-                }
-            }
-            cardRepository.saveAll(cards);
-        }
+        // Only the moved row is written: its new rank sits between the ranks of its new neighbours
+        int newPosition = Math.max(request.getNewPosition(), 0);
+        card.setRank(rankAt(request.getTargetListId(), id, newPosition));
         
         // Update the card itself
         card.setList(targetList);
-        card.setPosition(newPosition);
         card.setLastModifiedBy(currentUser);
+        card.setChangeVersion(boardVersionService.recordChange(boardId));
         
         card = cardRepository.save(card);
         
         // Use toDTOWithListId to avoid lazy loading issues with card.getList()
-        return toDTOWithListId(card, targetList.getId());
+        CardDTO dto = toDTOWithListId(card, targetList.getId());
+        dto.setPosition(rankIndex(card, targetList.getId()));
+        eventPublisher.publishEvent(new BoardChangedEvent(boardId, BoardEvents.cardMoved(boardId, dto, sourceListId)));
+        return dto;
     }
     
     @Transactional
@@ -348,34 +366,315 @@ public class CardService {
         
         card.setIsDeleted(true);
         card.setLastModifiedBy(currentUser);
+        // Soft-deleted rows keep their new version so delta sync can report them as tombstones
+        Long boardId = card.getList().getBoard().getId();
+        card.setChangeVersion(boardVersionService.recordChange(boardId));
         cardRepository.save(card);
+        eventPublisher.publishEvent(new BoardChangedEvent(boardId, BoardEvents.cardDeleted(boardId, id,
+                card.getList().getId(), currentUser.getId(), UserNameUtil.format(currentUser))));
+    }
+    
+    /**
+     * Applies several card operations in one transaction. Every operation is checked before anything
+     * is written, against cards, lists and access rules read once for the whole request. Rejected
+     * operations are reported as FAILED and the rest are applied; an atomic request applies nothing
+     * if any operation is rejected. Each list cards move into is read once, each board gets one
+     * version, and subscribers get one batch frame per board.
+     */
+    @Transactional
+    public BulkCardResultDTO applyBulk(BulkCardRequest request) {
+        List<BulkCardRequest.Operation> operations = request.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation is required");
+        }
+        if (operations.size() > maxBulkOperations) {
+            throw new IllegalArgumentException("At most " + maxBulkOperations + " operations are allowed per request");
+        }
+        User currentUser = permissionService.getCurrentUser();
+        
+        Set<Long> cardIds = operations.stream()
+                .map(BulkCardRequest.Operation::getCardId)
+                .collect(Collectors.toSet());
+        Map<Long, Card> cards = cardRepository.findByIdInAndIsDeletedFalse(cardIds).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+        Set<Long> targetListIds = operations.stream()
+                .filter(op -> op.getType() == BulkCardRequest.Type.MOVE && op.getTargetListId() != null)
+                .map(BulkCardRequest.Operation::getTargetListId)
+                .collect(Collectors.toSet());
+        Map<Long, ListEntity> targetLists = listRepository.findAllById(targetListIds).stream()
+                .filter(list -> !list.getIsDeleted() && list.getBoard() != null)
+                .collect(Collectors.toMap(ListEntity::getId, Function.identity()));
+        
+        // Validate everything first; a card may only appear once per request
+        Map<Long, Boolean> boardAccess = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        List<String> rejections = new ArrayList<>();
+        for (BulkCardRequest.Operation op : operations) {
+            String rejection = !seen.add(op.getCardId())
+                    ? "Card appears in more than one operation"
+                    : rejectionOf(op, cards.get(op.getCardId()), targetLists.get(op.getTargetListId()), currentUser, boardAccess);
+            rejections.add(rejection);
+        }
+        boolean anyRejected = rejections.stream().anyMatch(rejection -> rejection != null);
+        boolean applying = !(request.isAtomic() && anyRejected);
+        
+        // Lists that receive cards, read once; cards leaving their place in this request are not neighbours
+        Map<Long, RankedList> placements = new HashMap<>();
+        Set<Long> displaced = new HashSet<>();
+        if (applying) {
+            for (int i = 0; i < operations.size(); i++) {
+                BulkCardRequest.Operation op = operations.get(i);
+                if (rejections.get(i) == null) {
+                    Long listId = placementListId(op, cards.get(op.getCardId()));
+                    if (listId != null) {
+                        placements.computeIfAbsent(listId, this::rankedList);
+                    }
+                    if (listId != null || op.getType() == BulkCardRequest.Type.DELETE) {
+                        displaced.add(op.getCardId());
+                    }
+                }
+            }
+            placements.values().forEach(list -> list.removeAll(displaced));
+        }
+        
+        Map<Long, Long> versions = new HashMap<>();
+        Map<Long, List<Object>> events = new LinkedHashMap<>();
+        Set<Long> crowdedLists = new HashSet<>();
+        List<Card> changed = new ArrayList<>();
+        List<BulkCardResultDTO.Result> results = new ArrayList<>();
+        int applied = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            BulkCardRequest.Operation op = operations.get(i);
+            BulkCardResultDTO.Result.ResultBuilder result = BulkCardResultDTO.Result.builder()
+                    .index(i)
+                    .cardId(op.getCardId());
+            if (rejections.get(i) != null) {
+                results.add(result.status(BulkCardResultDTO.Status.FAILED).error(rejections.get(i)).build());
+                continue;
+            }
+            if (!applying) {
+                results.add(result.status(BulkCardResultDTO.Status.SKIPPED).build());
+                continue;
+            }
+            
+            Card card = cards.get(op.getCardId());
+            Long boardId = card.getList().getBoard().getId();
+            Long previousListId = card.getList().getId();
+            switch (op.getType()) {
+                case DELETE -> card.setIsDeleted(true);
+                case UPDATE -> applyChanges(card, op.getChanges(), currentUser);
+                case MOVE -> card.setList(targetLists.get(op.getTargetListId()));
+            }
+            Long placedIn = placementListId(op, card);
+            Integer placedAt = null;
+            if (placedIn != null) {
+                Integer position = op.getType() == BulkCardRequest.Type.MOVE ? op.getNewPosition() : op.getChanges().getPosition();
+                RankedList list = placements.get(placedIn);
+                int index = list.insert(card.getId(), position != null ? position : Integer.MAX_VALUE);
+                card.setRank(list.rankOf(index));
+                placedAt = index;
+                if (RankUtil.needsRebalance(card.getRank())) {
+                    crowdedLists.add(placedIn);
+                }
+            }
+            card.setLastModifiedBy(currentUser);
+            card.setChangeVersion(versions.computeIfAbsent(boardId, boardVersionService::recordChange));
+            changed.add(card);
+            
+            BoardEvent event;
+            if (op.getType() == BulkCardRequest.Type.DELETE) {
+                event = BoardEvents.cardDeleted(boardId, card.getId(), previousListId, currentUser.getId(), UserNameUtil.format(currentUser));
+            } else {
+                CardDTO dto = toDTO(card);
+                dto.setPosition(placedAt != null ? placedAt : rankIndex(card, card.getList().getId()));
+                result.card(dto);
+                event = op.getType() == BulkCardRequest.Type.MOVE
+                        ? BoardEvents.cardMoved(boardId, dto, previousListId)
+                        : BoardEvents.cardUpdated(boardId, dto, op.getChanges());
+            }
+            events.computeIfAbsent(boardId, id -> new ArrayList<>()).add(event);
+            results.add(result.status(BulkCardResultDTO.Status.APPLIED).build());
+            applied++;
+        }
+        
+        if (!changed.isEmpty()) {
+            cardRepository.saveAll(changed);
+        }
+        crowdedLists.forEach(rankRebalanceService::requestCardRebalance);
+        events.forEach((boardId, boardEvents) -> eventPublisher.publishEvent(new BoardChangedEvent(boardId,
+                new BoardEventBatch("BATCH", boardId, boardEvents))));
+        
+        return BulkCardResultDTO.builder()
+                .applied(applied)
+                .failed((int) rejections.stream().filter(rejection -> rejection != null).count())
+                .results(results)
+                .build();
+    }
+    
+    // Why an operation cannot be applied, or null if it can; board access is looked up once per board
+    private String rejectionOf(BulkCardRequest.Operation op, Card card, ListEntity targetList, User currentUser,
+                               Map<Long, Boolean> boardAccess) {
+        if (card == null) {
+            return "Card not found";
+        }
+        switch (op.getType()) {
+            case DELETE:
+                return permissionService.canDeleteCard(card, currentUser)
+                        ? null : "You do not have permission to delete this card.";
+            case UPDATE:
+                if (!permissionService.canEditCard(card, currentUser)) {
+                    return "You do not have permission to update this card.";
+                }
+                UpdateCardRequest changes = op.getChanges();
+                if (changes == null) {
+                    return "Update has no changes";
+                }
+                if ((changes.getAssignedUserIds() != null || changes.getAssignedTo() != null)
+                        && currentUser.getRole() != User.UserRole.ADMIN) {
+                    return "Only administrators can assign cards.";
+                }
+                // A single update ignores a priority it may not set; here that would be reported as applied
+                if (changes.getPriority() != null && !canChangePriority(card, currentUser)) {
+                    return "You do not have permission to change this card's priority.";
+                }
+                return null;
+            case MOVE:
+                if (!permissionService.canEditCard(card, currentUser)) {
+                    return "You do not have permission to move this card.";
+                }
+                if (targetList == null) {
+                    return "Target list not found";
+                }
+                Long boardId = targetList.getBoard().getId();
+                if (!boardId.equals(card.getList().getBoard().getId())) {
+                    return "Source and target lists must be in the same board";
+                }
+                if (!boardAccess.computeIfAbsent(boardId, id -> permissionService.hasBoardAccess(id, currentUser))) {
+                    return "You do not have permission to move cards to this board.";
+                }
+                return null;
+            default:
+                return "Unknown operation";
+        }
     }
     
-    private String formatUserName(User user) {
-        if (user.getFullName() != null && !user.getFullName().trim().isEmpty()) {
-            return user.getFullName();
+    // The list an operation places its card in: the target of a move, or the card's own list for a reorder
+    private static Long placementListId(BulkCardRequest.Operation op, Card card) {
+        if (op.getType() == BulkCardRequest.Type.MOVE) {
+            return op.getTargetListId();
         }
-        // Format username for better display
-        String username = user.getUsername();
-        if (username.contains("@")) {
-            // If username is an email, extract the local part
-            username = username.substring(0, username.indexOf("@"));
+        if (op.getType() == BulkCardRequest.Type.UPDATE && op.getChanges().getPosition() != null) {
+            return card.getList().getId();
         }
-        // Capitalize first letter
-        if (!username.isEmpty()) {
-            username = username.substring(0, 1).toUpperCase() + username.substring(1);
+        return null;
+    }
+    
+    private RankedList rankedList(Long listId) {
+        RankedList list = new RankedList(cardRepository.findIdsAndRanksByListId(listId));
+        if (!list.isOrdered()) {
+            // Un-migrated rows or colliding keys: respread the list once and read it again
+            rankRebalanceService.rebalanceCards(listId);
+            list = new RankedList(cardRepository.findIdsAndRanksByListId(listId));
         }
-        return username;
+        return list;
     }
     
-    private CardDTO toDTO(Card card) {
+    // Field changes of an update, except position, which callers rank themselves
+    private void applyChanges(Card card, UpdateCardRequest request, User currentUser) {
+        if (request.getTitle() != null) {
+            card.setTitle(request.getTitle());
+        }
+        if (request.getDescription() != null) {
+            card.setDescription(request.getDescription());
+        }
+        // Handle multiple assignees (only admins can assign)
+        if (request.getAssignedUserIds() != null) {
+            if (currentUser.getRole() != User.UserRole.ADMIN) {
+                throw new AccessDeniedException("Only administrators can assign cards.");
+            }
+            
+            List<User> newAssignedUsers = request.getAssignedUserIds().stream()
+                    .map(userId -> userRepository.findById(userId).orElse(null))
+                    .filter(user -> user != null)
+                    .collect(Collectors.toList());
+            
+            // Clear existing assignees and add new ones (properly manage ManyToMany collection)
+            card.getAssignedUsers().clear();
+            card.getAssignedUsers().addAll(newAssignedUsers);
+            
+            // Update deprecated assignedTo for backward compatibility (use first assignee)
+            card.setAssignedTo(newAssignedUsers.isEmpty() ? null : newAssignedUsers.get(0));
+        } else if (request.getAssignedTo() != null) {
+            // Backward compatibility: handle single assignedTo
+            if (currentUser.getRole() != User.UserRole.ADMIN) {
+                throw new AccessDeniedException("Only administrators can assign cards.");
+            }
+            
+            User assignedTo = userRepository.findById(request.getAssignedTo()).orElse(null);
+            card.setAssignedTo(assignedTo);
+            
+            // Clear existing assignees and add new one (properly manage ManyToMany collection)
+            card.getAssignedUsers().clear();
+            if (assignedTo != null) {
+                card.getAssignedUsers().add(assignedTo);
+            }
+        }
+        if (request.getDueDate() != null) {
+            // Convert LocalDate to LocalDateTime at start of day (00:00:00)
+            card.setDueDate(request.getDueDate().atStartOfDay());
+        }
+        if (request.getPriority() != null) {
+            if (canChangePriority(card, currentUser)) {
+                try {
+                    card.setPriority(Card.Priority.valueOf(request.getPriority().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    // Invalid priority value, ignore
+                }
+            }
+        }
+    }
+    
+    // Only admins, the card's creator and its assignees can change priority
+    private static boolean canChangePriority(Card card, User currentUser) {
+        return currentUser.getRole() == User.UserRole.ADMIN
+                || card.getCreatedBy().getId().equals(currentUser.getId())
+                || card.getAssignedUsers().stream().anyMatch(u -> u.getId().equals(currentUser.getId()));
+    }
+    
+    // Where a card sits in its list's rank order. The stored position is only kept for rows written
+    // before ranks existed, so it is the fallback for cards that have no rank yet
+    private int rankIndex(Card card, Long listId) {
+        if (card.getRank() == null) {
+            return card.getPosition() != null ? card.getPosition() : 0;
+        }
+        return (int) cardRepository.countCardsBefore(listId, card.getRank(), card.getId());
+    }
+    
+    // Rank for a card placed at the given index of a list, derived from its two neighbours only
+    private String rankAt(Long listId, Long movingCardId, int index) {
+        String rank = RankUtil.rankAt(index,
+                (offset, limit) -> movingCardId != null
+                        ? cardRepository.findRanksInWindowExcludingCard(listId, movingCardId, offset, limit)
+                        : cardRepository.findRanksInWindow(listId, offset, limit),
+                () -> movingCardId != null
+                        ? cardRepository.findMaxRankByListIdExcludingCard(listId, movingCardId)
+                        : cardRepository.findMaxRankByListId(listId),
+                // Un-migrated rows or colliding keys: respread the list once and retry
+                () -> rankRebalanceService.rebalanceCards(listId));
+        if (RankUtil.needsRebalance(rank)) {
+            rankRebalanceService.requestCardRebalance(listId);
+        }
+        return rank;
+    }
+    
+   private CardDTO toDTO(Card card) {
         try {
             // Get assigned user IDs and names
             List<Long> assignedUserIds = card.getAssignedUsers() != null ? card.getAssignedUsers().stream()
                     .map(User::getId)
                     .collect(Collectors.toList()) : List.of();
             List<String> assignedUserNames = card.getAssignedUsers() != null ? card.getAssignedUsers().stream()
-                    .map(this::formatUserName)
+                    .map(UserNameUtil::format)
                     .collect(Collectors.toList()) : List.of();
             
             // Backward compatibility: assignedTo and assigneeName (use first assignee if exists)
@@ -396,14 +695,16 @@ public class CardService {
                     .description(card.getDescription())
                     .listId(listId)
                     .position(card.getPosition())
+                    .rank(card.getRank())
+                    .version(card.getChangeVersion())
                     .createdBy(card.getCreatedBy() != null ? card.getCreatedBy().getId() : null)
-                    .creatorName(card.getCreatedBy() != null ? formatUserName(card.getCreatedBy()) : null)
+                    .creatorName(card.getCreatedBy() != null ? UserNameUtil.format(card.getCreatedBy()) : null)
                     .assignedTo(assignedTo) // Backward compatibility
                     .assigneeName(assigneeName) // Backward compatibility
                     .assignedUserIds(assignedUserIds)
                     .assignedUserNames(assignedUserNames)
                     .lastModifiedBy(card.getLastModifiedBy() != null ? card.getLastModifiedBy().getId() : null)
-                    .lastModifiedByName(card.getLastModifiedBy() != null ? formatUserName(card.getLastModifiedBy()) : null)
+                    .lastModifiedByName(card.getLastModifiedBy() != null ? UserNameUtil.format(card.getLastModifiedBy()) : null)
                     .dueDate(card.getDueDate())
                     .priority(card.getPriority() != null ? card.getPriority().name() : "MEDIUM")
                     .createdAt(card.getCreatedAt())
@@ -432,7 +733,7 @@ public class CardService {
                     .map(User::getId)
                     .collect(Collectors.toList()) : List.of();
             List<String> assignedUserNames = card.getAssignedUsers() != null ? card.getAssignedUsers().stream()
-                    .map(this::formatUserName)
+                    .map(UserNameUtil::format)
                     .collect(Collectors.toList()) : List.of();
             
             // Backward compatibility: assignedTo and assigneeName (use first assignee if exists)
@@ -445,14 +746,16 @@ public class CardService {
                     .description(card.getDescription())
                     .listId(listId) // Use provided listId instead of accessing card.getList()
                     .position(card.getPosition())
+                    .rank(card.getRank())
+                    .version(card.getChangeVersion())
                     .createdBy(card.getCreatedBy() != null ? card.getCreatedBy().getId() : null)
-                    .creatorName(card.getCreatedBy() != null ? formatUserName(card.getCreatedBy()) : null)
+                    .creatorName(card.getCreatedBy() != null ? UserNameUtil.format(card.getCreatedBy()) : null)
                     .assignedTo(assignedTo) // Backward compatibility
                     .assigneeName(assigneeName) // Backward compatibility
                     .assignedUserIds(assignedUserIds)
                     .assignedUserNames(assignedUserNames)
                     .lastModifiedBy(card.getLastModifiedBy() != null ? card.getLastModifiedBy().getId() : null)
-                    .lastModifiedByName(card.getLastModifiedBy() != null ? formatUserName(card.getLastModifiedBy()) : null)
+                    .lastModifiedByName(card.getLastModifiedBy() != null ? UserNameUtil.format(card.getLastModifiedBy()) : null)
                     .dueDate(card.getDueDate())
                     .priority(card.getPriority() != null ? card.getPriority().name() : "MEDIUM")
                     .createdAt(card.getCreatedAt())
@@ -472,5 +775,49 @@ public class CardService {
                     .build();
         }
     }
+    
+    // Card ids and rank keys of one list in order, updated in memory as a bulk request places cards
+    private static final class RankedList {
+        private final List<Long> ids = new ArrayList<>();
+        private final List<String> ranks = new ArrayList<>();
+        
+        private RankedList(List<Object[]> rows) {
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+                ranks.add((String) row[1]);
+            }
+        }
+        
+        private boolean isOrdered() {
+            for (int i = 0; i < ranks.size(); i++) {
+                if (ranks.get(i) == null || (i > 0 && ranks.get(i - 1).compareTo(ranks.get(i)) >= 0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private void removeAll(Set<Long> cardIds) {
+            for (int i = ids.size() - 1; i >= 0; i--) {
+                if (cardIds.contains(ids.get(i))) {
+                    ids.remove(i);
+                    ranks.remove(i);
+                }
+            }
+        }
+        
+        // Places the card at the index, or at the end if the index is past it, and returns where it went
+        private int insert(Long cardId, int index) {
+            int at = Math.min(Math.max(index, 0), ids.size());
+            String before = at > 0 ? ranks.get(at - 1) : null;
+            String after = at < ranks.size() ? ranks.get(at) : null;
+            ids.add(at, cardId);
+            ranks.add(at, RankUtil.between(before, after));
+            return at;
+        }
+        
+        private String rankOf(int index) {
+            return ranks.get(index);
+        }
+    }
 }
-
@@ -3,13 +3,18 @@ package com.kanban.service;
 import com.kanban.dto.CreateListRequest;
 import com.kanban.dto.ListDTO;
 import com.kanban.dto.MoveListRequest;
+import com.kanban.messaging.BoardChangedEvent;
+import com.kanban.messaging.BoardEvents;
 import com.kanban.model.Board;
 import com.kanban.model.Card;
 import com.kanban.model.ListEntity;
 import com.kanban.model.User;
 import com.kanban.repository.BoardRepository;
 import com.kanban.repository.ListRepository;
+import com.kanban.security.UserPrincipal;
+import com.kanban.util.RankUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +29,9 @@ public class ListService {
     private final ListRepository listRepository;
     private final BoardRepository boardRepository;
     private final PermissionService permissionService;
+    private final RankRebalanceService rankRebalanceService;
+    private final BoardVersionService boardVersionService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public ListDTO createList(CreateListRequest request) {
@@ -33,20 +41,30 @@ public class ListService {
                 .orElseThrow(() -> new RuntimeException("Board not found"));
         
         Integer position = request.getPosition();
+        String rank;
         if (position == null) {
-            List<ListEntity> existingLists = listRepository.findByBoardIdAndIsDeletedFalseOrderByPositionAsc(request.getBoardId());
-            position = existingLists.isEmpty() ? 0 : existingLists.get(existingLists.size() - 1).getPosition() + 1;
+            Integer maxPosition = listRepository.findMaxPositionByBoardId(request.getBoardId());
+            position = maxPosition != null ? maxPosition + 1 : 0;
+            rank = RankUtil.between(listRepository.findMaxRankByBoardId(request.getBoardId()), null);
+        } else {
+            rank = rankAt(request.getBoardId(), null, Math.max(position, 0));
         }
         
         ListEntity list = ListEntity.builder()
                 .name(request.getName())
                 .board(board)
                 .position(position)
+                .rank(rank)
                 .isDeleted(false)
                 .build();
         
+        list.setChangeVersion(boardVersionService.recordChange(board.getId()));
         list = listRepository.save(list);
-        return toDTO(list);
+        ListDTO dto = toDTO(list);
+        UserPrincipal actor = permissionService.getCurrentPrincipal();
+        eventPublisher.publishEvent(new BoardChangedEvent(board.getId(),
+                BoardEvents.listCreated(dto, actor.getId(), actor.getDisplayName())));
+        return dto;
     }
     
     @Transactional(readOnly = true)
@@ -56,12 +74,23 @@ public class ListService {
         return toDTO(list);
     }
     
+    @Transactional(readOnly = true)
+    public String getListsETag(Long boardId) {
+        permissionService.verifyBoardAccess(boardId); // The version reveals whether the board changed
+        return BoardVersionService.etag(boardId, boardVersionService.committedVersion(boardId));
+    }
+    
     @Transactional(readOnly = true)
     public List<ListDTO> getListsByBoardId(Long boardId) {
-        List<ListEntity> lists = listRepository.findByBoardIdAndIsDeletedFalseOrderByPositionAsc(boardId);
-        return lists.stream()
+        List<ListEntity> lists = listRepository.findByBoardIdAndIsDeletedFalseOrderByRankAscIdAsc(boardId);
+        List<ListDTO> dtos = lists.stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
+        // Lists arrive in rank order; their index is the position the frontend sorts by
+        for (int i = 0; i < dtos.size(); i++) {
+            dtos.get(i).setPosition(i);
+        }
+        return dtos;
     }
     
     @Transactional
@@ -77,11 +106,19 @@ public class ListService {
         
         list.setName(request.getName());
         if (request.getPosition() != null) {
-            list.setPosition(request.getPosition());
+            int position = Math.max(request.getPosition(), 0);
+            list.setRank(rankAt(list.getBoard().getId(), list.getId(), position));
+            list.setPosition(position);
         }
         
+        Long boardId = list.getBoard().getId();
+        list.setChangeVersion(boardVersionService.recordChange(boardId));
         list = listRepository.save(list);
-        return toDTO(list);
+        ListDTO dto = toDTO(list);
+        UserPrincipal actor = UserPrincipal.from(currentUser);
+        eventPublisher.publishEvent(new BoardChangedEvent(boardId,
+                BoardEvents.listUpdated(dto, request, actor.getId(), actor.getDisplayName())));
+        return dto;
     }
     
     @Transactional
@@ -96,7 +133,13 @@ public class ListService {
                 .orElseThrow(() -> new RuntimeException("List not found"));
         
         list.setIsDeleted(true);
+        // Soft-deleted rows keep their new version so delta sync can report them as tombstones
+        Long boardId = list.getBoard().getId();
+        list.setChangeVersion(boardVersionService.recordChange(boardId));
         listRepository.save(list);
+        UserPrincipal actor = UserPrincipal.from(currentUser);
+        eventPublisher.publishEvent(new BoardChangedEvent(boardId,
+                BoardEvents.listDeleted(boardId, id, actor.getId(), actor.getDisplayName())));
     }
     
     @Transactional
@@ -126,61 +169,69 @@ public class ListService {
             throw new AccessDeniedException("Only workspace owners or admins can reorder lists.");
         }
         
-        Integer oldPosition = list.getPosition();
+        // Only the moved list is written: it gets a rank between its new neighbours.
+        // Sibling positions are left as-is and rewritten by the next rebalance.
         Integer newPosition = request.getNewPosition();
-        
-        if (oldPosition != null && oldPosition.equals(newPosition)) {
-            return toDTO(list);
-        }
-        
-        List<ListEntity> allLists = listRepository.findByBoardIdAndIsDeletedFalseOrderByPositionAsc(boardId);
-        
-        // Remove the moving list from the list
-        allLists.removeIf(l -> l.getId().equals(id));
-        
-        // Insert at new position
         if (newPosition == null) {
-            newPosition = allLists.size();
-        } else if (newPosition < 0) {
-            newPosition = 0;
-        } else if (newPosition >= allLists.size()) {
-            newPosition = allLists.size();
+            list.setRank(RankUtil.between(listRepository.findMaxRankByBoardIdExcludingList(boardId, id), null));
+            Integer maxPosition = listRepository.findMaxPositionByBoardId(boardId);
+            list.setPosition(maxPosition != null ? maxPosition + 1 : 0);
+        } else {
+            newPosition = Math.max(newPosition, 0);
+            list.setRank(rankAt(boardId, id, newPosition));
+            list.setPosition(newPosition);
         }
         
-        allLists.add(newPosition, list);
-        
-        // Update positions for all affected lists
-        for (int i = 0; i < allLists.size(); i++) {
-            allLists.get(i).setPosition(i);
-        }
-        
-        List<ListEntity> savedLists = listRepository.saveAll(allLists);
-        // Find the updated list from saved lists
-        ListEntity updatedList = savedLists.stream()
-                .filter(l -> l.getId().equals(id))
-                .findFirst()
-                .orElse(list);
+        list.setChangeVersion(boardVersionService.recordChange(boardId));
+        ListEntity updatedList = listRepository.save(list);
         
         // Fetch the list again with cards to avoid lazy loading issues in toDTO
         ListEntity refreshedList = listRepository.findByIdWithCards(updatedList.getId())
                 .orElse(updatedList);
         
-        return toDTO(refreshedList);
+        ListDTO dto = toDTO(refreshedList);
+        UserPrincipal actor = UserPrincipal.from(currentUser);
+        eventPublisher.publishEvent(new BoardChangedEvent(boardId,
+                BoardEvents.listMoved(dto, actor.getId(), actor.getDisplayName())));
+        return dto;
+    }
+    
+    private String rankAt(Long boardId, Long movingListId, int index) {
+        String rank = RankUtil.rankAt(index,
+                (offset, limit) -> movingListId != null
+                        ? listRepository.findRanksInWindowExcludingList(boardId, movingListId, offset, limit)
+                        : listRepository.findRanksInWindow(boardId, offset, limit),
+                () -> movingListId != null
+                        ? listRepository.findMaxRankByBoardIdExcludingList(boardId, movingListId)
+                        : listRepository.findMaxRankByBoardId(boardId),
+                // Un-migrated rows or colliding keys: respread the board once and retry
+                () -> rankRebalanceService.rebalanceLists(boardId));
+        if (RankUtil.needsRebalance(rank)) {
+            rankRebalanceService.requestListRebalance(boardId);
+        }
+        return rank;
     }
     
     private ListDTO toDTO(ListEntity list) {
         try {
+            List<com.kanban.dto.CardDTO> cards = list.getCards() != null ? list.getCards().stream()
+                    .filter(card -> !card.getIsDeleted())
+                    .map(this::cardToDTO)
+                    .collect(Collectors.toList()) : List.of();
+            // Cards arrive in rank order; their index is the position the frontend sorts by
+            for (int i = 0; i < cards.size(); i++) {
+                cards.get(i).setPosition(i);
+            }
             return ListDTO.builder()
                     .id(list.getId())
                     .name(list.getName())
                     .boardId(list.getBoard() != null ? list.getBoard().getId() : null)
                     .position(list.getPosition())
+                    .rank(list.getRank())
+                    .version(list.getChangeVersion())
                     .createdAt(list.getCreatedAt())
                     .updatedAt(list.getUpdatedAt())
-                    .cards(list.getCards() != null ? list.getCards().stream()
-                            .filter(card -> !card.getIsDeleted())
-                            .map(this::cardToDTO)
-                            .collect(Collectors.toList()) : List.of())
+                    .cards(cards)
                     .build();
         } catch (Exception e) {
             // If lazy loading fails, return DTO without cards
@@ -189,6 +240,8 @@ public class ListService {
                     .name(list.getName())
                     .boardId(list.getBoard() != null ? list.getBoard().getId() : null)
                     .position(list.getPosition())
+                    .rank(list.getRank())
+                    .version(list.getChangeVersion())
                     .createdAt(list.getCreatedAt())
                     .updatedAt(list.getUpdatedAt())
                     .cards(List.of())
@@ -203,6 +256,7 @@ public class ListService {
                 .description(card.getDescription())
                 .listId(card.getList().getId())
                 .position(card.getPosition())
+                .rank(card.getRank())
                 .createdBy(card.getCreatedBy().getId())
                 .assignedTo(card.getAssignedTo() != null ? card.getAssignedTo().getId() : null)
                 .dueDate(card.getDueDate())
@@ -0,0 +1,197 @@
+package com.kanban.service;
+
+import com.kanban.model.User;
+import com.kanban.model.WorkspaceMember;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory access model used by {@link PermissionService}: per user, the boards they were
+ * assigned to and the workspaces they belong to with their role, plus the (immutable)
+ * board-to-workspace mapping. With both warm an access check is a couple of map lookups.
+ *
+ * Membership, role and deletion changes invalidate entries once their transaction commits.
+ * Every invalidation advances a generation, and a model is only stored if the generation did
+ * not move while it was being loaded, so a load racing with a membership change is discarded.
+ * Invalidation only reaches this instance; a user's model also expires after {@code ttl-ms},
+ * which bounds how long a change committed elsewhere goes unnoticed here.
+ */
+@Component
+public class PermissionCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Access-ordered LRUs, guarded by this
+    private final LinkedHashMap<String, Entry> users;
+    private final LinkedHashMap<Long, Long> boardWorkspaces;
+    private long generation;
+
+    public PermissionCache(
+            @Value("${kanban.cache.permissions.max-entries:10000}") int maxEntries,
+            @Value("${kanban.cache.permissions.ttl-ms:60000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PermissionCache.this.maxEntries;
+            }
+        };
+        this.boardWorkspaces = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > PermissionCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized UserAccess getUser(String username, long now) {
+        Entry entry = username == null ? null : users.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.cachedAt + ttlMillis <= now) {
+            users.remove(username);
+            return null;
+        }
+        return entry.access;
+    }
+
+    public synchronized void putUser(long loadedAt, UserAccess access, long now) {
+        if (loadedAt == generation) {
+            users.put(access.getUsername(), new Entry(access, now));
+        }
+    }
+
+    // Never expires: a board keeps its workspace, and a deleted board fails its own lookups anyway
+    public synchronized Long getBoardWorkspace(Long boardId) {
+        return boardWorkspaces.get(boardId);
+    }
+
+    public synchronized void putBoardWorkspace(long loadedAt, Long boardId, Long workspaceId) {
+        if (loadedAt == generation) {
+            boardWorkspaces.put(boardId, workspaceId);
+        }
+    }
+
+    /** Drops the user's access model after commit, e.g. when a membership or their role changes. */
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> evictUser(userId));
+        }
+    }
+
+    /** Forgets a deleted board's workspace after commit. */
+    public void invalidateBoard(Long boardId) {
+        if (boardId != null) {
+            afterCommit(() -> evictBoard(boardId));
+        }
+    }
+
+    /** Drops everything after commit; for rare changes that affect many users, like deleting a workspace. */
+    public void invalidateAll() {
+        afterCommit(this::clear);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private synchronized void evictUser(Long userId) {
+        generation++;
+        users.values().removeIf(entry -> userId.equals(entry.access.getUserId()));
+    }
+
+    private synchronized void evictBoard(Long boardId) {
+        generation++;
+        boardWorkspaces.remove(boardId);
+    }
+
+    private synchronized void clear() {
+        generation++;
+        users.clear();
+        boardWorkspaces.clear();
+    }
+
+    private static final class Entry {
+        private final UserAccess access;
+        private final long cachedAt;
+
+        private Entry(UserAccess access, long cachedAt) {
+            this.access = access;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    /**
+     * Immutable snapshot of what one user may reach. Owned workspaces count as OWNER even
+     * without a membership row, matching {@link PermissionService#isWorkspaceOwnerOrAdmin}.
+     */
+    public static final class UserAccess {
+        private final Long userId;
+        private final String username;
+        private final User.UserRole role;
+        private final Set<Long> boardIds;
+        private final Map<Long, WorkspaceMember.WorkspaceRole> workspaceRoles;
+        private final Set<Long> ownedWorkspaceIds;
+
+        public UserAccess(Long userId, String username, User.UserRole role, Set<Long> boardIds,
+                          Map<Long, WorkspaceMember.WorkspaceRole> workspaceRoles, Set<Long> ownedWorkspaceIds) {
+            this.userId = userId;
+            this.username = username;
+            this.role = role;
+            this.boardIds = Set.copyOf(boardIds);
+            this.workspaceRoles = Map.copyOf(workspaceRoles);
+            this.ownedWorkspaceIds = Set.copyOf(ownedWorkspaceIds);
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public boolean isAdmin() {
+            return role == User.UserRole.ADMIN;
+        }
+
+        public boolean isBoardMember(Long boardId) {
+            return boardIds.contains(boardId);
+        }
+
+        public boolean isWorkspaceMember(Long workspaceId) {
+            return workspaceRoles.containsKey(workspaceId);
+        }
+
+        public boolean isWorkspaceOwnerOrAdmin(Long workspaceId) {
+            if (ownedWorkspaceIds.contains(workspaceId)) {
+                return true;
+            }
+            WorkspaceMember.WorkspaceRole workspaceRole = workspaceRoles.get(workspaceId);
+            return workspaceRole == WorkspaceMember.WorkspaceRole.OWNER
+                    || workspaceRole == WorkspaceMember.WorkspaceRole.ADMIN;
+        }
+    }
+}
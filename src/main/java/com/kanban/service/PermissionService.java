@@ -1,10 +1,9 @@
 package com.kanban.service;
 
-import com.kanban.model.Board;
+import com.kanban.config.PrimaryReads;
 import com.kanban.model.Card;
 import com.kanban.model.ListEntity;
 import com.kanban.model.User;
-import com.kanban.model.Workspace;
 import com.kanban.model.WorkspaceMember;
 import com.kanban.repository.BoardMemberRepository;
 import com.kanban.repository.BoardRepository;
@@ -13,12 +12,17 @@ import com.kanban.repository.ListRepository;
 import com.kanban.repository.UserRepository;
 import com.kanban.repository.WorkspaceMemberRepository;
 import com.kanban.repository.WorkspaceRepository;
+import com.kanban.security.UserPrincipal;
+import com.kanban.service.PermissionCache.UserAccess;
 import com.kanban.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -31,45 +35,50 @@ public class PermissionService {
     private final UserRepository userRepository;
     private final CardRepository cardRepository;
     private final ListRepository listRepository;
+    private final PermissionCache permissionCache;
+    private final PrimaryReads primaryReads;
     
+    /**
+     * Current user as a managed entity, for services that write it into cards or compare it.
+     * Looked up by the principal's id, so repeated calls in one request are answered from the
+     * persistence context instead of issuing the query again.
+     */
     @Transactional(readOnly = true)
     public User getCurrentUser() {
+        UserPrincipal principal = SecurityUtil.getCurrentPrincipal();
+        if (principal != null) {
+            return userRepository.findById(principal.getId())
+                    .filter(user -> !user.getIsDeleted())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        }
         String username = SecurityUtil.getCurrentUsername();
         return userRepository.findByUsernameAndIsDeletedFalse(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
     
+    // Id, role and display name as resolved at authentication; no query when a UserPrincipal is present
+    public UserPrincipal getCurrentPrincipal() {
+        UserPrincipal principal = SecurityUtil.getCurrentPrincipal();
+        return principal != null ? principal : UserPrincipal.from(getCurrentUser());
+    }
+    
     @Transactional(readOnly = true)
     public boolean hasWorkspaceAccess(Long workspaceId) {
-        User user = getCurrentUser();
-        if (user.getRole() == User.UserRole.ADMIN) {
+        UserAccess access = currentAccess();
+        if (access.isAdmin()) {
             return true; // Admins have access to all workspaces
         }
-        return workspaceMemberRepository.existsByWorkspaceIdAndUserIdAndIsDeletedFalse(workspaceId, user.getId());
+        return access.isWorkspaceMember(workspaceId);
     }
     
     @Transactional(readOnly = true)
     public boolean hasBoardAccess(Long boardId) {
-        User user = getCurrentUser();
-        if (user.getRole() == User.UserRole.ADMIN) {
-            return true; // Admins have access to all boards
-        }
-        
-        // Check if user is a board member (board-level assignment)
-        if (boardMemberRepository.existsByBoardIdAndUserIdAndIsDeletedFalse(boardId, user.getId())) {
-            return true;
-        }
-        
-        // Fallback to workspace access - fetch board with workspace to avoid lazy loading
-        return boardRepository.findByIdWithWorkspace(boardId)
-                .map(board -> board.getWorkspace() != null ? hasWorkspaceAccess(board.getWorkspace().getId()) : false)
-                .orElse(false);
+        return hasBoardAccess(boardId, currentAccess());
     }
     
     @Transactional(readOnly = true)
     public boolean isAdmin() {
-        User user = getCurrentUser();
-        return user.getRole() == User.UserRole.ADMIN;
+        return currentAccess().isAdmin();
     }
     
     @Transactional(readOnly = true)
@@ -104,16 +113,7 @@ public class PermissionService {
         if (user.getRole() == User.UserRole.ADMIN) {
             return true; // Admins have access to all boards
         }
-        
-        // Check if user is a board member (board-level assignment)
-        if (boardMemberRepository.existsByBoardIdAndUserIdAndIsDeletedFalse(boardId, user.getId())) {
-            return true;
-        }
-        
-        // Fallback to workspace access - fetch board with workspace to avoid lazy loading
-        return boardRepository.findByIdWithWorkspace(boardId)
-                .map(board -> board.getWorkspace() != null ? hasWorkspaceAccess(board.getWorkspace().getId(), user) : false)
-                .orElse(false);
+        return hasBoardAccess(boardId, accessFor(user));
     }
     
     @Transactional(readOnly = true)
@@ -121,7 +121,23 @@ public class PermissionService {
         if (user.getRole() == User.UserRole.ADMIN) {
             return true; // Admins have access to all workspaces
         }
-        return workspaceMemberRepository.existsByWorkspaceIdAndUserIdAndIsDeletedFalse(workspaceId, user.getId());
+        return accessFor(user).isWorkspaceMember(workspaceId);
+    }
+    
+    /**
+     * Board access of an already authenticated principal outside an HTTP request, e.g. a STOMP
+     * subscription. Not transactional on purpose: with the access model cached this is a few
+     * map lookups, and only a miss goes to the database.
+     */
+    public boolean hasBoardAccess(Long boardId, UserPrincipal principal) {
+        UserAccess access = accessFor(principal);
+        return access != null && hasBoardAccess(boardId, access);
+    }
+    
+    // Same as hasBoardAccess(Long, UserPrincipal), for a workspace
+    public boolean hasWorkspaceAccess(Long workspaceId, UserPrincipal principal) {
+        UserAccess access = accessFor(principal);
+        return access != null && (access.isAdmin() || access.isWorkspaceMember(workspaceId));
     }
     
     @Transactional(readOnly = true)
@@ -226,6 +242,22 @@ public class PermissionService {
         }
     }
     
+    // Same rules for a card that is already loaded with its creator and assignees; no queries
+    public boolean canEditCard(Card card, User user) {
+        if (user.getRole() == User.UserRole.ADMIN) {
+            return true;
+        }
+        boolean isCreator = card.getCreatedBy() != null && user.getId().equals(card.getCreatedBy().getId());
+        boolean isAssigned = card.getAssignedUsers() != null && card.getAssignedUsers().stream()
+                .anyMatch(u -> u != null && user.getId().equals(u.getId()));
+        return isCreator || isAssigned;
+    }
+    
+    // Deleting a card takes the same relationship to it as editing
+    public boolean canDeleteCard(Card card, User user) {
+        return canEditCard(card, user);
+    }
+    
     @Transactional(readOnly = true)
     public boolean canEditList(Long listId, User user) {
         if (user.getRole() == User.UserRole.ADMIN) {
@@ -266,37 +298,102 @@ public class PermissionService {
             return true; // System admins can do everything
         }
         
-        Workspace workspace = workspaceRepository.findByIdAndIsDeletedFalse(workspaceId)
-                .orElse(null);
-        if (workspace == null) {
+        // Owner of the (live) workspace, or a member with the OWNER or ADMIN role
+        return accessFor(user).isWorkspaceOwnerOrAdmin(workspaceId);
+    }
+    
+    @Transactional(readOnly = true)
+    public boolean isWorkspaceOwnerOrAdmin(Long boardId) {
+        UserAccess access = currentAccess();
+        Long workspaceId = boardWorkspaceId(boardId);
+        if (workspaceId == null) {
             return false;
         }
-        
-        // Check if user is the workspace owner (with null check)
-        if (workspace.getOwner() != null && workspace.getOwner().getId().equals(user.getId())) {
-            return true;
+        return access.isAdmin() || access.isWorkspaceOwnerOrAdmin(workspaceId);
+    }
+    
+    private boolean hasBoardAccess(Long boardId, UserAccess access) {
+        if (access.isAdmin()) {
+            return true; // Admins have access to all boards
         }
         
-        // Check if user is a workspace admin
-        WorkspaceMember membership = getWorkspaceMembership(workspaceId, user.getId());
-        if (membership != null && 
-            (membership.getRole() == WorkspaceMember.WorkspaceRole.OWNER || 
-             membership.getRole() == WorkspaceMember.WorkspaceRole.ADMIN)) {
+        // Check if user is a board member (board-level assignment)
+        if (access.isBoardMember(boardId)) {
             return true;
         }
         
-        return false;
+        // Fallback to workspace access
+        Long workspaceId = boardWorkspaceId(boardId);
+        return workspaceId != null && access.isWorkspaceMember(workspaceId);
     }
     
-    @Transactional(readOnly = true)
-    public boolean isWorkspaceOwnerOrAdmin(Long boardId) {
-        User user = getCurrentUser();
-        Board board = boardRepository.findByIdWithWorkspace(boardId)
-                .orElse(null);
-        if (board == null || board.getWorkspace() == null) {
-            return false;
+    // Cached access model of the authenticated user; on a miss, one user lookup plus three id queries.
+    // Loads that fill the cache read the primary, so a lagging replica cannot cache revoked access
+    private UserAccess currentAccess() {
+        UserAccess cached = permissionCache.getUser(SecurityUtil.getCurrentUsername(), System.currentTimeMillis());
+        if (cached != null) {
+            return cached;
+        }
+        // Read the generation before the user row, so a role change committed meanwhile discards the load
+        long generation = permissionCache.generation();
+        UserAccess access = primaryReads.read(() -> loadAccess(getCurrentUser()));
+        permissionCache.putUser(generation, access, System.currentTimeMillis());
+        return access;
+    }
+    
+    // The caller's User may predate a concurrent role change, so a model built from it is not cached
+    private UserAccess accessFor(User user) {
+        UserAccess cached = permissionCache.getUser(user.getUsername(), System.currentTimeMillis());
+        if (cached != null && user.getId().equals(cached.getUserId())) {
+            return cached;
+        }
+        return loadAccess(user);
+    }
+    
+    // Cached model of the principal's user, loaded and cached on a miss; null if the user is gone
+    private UserAccess accessFor(UserPrincipal principal) {
+        UserAccess cached = permissionCache.getUser(principal.getUsername(), System.currentTimeMillis());
+        if (cached != null && principal.getId().equals(cached.getUserId())) {
+            return cached;
+        }
+        long generation = permissionCache.generation();
+        UserAccess access = primaryReads.read(() -> userRepository.findById(principal.getId())
+                .filter(found -> !found.getIsDeleted())
+                .map(this::loadAccess)
+                .orElse(null));
+        if (access == null) {
+            return null;
+        }
+        permissionCache.putUser(generation, access, System.currentTimeMillis());
+        return access;
+    }
+    
+    private UserAccess loadAccess(User user) {
+        Map<Long, WorkspaceMember.WorkspaceRole> workspaceRoles = new HashMap<>();
+        for (WorkspaceMemberRepository.WorkspaceRoleRow row : workspaceMemberRepository.findWorkspaceRolesByUserId(user.getId())) {
+            workspaceRoles.put(row.getWorkspaceId(), row.getRole());
+        }
+        return new UserAccess(
+                user.getId(),
+                user.getUsername(),
+                user.getRole(),
+                new HashSet<>(boardMemberRepository.findBoardIdsByUserId(user.getId())),
+                workspaceRoles,
+                new HashSet<>(workspaceRepository.findIdsByOwnerId(user.getId())));
+    }
+    
+    // Boards never change workspace; the mapping is only dropped when the board is deleted
+    private Long boardWorkspaceId(Long boardId) {
+        Long cached = permissionCache.getBoardWorkspace(boardId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = permissionCache.generation();
+        Long workspaceId = primaryReads.read(() -> boardRepository.findWorkspaceId(boardId).orElse(null));
+        if (workspaceId != null) {
+            permissionCache.putBoardWorkspace(generation, boardId, workspaceId);
         }
-        return isWorkspaceOwnerOrAdmin(board.getWorkspace().getId(), user);
+        return workspaceId;
     }
 }
 
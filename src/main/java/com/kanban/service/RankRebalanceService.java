@@ -0,0 +1,107 @@
+package com.kanban.service;
+
+import com.kanban.model.Card;
+import com.kanban.model.ListEntity;
+import com.kanban.repository.CardRepository;
+import com.kanban.repository.ListRepository;
+import com.kanban.util.RankUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Respreads rank keys once they grow long. Moves only ever write the moved row, so keys in
+ * busy lists and boards get longer over time; this job rewrites a whole list (or a board's
+ * lists) occasionally instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class RankRebalanceService {
+
+    private final CardRepository cardRepository;
+    private final ListRepository listRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BoardVersionService boardVersionService;
+
+    private final Set<Long> pendingCardLists = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingBoards = ConcurrentHashMap.newKeySet();
+
+    public void requestCardRebalance(Long listId) {
+        pendingCardLists.add(listId);
+    }
+
+    public void requestListRebalance(Long boardId) {
+        pendingBoards.add(boardId);
+    }
+
+    @Transactional
+    public void rebalanceCards(Long listId) {
+        List<Card> cards = cardRepository.findByListIdAndIsDeletedFalse(listId);
+
+        // Rows created before ranks existed have no key yet; they follow the ranked cards in their legacy
+        // position order, as readers show them. Positions of ranked cards are no longer maintained
+        cards.sort(Comparator.comparing(Card::getRank, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                .thenComparing(Card::getPosition)
+                .thenComparing(Card::getId));
+
+        long version = cards.isEmpty() ? 0L
+                : boardVersionService.recordChange(cards.get(0).getList().getBoard().getId());
+        List<String> ranks = RankUtil.spread(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setRank(ranks.get(i));
+            cards.get(i).setPosition(i);
+            cards.get(i).setChangeVersion(version);
+        }
+        cardRepository.saveAllAndFlush(cards);
+        pendingCardLists.remove(listId);
+    }
+
+    @Transactional
+    public void rebalanceLists(Long boardId) {
+        List<ListEntity> lists = listRepository.findByBoardIdAndIsDeletedFalse(boardId);
+        
+        boolean hasLegacyRows = lists.stream().anyMatch(list -> list.getRank() == null);
+        Comparator<ListEntity> order = hasLegacyRows
+                ? Comparator.comparing(ListEntity::getPosition).thenComparing(ListEntity::getId)
+                : Comparator.comparing(ListEntity::getRank).thenComparing(ListEntity::getId);
+        lists.sort(order);
+        
+        long version = boardVersionService.recordChange(boardId);
+        List<String> ranks = RankUtil.spread(lists.size());
+        for (int i = 0; i < lists.size(); i++) {
+            lists.get(i).setRank(ranks.get(i));
+            lists.get(i).setPosition(i);
+            lists.get(i).setChangeVersion(version);
+        }
+        listRepository.saveAllAndFlush(lists);
+        pendingBoards.remove(boardId);
+    }
+
+    @Scheduled(fixedDelayString = "${kanban.ranking.rebalance-interval-ms:10000}")
+    public void rebalancePending() {
+        for (Long listId : new ArrayList<>(pendingCardLists)) {
+            pendingCardLists.remove(listId);
+            transactionTemplate.executeWithoutResult(status -> rebalanceCards(listId));
+        }
+        for (Long boardId : new ArrayList<>(pendingBoards)) {
+            pendingBoards.remove(boardId);
+            transactionTemplate.executeWithoutResult(status -> rebalanceLists(boardId));
+        }
+    }
+
+    // Picks up lists and boards that still carry un-migrated rows or whose rebalance request was lost on restart
+    @Scheduled(fixedDelayString = "${kanban.ranking.sweep-interval-ms:3600000}",
+               initialDelayString = "${kanban.ranking.sweep-initial-delay-ms:60000}")
+    public void sweep() {
+        pendingCardLists.addAll(cardRepository.findListIdsNeedingRebalance(RankUtil.REBALANCE_THRESHOLD));
+        pendingBoards.addAll(listRepository.findBoardIdsNeedingRebalance(RankUtil.REBALANCE_THRESHOLD));
+    }
+}
@@ -24,6 +24,7 @@ public class WorkspaceService {
     private final UserRepository userRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
     private final PermissionService permissionService;
+    private final PermissionCache permissionCache;
     
     @Data
     @NoArgsConstructor
@@ -67,6 +68,7 @@ public class WorkspaceService {
                 .isDeleted(false)
                 .build();
         workspaceMemberRepository.save(member);
+        permissionCache.invalidateUser(user.getId());
         
         return new WorkspaceDTO(
                 workspace.getId(),
@@ -136,6 +138,7 @@ public class WorkspaceService {
                         workspaceMemberRepository.save(member);
                     }
                 );
+        permissionCache.invalidateUser(userId);
     }
     
     @Transactional
@@ -147,6 +150,7 @@ public class WorkspaceService {
         
         member.setIsDeleted(true);
         workspaceMemberRepository.save(member);
+        permissionCache.invalidateUser(userId);
     }
 }
 
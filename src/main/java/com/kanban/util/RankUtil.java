@@ -0,0 +1,154 @@
+package com.kanban.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Lexicographic rank keys used to order cards and lists without renumbering their siblings.
+ * Keys are base-36 strings ([0-9a-z]) compared with plain string ordering and never end in '0',
+ * so there is always room for another key between two neighbours.
+ */
+public class RankUtil {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final char MIDDLE = 'i';
+
+    // Keys longer than this still sort correctly, but the owning list should be respread
+    public static final int REBALANCE_THRESHOLD = 24;
+
+    /**
+     * Returns a key that sorts strictly between {@code before} and {@code after}.
+     * A null bound means "start of list" or "end of list" respectively.
+     */
+    public static String between(String before, String after) {
+        if (before == null && after == null) {
+            return String.valueOf(MIDDLE);
+        }
+        if (after == null) {
+            return increment(before);
+        }
+        if (before != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank '" + before + "' must sort before '" + after + "'");
+        }
+
+        String lo = before != null ? before : "";
+        String hi = after;
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int l = i < lo.length() ? digit(lo.charAt(i)) : 0;
+            int h = hi == null ? BASE : (i < hi.length() ? digit(hi.charAt(i)) : 0);
+            if (hi != null && i >= lo.length() && i >= hi.length()) {
+                throw new IllegalArgumentException("No room between ranks '" + before + "' and '" + after + "'");
+            }
+            if (l == h) {
+                key.append(DIGITS.charAt(l));
+                continue;
+            }
+            if (l > h) {
+                throw new IllegalArgumentException("Rank '" + before + "' must sort before '" + after + "'");
+            }
+            int mid = (l + h) / 2;
+            if (mid > l) {
+                key.append(DIGITS.charAt(mid));
+                return key.toString();
+            }
+            // Adjacent digits: keep the lower one and look for room in the next position
+            key.append(DIGITS.charAt(l));
+            hi = null;
+        }
+    }
+
+    /** Rank keys of siblings in order, skipping {@code offset} and returning at most {@code limit}. */
+    @FunctionalInterface
+    public interface RankWindow {
+        List<String> ranks(int offset, int limit);
+    }
+
+    /**
+     * Key for an item placed at {@code index} among its siblings, reading only its neighbours
+     * through {@code window} (and {@code lastRank} when appending past the end). If the neighbours
+     * have no keys yet or collide, {@code rebalance} respreads the siblings once and the read is
+     * retried. Callers queue a later rebalance themselves if the key {@link #needsRebalance}.
+     */
+    public static String rankAt(int index, RankWindow window, Supplier<String> lastRank, Runnable rebalance) {
+        String[] bounds = neighbourRanks(index, window, lastRank);
+        if (bounds == null) {
+            rebalance.run();
+            bounds = neighbourRanks(index, window, lastRank);
+            if (bounds == null) {
+                throw new IllegalStateException("Unable to rank item at index " + index);
+            }
+        }
+        return between(bounds[0], bounds[1]);
+    }
+
+    // Ranks either side of the index, or null if they are missing or out of order
+    private static String[] neighbourRanks(int index, RankWindow window, Supplier<String> lastRank) {
+        List<String> ranks = window.ranks(Math.max(index - 1, 0), index > 0 ? 2 : 1);
+        if (ranks.contains(null)) {
+            return null;
+        }
+
+        String before;
+        String after;
+        if (index <= 0) {
+            before = null;
+            after = ranks.isEmpty() ? null : ranks.get(0);
+        } else if (ranks.isEmpty()) {
+            // Index past the end: append after the current last sibling
+            before = lastRank.get();
+            after = null;
+        } else {
+            before = ranks.get(0);
+            after = ranks.size() > 1 ? ranks.get(1) : null;
+        }
+
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            return null;
+        }
+        return new String[] { before, after };
+    }
+
+    /**
+     * Evenly spaced, equal-length keys for {@code count} items, used when respreading a list.
+     */
+    public static List<String> spread(int count) {
+        int width = Math.max(2, Integer.toString(count, BASE).length());
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String digits = Integer.toString(i, BASE);
+            keys.add("0".repeat(width - digits.length()) + digits + MIDDLE);
+        }
+        return keys;
+    }
+
+    public static boolean needsRebalance(String rank) {
+        return rank == null || rank.length() > REBALANCE_THRESHOLD;
+    }
+
+    // Appending is the common case, so count up at the key's own width instead of bisecting
+    // towards infinity. Digits carried past reset to '1' rather than '0', so keys never end in '0';
+    // a digit is only added once every digit is already 'z'.
+    private static String increment(String key) {
+        char[] digits = key.toCharArray();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            int d = digit(digits[i]);
+            if (d < BASE - 1) {
+                digits[i] = DIGITS.charAt(d + 1);
+                return new String(digits);
+            }
+            digits[i] = DIGITS.charAt(1);
+        }
+        return key + MIDDLE;
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return d;
+    }
+}
@@ -1,5 +1,6 @@
 package com.kanban.util;
 
+import com.kanban.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,5 +14,13 @@ public class SecurityUtil {
         }
         return null;
     }
+    
+    public static UserPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
+            return (UserPrincipal) authentication.getPrincipal();
+        }
+        return null;
+    }
 }
 
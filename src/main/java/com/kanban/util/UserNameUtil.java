@@ -0,0 +1,31 @@
+package com.kanban.util;
+
+import com.kanban.model.User;
+
+public class UserNameUtil {
+    
+    /**
+     * Name shown for a user on cards and in events: the full name when set, otherwise the
+     * username with any email domain cut off and the first letter capitalised.
+     */
+    public static String format(String fullName, String username) {
+        if (fullName != null && !fullName.trim().isEmpty()) {
+            return fullName;
+        }
+        if (username == null) {
+            return null;
+        }
+        if (username.contains("@")) {
+            // If username is an email, extract the local part
+            username = username.substring(0, username.indexOf("@"));
+        }
+        if (!username.isEmpty()) {
+            username = username.substring(0, 1).toUpperCase() + username.substring(1);
+        }
+        return username;
+    }
+    
+    public static String format(User user) {
+        return format(user.getFullName(), user.getUsername());
+    }
+}
@@ -0,0 +1,82 @@
+package com.kanban.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private ThreadPoolTaskExecutor executor(long enqueueTimeoutMillis) {
+        executor = new AsyncConfig().boardEventExecutor(1, enqueueTimeoutMillis);
+        executor.initialize();
+        return executor;
+    }
+
+    @Test
+    void testFullQueue_CallerWaitsAndOrderIsKept() throws Exception {
+        ThreadPoolTaskExecutor executor = executor(5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+        Thread caller = Thread.currentThread();
+
+        executor.execute(() -> await(release));
+        executor.execute(() -> ran.add("first"));
+        new Thread(() -> {
+            sleep(100);
+            release.countDown();
+        }).start();
+        // The queue is full: this waits for room rather than running ahead of "first" on the caller
+        executor.execute(() -> ran.add(Thread.currentThread() == caller ? "caller" : "second"));
+
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second"), ran);
+    }
+
+    @Test
+    void testFullQueue_DropsAndCountsAfterTimeout() {
+        ThreadPoolTaskExecutor executor = executor(50);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+
+        executor.execute(() -> await(release));
+        executor.execute(() -> ran.add("queued"));
+        executor.execute(() -> ran.add("dropped"));
+        release.countDown();
+
+        AsyncConfig.WaitForQueuePolicy policy =
+                (AsyncConfig.WaitForQueuePolicy) executor.getThreadPoolExecutor().getRejectedExecutionHandler();
+        assertEquals(1, policy.getDropped());
+        assertFalse(ran.contains("dropped"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
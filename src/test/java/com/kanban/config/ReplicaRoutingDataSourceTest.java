@@ -0,0 +1,144 @@
+package com.kanban.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each one knows its own
+ * name, so a query shows which of them a transaction was routed to.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private PrimaryReads primaryReads;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(database("primary"), database("replica"), "SELECT 0", 1_000, 5_000, 2);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        primaryReads = new PrimaryReads(Optional.of(routing), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplicaOnceLagIsKnown() {
+        assertEquals("primary", readOnly.execute(status -> node())); // Lag not measured yet
+
+        routing.checkLag();
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node()); // Outside a transaction
+        assertEquals(1L, routing.getStats().getReplicaReads());
+        assertEquals(1L, routing.getStats().getLagFallbacks());
+    }
+
+    @Test
+    void testLaggingOrUnreachableReplicaFallsBackToPrimary() {
+        routing.updateLag(5_000);
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        routing.updateLag(0);
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        ReplicaRoutingDataSource broken = new ReplicaRoutingDataSource(database("primary"), database("replica"),
+                "SELECT lag FROM missing_table", 1_000, 5_000, 2);
+        broken.updateLag(0);
+        broken.checkLag();
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, broken.route(true, null, 0));
+        assertNull(broken.getStats().getReplicaLagMillis());
+    }
+
+    @Test
+    void testCommittedWriteKeepsUserOnPrimaryForWindow() {
+        routing.checkLag();
+        SecurityContextHolder.getContext().setAuthentication(authentication("alice"));
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        // A rolled-back write does not open the window
+        SecurityContextHolder.getContext().setAuthentication(authentication("bob"));
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals(1, routing.getStats().getTrackedWriters());
+    }
+
+    @Test
+    void testReadYourWritesWindowExpiresAndIsBounded() {
+        routing.updateLag(0);
+        routing.recordWrite("alice", 1_000);
+
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routing.route(true, "alice", 5_999));
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routing.route(true, "bob", 5_999));
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routing.route(true, "alice", 6_000));
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routing.route(false, "bob", 6_000));
+
+        routing.recordWrite("alice", 7_000);
+        routing.recordWrite("bob", 7_000);
+        routing.recordWrite("carol", 7_000); // Beyond two tracked users the oldest is dropped
+        assertEquals(2, routing.getStats().getTrackedWriters());
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routing.route(true, "alice", 7_001));
+    }
+
+    @Test
+    void testPrimaryReadsLeaveReplicaTransaction() {
+        routing.updateLag(0);
+
+        // The outer transaction is on the replica; the cache-filling read inside it is not
+        assertEquals("replica|primary|replica", readOnly.execute(status ->
+                node() + "|" + primaryReads.read(this::node) + "|" + node()));
+        assertEquals("primary", routing.onPrimary(() -> readOnly.execute(status -> node())));
+        assertEquals("primary", readWrite.execute(status -> primaryReads.read(this::node)));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        template.update("DELETE FROM node");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username) {
+        User user = new User(username, "", List.of());
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
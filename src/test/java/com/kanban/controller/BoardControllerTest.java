@@ -3,8 +3,7 @@ package com.kanban.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kanban.dto.BoardDTO;
 import com.kanban.dto.CreateBoardRequest;
-import com.kanban.model.User;
-import com.kanban.repository.BoardRepository;
+import com.kanban.messaging.BoardEventLog;
 import com.kanban.security.JwtAuthenticationFilter;
 import com.kanban.security.JwtUtil;
 import com.kanban.service.BoardService;
@@ -16,7 +15,6 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,7 +24,6 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,14 +44,11 @@ class BoardControllerTest {
     private BoardService boardService;
 
     @MockBean
-    private SimpMessagingTemplate messagingTemplate;
+    private BoardEventLog boardEventLog;
 
     @MockBean
     private PermissionService permissionService;
 
-    @MockBean
-    private BoardRepository boardRepository;
-
     // Mock security dependencies required by SecurityConfig
     @MockBean
     private JwtUtil jwtUtil;
@@ -87,11 +81,6 @@ class BoardControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void testCreateBoard_Success() throws Exception {
-        when(permissionService.getCurrentUser()).thenReturn(User.builder()
-                .id(1L)
-                .username("testuser")
-                .fullName("Test User")
-                .build());
         when(boardService.createBoard(any(CreateBoardRequest.class))).thenReturn(testBoardDTO);
 
         mockMvc.perform(post("/boards")
@@ -102,22 +91,60 @@ class BoardControllerTest {
                 .andExpect(jsonPath("$.name").value("Test Board"));
 
         verify(boardService, times(1)).createBoard(any(CreateBoardRequest.class));
-        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
     }
 
     @Test
     @WithMockUser(username = "testuser")
     void testGetBoardById_Success() throws Exception {
+        when(boardService.getBoardETag(1L, null)).thenReturn("\"board-1-v3\"");
         when(boardService.getBoardById(1L)).thenReturn(testBoardDTO);
 
         mockMvc.perform(get("/boards/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"board-1-v3\""))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.name").value("Test Board"));
 
         verify(boardService, times(1)).getBoardById(1L);
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetBoardById_NotModified() throws Exception {
+        when(boardService.getBoardETag(1L, null)).thenReturn("\"board-1-v3\"");
+
+        mockMvc.perform(get("/boards/1").header("If-None-Match", "\"board-1-v3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(boardService, never()).getBoardById(anyLong());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetBoardById_StaleETagReloads() throws Exception {
+        when(boardService.getBoardETag(1L, null)).thenReturn("\"board-1-v4\"");
+        when(boardService.getBoardById(1L)).thenReturn(testBoardDTO);
+
+        mockMvc.perform(get("/boards/1").header("If-None-Match", "\"board-1-v3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"board-1-v4\""));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void testGetBoardById_WindowHasItsOwnETag() throws Exception {
+        when(boardService.getBoardETag(1L, 20)).thenReturn("\"board-1-v3-w20\"");
+        when(boardService.getBoardWindow(1L, 20)).thenReturn(testBoardDTO);
+
+        // The full board's tag must not validate a windowed body
+        mockMvc.perform(get("/boards/1").param("cardWindow", "20").header("If-None-Match", "\"board-1-v3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"board-1-v3-w20\""));
+
+        verify(boardService, never()).getBoardById(anyLong());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void testGetBoardsByWorkspaceId_Success() throws Exception {
@@ -135,11 +162,6 @@ class BoardControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void testUpdateBoard_Success() throws Exception {
-        when(permissionService.getCurrentUser()).thenReturn(User.builder()
-                .id(1L)
-                .username("testuser")
-                .fullName("Test User")
-                .build());
         when(boardService.updateBoard(anyLong(), any(CreateBoardRequest.class))).thenReturn(testBoardDTO);
 
         mockMvc.perform(put("/boards/1")
@@ -149,25 +171,19 @@ class BoardControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
 
         verify(boardService, times(1)).updateBoard(anyLong(), any(CreateBoardRequest.class));
-        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
     }
 
     @Test
     @WithMockUser(username = "testuser")
     void testDeleteBoard_Success() throws Exception {
-        when(permissionService.getCurrentUser()).thenReturn(User.builder()
-                .id(1L)
-                .username("testuser")
-                .fullName("Test User")
-                .build());
-        when(boardService.getBoardById(1L)).thenReturn(testBoardDTO);
         doNothing().when(boardService).deleteBoard(1L);
 
         mockMvc.perform(delete("/boards/1"))
                 .andExpect(status().isNoContent());
 
         verify(boardService, times(1)).deleteBoard(1L);
-        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+        // The service raises the broadcast itself, so the board is not loaded first
+        verify(boardService, never()).getBoardById(anyLong());
     }
 }
 
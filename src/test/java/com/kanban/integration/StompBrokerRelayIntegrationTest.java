@@ -0,0 +1,164 @@
+package com.kanban.integration;
+
+import com.kanban.dto.CardUpdateMessage;
+import com.kanban.model.User;
+import com.kanban.repository.UserRepository;
+import com.kanban.security.JwtUtil;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application in relay mode against an embedded Artemis broker standing in for the
+ * shared STOMP broker, and checks that board broadcasts make the round trip through it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class StompBrokerRelayIntegrationTest {
+
+    private static EmbeddedActiveMQ broker;
+    private static int brokerPort;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) throws Exception {
+        startBroker();
+        registry.add("kanban.websocket.broker.mode", () -> "relay");
+        registry.add("kanban.websocket.broker.relay.host", () -> "127.0.0.1");
+        registry.add("kanban.websocket.broker.relay.port", () -> brokerPort);
+    }
+
+    private static synchronized void startBroker() throws Exception {
+        if (broker != null) {
+            return;
+        }
+        brokerPort = freePort();
+        Configuration configuration = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + brokerPort + "?protocols=STOMP");
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        if (broker != null) {
+            broker.stop();
+            broker = null;
+        }
+    }
+
+    @Test
+    void testRelayReplacesSimpleBroker() {
+        assertFalse(applicationContext.getBeansOfType(StompBrokerRelayMessageHandler.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(SimpleBrokerMessageHandler.class).isEmpty());
+    }
+
+    @Test
+    void testBoardBroadcastRoundTripsThroughBroker() throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new SockJsClient(
+                Collections.singletonList(new WebSocketTransport(new StandardWebSocketClient()))
+        ));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        BlockingQueue<CardUpdateMessage> messages = new LinkedBlockingQueue<>();
+        String destination = "/topic/board/42";
+
+        // Admins may subscribe to any board, so the board itself does not need to exist
+        User admin = userRepository.findByUsernameAndIsDeletedFalse("relay-admin").orElseGet(() -> userRepository.save(User.builder()
+                .username("relay-admin")
+                .email("relay-admin@test.com")
+                .fullName("Relay Admin")
+                .passwordHash("hashed")
+                .role(User.UserRole.ADMIN)
+                .isDeleted(false)
+                .build()));
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + jwtUtil.generateToken(admin));
+
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/api/ws", new WebSocketHttpHeaders(),
+                connectHeaders, new StompSessionHandlerAdapter() {
+            @Override
+            public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+                session.subscribe(destination, new StompFrameHandler() {
+                    @Override
+                    public Type getPayloadType(StompHeaders headers) {
+                        return CardUpdateMessage.class;
+                    }
+
+                    @Override
+                    public void handleFrame(StompHeaders headers, Object payload) {
+                        messages.offer((CardUpdateMessage) payload);
+                    }
+                });
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        // The subscription reaches the broker asynchronously, so resend until it is in place
+        CardUpdateMessage received = null;
+        for (int i = 0; i < 50 && received == null; i++) {
+            messagingTemplate.convertAndSend(destination,
+                    new CardUpdateMessage("DELETED", null, 42L, 1L, 7L, 1L, "Relay Test"));
+            received = messages.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        assertNotNull(received, "Expected the broadcast to come back through the broker");
+        assertEquals("DELETED", received.getType());
+        assertEquals(42L, received.getBoardId());
+
+        session.disconnect();
+    }
+}
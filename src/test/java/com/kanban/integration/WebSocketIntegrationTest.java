@@ -1,8 +1,8 @@
 package com.kanban.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.dto.BoardEvent;
 import com.kanban.dto.CardDTO;
-import com.kanban.dto.CardUpdateMessage;
 import com.kanban.dto.CreateCardRequest;
 import com.kanban.model.Board;
 import com.kanban.model.Card;
@@ -33,10 +33,10 @@ import org.springframework.messaging.simp.stomp.StompHeaders;
 import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.junit.jupiter.api.Disabled;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.messaging.WebSocketStompClient;
 import org.springframework.web.socket.sockjs.client.SockJsClient;
@@ -99,7 +99,7 @@ class WebSocketIntegrationTest {
     private ListEntity list;
     private String jwtToken;
     private WebSocketStompClient stompClient;
-    private BlockingQueue<CardUpdateMessage> messages;
+    private BlockingQueue<BoardEvent> messages;
 
     @BeforeEach
     void setUp() {
@@ -123,8 +123,7 @@ class WebSocketIntegrationTest {
         testUser = userRepository.save(testUser);
 
         // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(testUser.getUsername());
-        jwtToken = jwtUtil.generateToken(userDetails.getUsername());
+        jwtToken = jwtUtil.generateToken(testUser);
 
         // Create workspace and board
         workspace = Workspace.builder()
@@ -167,11 +166,18 @@ class WebSocketIntegrationTest {
         messages = new LinkedBlockingQueue<>();
     }
 
+    // STOMP CONNECT carries the same bearer token as REST calls
+    private StompHeaders authHeaders() {
+        StompHeaders headers = new StompHeaders();
+        headers.add("Authorization", "Bearer " + jwtToken);
+        return headers;
+    }
+
     @Test
     void testWebSocketConnection() throws Exception {
         String wsUrl = "ws://localhost:" + port + "/api/ws";
 
-        StompSession session = stompClient.connect(wsUrl, new StompSessionHandlerAdapter() {
+        StompSession session = stompClient.connect(wsUrl, new WebSocketHttpHeaders(), authHeaders(), new StompSessionHandlerAdapter() {
             @Override
             public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
                 // Connection successful
@@ -190,19 +196,19 @@ class WebSocketIntegrationTest {
         String wsUrl = "ws://localhost:" + port + "/api/ws";
         String destination = "/topic/board/" + board.getId();
 
-        StompSession session = stompClient.connect(wsUrl, new StompSessionHandlerAdapter() {
+        StompSession session = stompClient.connect(wsUrl, new WebSocketHttpHeaders(), authHeaders(), new StompSessionHandlerAdapter() {
             @Override
             public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
                 session.subscribe(destination, new StompFrameHandler() {
                     @Override
                     public Type getPayloadType(StompHeaders headers) {
-                        return CardUpdateMessage.class;
+                        return BoardEvent.class;
                     }
 
                     @Override
                     public void handleFrame(StompHeaders headers, Object payload) {
-                        if (payload instanceof CardUpdateMessage) {
-                            messages.offer((CardUpdateMessage) payload);
+                        if (payload instanceof BoardEvent) {
+                            messages.offer((BoardEvent) payload);
                         }
                     }
                 });
@@ -234,7 +240,7 @@ class WebSocketIntegrationTest {
         assertEquals(org.springframework.http.HttpStatus.CREATED, response.getStatusCode());
 
         // Wait for WebSocket message with longer timeout and retry
-        CardUpdateMessage message = null;
+        BoardEvent message = null;
         for (int i = 0; i < 10; i++) {
             message = messages.poll(1, TimeUnit.SECONDS);
             if (message != null) break;
@@ -242,7 +248,7 @@ class WebSocketIntegrationTest {
         }
 
         assertNotNull(message, "Expected WebSocket message for card creation");
-        assertEquals("CREATED", message.getType());
+        assertEquals(BoardEvent.Type.CREATED, message.getType());
         assertNotNull(message.getCard());
         assertEquals("Test Card", message.getCard().getTitle());
 
@@ -270,19 +276,19 @@ class WebSocketIntegrationTest {
         String wsUrl = "ws://localhost:" + port + "/api/ws";
         String destination = "/topic/board/" + board.getId();
 
-        StompSession session = stompClient.connect(wsUrl, new StompSessionHandlerAdapter() {
+        StompSession session = stompClient.connect(wsUrl, new WebSocketHttpHeaders(), authHeaders(), new StompSessionHandlerAdapter() {
             @Override
             public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
                 session.subscribe(destination, new StompFrameHandler() {
                     @Override
                     public Type getPayloadType(StompHeaders headers) {
-                        return CardUpdateMessage.class;
+                        return BoardEvent.class;
                     }
 
                     @Override
                     public void handleFrame(StompHeaders headers, Object payload) {
-                        if (payload instanceof CardUpdateMessage) {
-                            messages.offer((CardUpdateMessage) payload);
+                        if (payload instanceof BoardEvent) {
+                            messages.offer((BoardEvent) payload);
                         }
                     }
                 });
@@ -312,7 +318,7 @@ class WebSocketIntegrationTest {
         assertEquals(org.springframework.http.HttpStatus.OK, response.getStatusCode());
 
         // Wait for WebSocket message with longer timeout and retry
-        CardUpdateMessage message = null;
+        BoardEvent message = null;
         for (int i = 0; i < 10; i++) {
             message = messages.poll(1, TimeUnit.SECONDS);
             if (message != null) break;
@@ -320,9 +326,9 @@ class WebSocketIntegrationTest {
         }
 
         assertNotNull(message, "Expected WebSocket message for card update");
-        assertEquals("UPDATED", message.getType());
-        assertNotNull(message.getCard());
-        assertEquals("Updated Title", message.getCard().getTitle());
+        assertEquals(BoardEvent.Type.UPDATED, message.getType());
+        assertNull(message.getCard());
+        assertEquals("Updated Title", message.getChanges().get("title"));
 
         session.disconnect();
     }
@@ -334,19 +340,19 @@ class WebSocketIntegrationTest {
         String destination = "/topic/board/" + board.getId();
 
         // Create two subscribers
-        StompSession session1 = stompClient.connect(wsUrl, new StompSessionHandlerAdapter() {
+        StompSession session1 = stompClient.connect(wsUrl, new WebSocketHttpHeaders(), authHeaders(), new StompSessionHandlerAdapter() {
             @Override
             public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
                 session.subscribe(destination, new StompFrameHandler() {
                     @Override
                     public Type getPayloadType(StompHeaders headers) {
-                        return CardUpdateMessage.class;
+                        return BoardEvent.class;
                     }
 
                     @Override
                     public void handleFrame(StompHeaders headers, Object payload) {
-                        if (payload instanceof CardUpdateMessage) {
-                            messages.offer((CardUpdateMessage) payload);
+                        if (payload instanceof BoardEvent) {
+                            messages.offer((BoardEvent) payload);
                         }
                     }
                 });
@@ -357,21 +363,21 @@ class WebSocketIntegrationTest {
                 Collections.singletonList(new WebSocketTransport(new StandardWebSocketClient()))
         ));
         stompClient2.setMessageConverter(new MappingJackson2MessageConverter());
-        BlockingQueue<CardUpdateMessage> messages2 = new LinkedBlockingQueue<>();
+        BlockingQueue<BoardEvent> messages2 = new LinkedBlockingQueue<>();
 
-        StompSession session2 = stompClient2.connect(wsUrl, new StompSessionHandlerAdapter() {
+        StompSession session2 = stompClient2.connect(wsUrl, new WebSocketHttpHeaders(), authHeaders(), new StompSessionHandlerAdapter() {
             @Override
             public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
                 session.subscribe(destination, new StompFrameHandler() {
                     @Override
                     public Type getPayloadType(StompHeaders headers) {
-                        return CardUpdateMessage.class;
+                        return BoardEvent.class;
                     }
 
                     @Override
                     public void handleFrame(StompHeaders headers, Object payload) {
-                        if (payload instanceof CardUpdateMessage) {
-                            messages2.offer((CardUpdateMessage) payload);
+                        if (payload instanceof BoardEvent) {
+                            messages2.offer((BoardEvent) payload);
                         }
                     }
                 });
@@ -401,8 +407,8 @@ class WebSocketIntegrationTest {
         assertEquals(org.springframework.http.HttpStatus.CREATED, response.getStatusCode());
 
         // Both subscribers should receive the message with retry
-        CardUpdateMessage message1 = null;
-        CardUpdateMessage message2 = null;
+        BoardEvent message1 = null;
+        BoardEvent message2 = null;
         for (int i = 0; i < 10; i++) {
             if (message1 == null) message1 = messages.poll(1, TimeUnit.SECONDS);
             if (message2 == null) message2 = messages2.poll(1, TimeUnit.SECONDS);
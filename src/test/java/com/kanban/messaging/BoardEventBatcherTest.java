@@ -0,0 +1,156 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardEvent;
+import com.kanban.dto.BoardEventBatch;
+import com.kanban.dto.BoardEventBatchStatsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BoardEventBatcherTest {
+
+    private BoardEventBus bus;
+    private BoardEventBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        bus = mock(BoardEventBus.class);
+        // A long window keeps the scheduled flush out of the way, so tests flush by hand
+        batcher = new BoardEventBatcher(bus, 60_000, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void testFlush_SendsSingleEventAsIs() {
+        BoardEvent created = cardEvent(BoardEvent.Type.CREATED, 1L, 10L, null);
+
+        batcher.publish(7L, created);
+        batcher.flush(7L);
+
+        verify(bus).publish(7L, created);
+    }
+
+    @Test
+    void testFlush_CollapsesUpdatesOfSameCard() {
+        BoardEvent renamed = cardEvent(BoardEvent.Type.UPDATED, 1L, 10L, null);
+        renamed.setChanges(Map.of("title", "Draft", "position", 3));
+        BoardEvent moved = cardEvent(BoardEvent.Type.MOVED, 1L, 20L, 10L);
+        moved.setPosition(0);
+        BoardEvent retitled = cardEvent(BoardEvent.Type.UPDATED, 1L, 20L, null);
+        retitled.setChanges(Map.of("title", "Final"));
+
+        batcher.publish(7L, renamed);
+        batcher.publish(7L, moved);
+        batcher.publish(7L, retitled);
+        batcher.flush(7L);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(bus).publish(eq(7L), captor.capture());
+        BoardEvent merged = (BoardEvent) captor.getValue();
+        assertEquals(BoardEvent.Type.MOVED, merged.getType());
+        assertEquals(10L, merged.getPreviousListId());
+        assertEquals(20L, merged.getListId());
+        assertEquals(0, merged.getPosition());
+        assertEquals(Map.of("title", "Final"), merged.getChanges());
+
+        BoardEventBatchStatsDTO stats = batcher.getStats();
+        assertEquals(3L, stats.getEventsReceived());
+        assertEquals(2L, stats.getEventsCoalesced());
+    }
+
+    @Test
+    void testFlush_UpdateAfterMoveDecidesPlacement() {
+        BoardEvent moved = cardEvent(BoardEvent.Type.MOVED, 1L, 20L, 10L);
+        moved.setPosition(0);
+        moved.setRank("0i");
+        BoardEvent reordered = cardEvent(BoardEvent.Type.UPDATED, 1L, 20L, null);
+        reordered.setChanges(Map.of("position", 4, "rank", "4i"));
+
+        batcher.publish(7L, moved);
+        batcher.publish(7L, reordered);
+        batcher.flush(7L);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(bus).publish(eq(7L), captor.capture());
+        BoardEvent merged = (BoardEvent) captor.getValue();
+        assertEquals(BoardEvent.Type.MOVED, merged.getType());
+        assertEquals(10L, merged.getPreviousListId());
+        assertEquals(20L, merged.getListId());
+        assertEquals(4, merged.getPosition());
+        assertEquals("4i", merged.getRank());
+    }
+
+    @Test
+    void testFlush_WrapsSeveralEventsInOneBatch() {
+        BoardEvent created = cardEvent(BoardEvent.Type.CREATED, 1L, 10L, null);
+        BoardEvent deleted = cardEvent(BoardEvent.Type.DELETED, 2L, 10L, null);
+
+        batcher.publish(7L, created);
+        batcher.publish(7L, deleted);
+        batcher.flush(7L);
+        batcher.flush(7L);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(bus, times(1)).publish(eq(7L), captor.capture());
+        BoardEventBatch batch = (BoardEventBatch) captor.getValue();
+        assertEquals("BATCH", batch.getType());
+        assertEquals(7L, batch.getBoardId());
+        assertEquals(2, batch.getEvents().size());
+        assertSame(created, batch.getEvents().get(0));
+        assertSame(deleted, batch.getEvents().get(1));
+    }
+
+    @Test
+    void testPublish_FlattensCallerBatchIntoPendingEvents() {
+        BoardEvent created = cardEvent(BoardEvent.Type.CREATED, 1L, 10L, null);
+        BoardEvent moved = cardEvent(BoardEvent.Type.MOVED, 2L, 20L, 10L);
+        BoardEvent deleted = cardEvent(BoardEvent.Type.DELETED, 3L, 10L, null);
+
+        batcher.publish(7L, created);
+        batcher.publish(7L, new BoardEventBatch("BATCH", 7L, List.of(moved, deleted)));
+        batcher.flush(7L);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(bus, times(1)).publish(eq(7L), captor.capture());
+        BoardEventBatch batch = (BoardEventBatch) captor.getValue();
+        assertEquals(List.of(created, moved, deleted), batch.getEvents());
+        assertEquals(3L, batcher.getStats().getEventsReceived());
+    }
+
+    @Test
+    void testPublish_WithoutWindowSendsImmediately() {
+        BoardEventBatcher immediate = new BoardEventBatcher(bus, 0, 100);
+        BoardEvent created = cardEvent(BoardEvent.Type.CREATED, 1L, 10L, null);
+
+        immediate.publish(7L, created);
+
+        verify(bus).publish(7L, created);
+        verify(bus, never()).publish(any(), any(BoardEventBatch.class));
+        immediate.shutdown();
+    }
+
+    private BoardEvent cardEvent(BoardEvent.Type type, Long cardId, Long listId, Long previousListId) {
+        return BoardEvent.builder()
+                .type(type)
+                .boardId(7L)
+                .cardId(cardId)
+                .listId(listId)
+                .previousListId(previousListId)
+                .actorId(1L)
+                .actorName("Test User")
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kanban.dto.BoardEvent;
+import com.kanban.dto.CardDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * CPU time and allocation per board broadcast against the number of subscribed sessions, for
+ * the old path (the template converts the event object) and the serialise-once path (the
+ * fanout hands pre-serialised bytes to the broker). Each delivery is STOMP-encoded the way the
+ * sub-protocol handler does before writing to a session. Not part of the regular test run:
+ *
+ * <pre>mvn test -Dtest=BoardEventFanoutBenchmark</pre>
+ */
+class BoardEventFanoutBenchmark {
+
+    private static final int[] SESSIONS = {1, 10, 100, 1_000, 5_000};
+    private static final int WARMUP = 50;
+    private static final int BROADCASTS = 200;
+    private static final Long BOARD_ID = 1L;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void broadcastCostBySessionCount() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        BoardEvent event = BoardEvents.cardCreated(BOARD_ID, CardDTO.builder()
+                .id(42L)
+                .title("Write the quarterly report")
+                .description("Collect numbers from every team and summarise them in two pages")
+                .listId(7L)
+                .position(3)
+                .rank("n")
+                .version(1_000L)
+                .createdBy(1L)
+                .creatorName("Test User")
+                .assignedUserIds(List.of(1L, 2L))
+                .assignedUserNames(List.of("Test User", "Other User"))
+                .priority("HIGH")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        System.out.printf("%-9s %-10s %14s %14s %18s%n",
+                "sessions", "path", "cpu us/bcast", "KB/bcast", "bytes/session");
+        for (int sessions : SESSIONS) {
+            report(sessions, "convert", measure(sessions, (fixture, e) -> fixture.template.convertAndSend(
+                    BoardEventFanout.BOARD_TOPIC_PREFIX + BOARD_ID, e), objectMapper, event));
+            report(sessions, "once", measure(sessions, (fixture, e) -> fixture.fanout.deliver(
+                    BOARD_ID, fixture.serialise(e)), objectMapper, event));
+        }
+    }
+
+    private static long[] measure(int sessions, BiConsumer<Fixture, Object> broadcast,
+                                  ObjectMapper objectMapper, Object event) {
+        Fixture fixture = new Fixture(sessions, objectMapper);
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                broadcast.accept(fixture, event);
+            }
+            long thread = Thread.currentThread().getId();
+            long cpuBefore = THREADS.getCurrentThreadCpuTime();
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < BROADCASTS; i++) {
+                broadcast.accept(fixture, event);
+            }
+            long cpu = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+            long allocated = THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+            if (fixture.frames != (long) (WARMUP + BROADCASTS) * sessions) {
+                throw new IllegalStateException("Expected every session to receive every broadcast");
+            }
+            return new long[] {cpu / BROADCASTS, allocated / BROADCASTS};
+        } finally {
+            fixture.broker.stop();
+        }
+    }
+
+    private static void report(int sessions, String path, long[] perBroadcast) {
+        System.out.printf("%-9d %-10s %14.1f %14.1f %18d%n", sessions, path,
+                perBroadcast[0] / 1_000.0, perBroadcast[1] / 1_024.0, perBroadcast[1] / sessions);
+    }
+
+    /** In-memory broker with the given number of connected sessions subscribed to one board. */
+    private static final class Fixture {
+        private final ObjectMapper objectMapper;
+        private final SimpleBrokerMessageHandler broker;
+        private final SimpMessagingTemplate template;
+        private final BoardEventFanout fanout;
+        private final StompEncoder encoder = new StompEncoder();
+        private long frames;
+
+        private Fixture(int sessions, ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            ExecutorSubscribableChannel inbound = new ExecutorSubscribableChannel();
+            ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel();
+            ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+            outbound.subscribe(this::writeToSession);
+
+            broker = new SimpleBrokerMessageHandler(inbound, outbound, brokerChannel, List.of("/topic"));
+            broker.start();
+
+            template = new SimpMessagingTemplate(brokerChannel);
+            MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+            converter.setObjectMapper(objectMapper);
+            template.setMessageConverter(converter);
+            fanout = new BoardEventFanout(template, objectMapper, new BoardEventLog(256, 10));
+
+            for (int i = 0; i < sessions; i++) {
+                String sessionId = "session-" + i;
+                broker.handleMessage(control(SimpMessageType.CONNECT, sessionId, null));
+                broker.handleMessage(control(SimpMessageType.SUBSCRIBE, sessionId,
+                        BoardEventFanout.BOARD_TOPIC_PREFIX + BOARD_ID));
+            }
+        }
+
+        private byte[] serialise(Object event) {
+            try {
+                return objectMapper.writeValueAsBytes(event);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // What StompSubProtocolHandler does per session before the frame reaches the socket
+        private void writeToSession(Message<?> message) {
+            SimpMessageHeaderAccessor source = SimpMessageHeaderAccessor.wrap(message);
+            if (source.getMessageType() != SimpMessageType.MESSAGE) {
+                return;
+            }
+            StompHeaderAccessor stomp = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            stomp.setSubscriptionId(source.getSubscriptionId());
+            stomp.setDestination(source.getDestination());
+            stomp.setMessageId(source.getId() != null ? source.getId().toString() : null);
+            stomp.setContentType(source.getContentType());
+            byte[] frame = encoder.encode(stomp.getMessageHeaders(), (byte[]) message.getPayload());
+            if (frame.length > 0) {
+                frames++;
+            }
+        }
+
+        private static Message<byte[]> control(SimpMessageType type, String sessionId, String destination) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+            accessor.setSessionId(sessionId);
+            accessor.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[] {0, 0});
+            if (destination != null) {
+                accessor.setSubscriptionId("sub-0");
+                accessor.setDestination(destination);
+            }
+            return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BoardEventFanoutTest {
+
+    private static final byte[] JSON = "{\"type\":\"DELETED\",\"cardId\":7}".getBytes(StandardCharsets.UTF_8);
+
+    private SimpMessagingTemplate messagingTemplate;
+    private BoardEventFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        fanout = new BoardEventFanout(messagingTemplate, new ObjectMapper(), new BoardEventLog(16, 10));
+    }
+
+    @Test
+    void testDeliver_JsonOnlyWithoutBinarySubscribers() {
+        fanout.deliver(1L, JSON);
+
+        ArgumentCaptor<Message<?>> message = messageCaptor();
+        verify(messagingTemplate, times(1)).send(anyString(), any(Message.class));
+        verify(messagingTemplate).send(eq("/topic/board/1"), message.capture());
+        // The serialised bytes are handed to the broker as they are, not converted again
+        assertSame(JSON, message.getValue().getPayload());
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, message.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    void testDeliver_StampsBoardSequence() {
+        fanout.deliver(1L, JSON);
+        fanout.deliver(1L, JSON);
+        fanout.deliver(2L, JSON);
+
+        ArgumentCaptor<Message<?>> message = messageCaptor();
+        verify(messagingTemplate, times(3)).send(anyString(), message.capture());
+        List<String> seqs = message.getAllValues().stream()
+                .map(m -> SimpMessageHeaderAccessor.wrap(m).getFirstNativeHeader(BoardEventFanout.SEQ_HEADER))
+                .toList();
+        assertEquals(List.of("1", "2", "1"), seqs);
+    }
+
+    @Test
+    void testDeliver_NoSequenceWithRedisBus() {
+        BoardEventLog log = new BoardEventLog(16, 10);
+        ReflectionTestUtils.setField(log, "eventBus", "redis");
+        fanout = new BoardEventFanout(messagingTemplate, new ObjectMapper(), log);
+
+        fanout.deliver(1L, JSON);
+
+        ArgumentCaptor<Message<?>> message = messageCaptor();
+        verify(messagingTemplate).send(eq("/topic/board/1"), message.capture());
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message.getValue());
+        assertNull(accessor.getFirstNativeHeader(BoardEventFanout.SEQ_HEADER));
+        assertNull(accessor.getFirstNativeHeader(BoardEventFanout.EPOCH_HEADER));
+    }
+
+    @Test
+    void testDeliver_TranscodesOnceForCborSubscribers() throws Exception {
+        fanout.binarySubscribed("/topic/board/1.cbor");
+        fanout.binarySubscribed("/topic/board/1.cbor");
+
+        fanout.deliver(1L, JSON);
+
+        ArgumentCaptor<Message<?>> message = messageCaptor();
+        verify(messagingTemplate, times(1)).send(eq("/topic/board/1.cbor"), message.capture());
+        Map<?, ?> decoded = new CBORMapper().readValue((byte[]) message.getValue().getPayload(), Map.class);
+        assertEquals("DELETED", decoded.get("type"));
+        assertEquals(7, decoded.get("cardId"));
+
+        fanout.binaryReleased("/topic/board/1.cbor");
+        fanout.binaryReleased("/topic/board/1.cbor");
+        fanout.deliver(1L, JSON);
+
+        verify(messagingTemplate, times(1)).send(eq("/topic/board/1.cbor"), any(Message.class));
+    }
+
+    @Test
+    void testDeliver_RelayAlwaysPublishesCbor() {
+        // Subscribers behind the shared broker may sit on other instances
+        ReflectionTestUtils.setField(fanout, "brokerMode", "relay");
+
+        fanout.deliver(1L, JSON);
+
+        verify(messagingTemplate).send(eq("/topic/board/1"), any(Message.class));
+        verify(messagingTemplate).send(eq("/topic/board/1.cbor"), any(Message.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Message<?>> messageCaptor() {
+        return ArgumentCaptor.forClass((Class<Message<?>>) (Class<?>) Message.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardEventReplayDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardEventLogTest {
+
+    private BoardEventLog log;
+
+    @BeforeEach
+    void setUp() {
+        log = new BoardEventLog(3, 10);
+    }
+
+    @Test
+    void testAppend_NumbersFramesPerBoard() {
+        List<Long> seqs = new ArrayList<>();
+
+        log.append(1L, frame(1), (seq, epoch) -> seqs.add(seq));
+        log.append(1L, frame(2), (seq, epoch) -> seqs.add(seq));
+        log.append(2L, frame(1), (seq, epoch) -> seqs.add(seq));
+
+        assertEquals(List.of(1L, 2L, 1L), seqs);
+    }
+
+    @Test
+    void testReplay_ReturnsFramesAfterSequence() {
+        for (int i = 1; i <= 3; i++) {
+            log.append(1L, frame(i), (seq, epoch) -> { });
+        }
+
+        BoardEventReplayDTO replay = log.replay(1L, 1, epoch(1L));
+
+        assertFalse(replay.getSnapshotRequired());
+        assertEquals(3L, replay.getLatestSeq());
+        assertEquals(List.of(2L, 3L), replay.getEvents().stream().map(BoardEventReplayDTO.Frame::getSeq).toList());
+        assertEquals("{\"n\":3}", replay.getEvents().get(1).getEvent());
+    }
+
+    @Test
+    void testReplay_AgedOutOrOtherEpochNeedsSnapshot() {
+        for (int i = 1; i <= 5; i++) {
+            log.append(1L, frame(i), (seq, epoch) -> { });
+        }
+
+        // The ring holds 3..5, so everything after 2 is still here but 1..2 are gone
+        String epoch = epoch(1L);
+        assertFalse(log.replay(1L, 2, epoch).getSnapshotRequired());
+        assertTrue(log.replay(1L, 1, epoch).getSnapshotRequired());
+        assertTrue(log.replay(1L, 4, "another-instance").getSnapshotRequired());
+        assertTrue(log.replay(2L, 4, epoch).getSnapshotRequired());
+        assertFalse(log.replay(2L, 0, epoch(2L)).getSnapshotRequired());
+    }
+
+    @Test
+    void testReplay_EvictedRingStartsNewEpoch() {
+        BoardEventLog small = new BoardEventLog(3, 1);
+        List<String> epochs = new ArrayList<>();
+        small.append(1L, frame(1), (seq, epoch) -> epochs.add(epoch));
+        small.append(2L, frame(1), (seq, epoch) -> { }); // Evicts board 1's ring
+
+        small.append(1L, frame(2), (seq, epoch) -> epochs.add(epoch));
+
+        // Numbering restarts at 1, so the old position must not be mistaken for this ring's
+        assertNotEquals(epochs.get(0), epochs.get(1));
+        assertTrue(small.replay(1L, 1, epochs.get(0)).getSnapshotRequired());
+        assertFalse(small.replay(1L, 1, epochs.get(1)).getSnapshotRequired());
+    }
+
+    @Test
+    void testAppend_UnnumberedWhenOtherInstancesDeliver() {
+        for (String[] shared : new String[][] {{"brokerMode", "relay"}, {"eventBus", "redis"}}) {
+            BoardEventLog sharedLog = new BoardEventLog(3, 10);
+            ReflectionTestUtils.setField(sharedLog, shared[0], shared[1]);
+            List<Long> seqs = new ArrayList<>();
+
+            sharedLog.append(1L, frame(1), (seq, epoch) -> {
+                seqs.add(seq);
+                assertNull(epoch);
+            });
+
+            assertEquals(1, seqs.size());
+            assertNull(seqs.get(0));
+            BoardEventReplayDTO replay = sharedLog.replay(1L, 0, null);
+            assertTrue(replay.getSnapshotRequired());
+            assertNull(replay.getEpoch());
+            assertTrue(replay.getEvents().isEmpty());
+        }
+    }
+
+    // Epoch a client learns for the board, as from its first frame or replay
+    private String epoch(Long boardId) {
+        return log.replay(boardId, 0, null).getEpoch();
+    }
+
+    private static byte[] frame(int n) {
+        return ("{\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,55 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardEvent;
+import com.kanban.dto.CardDTO;
+import com.kanban.dto.UpdateCardRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardEventsTest {
+
+    @Test
+    void testCardUpdated_CarriesOnlyRequestedFields() {
+        CardDTO card = CardDTO.builder()
+                .id(1L)
+                .title("Renamed")
+                .description("Long description that is not resent")
+                .listId(10L)
+                .priority("HIGH")
+                .assignedUserIds(List.of(5L))
+                .version(42L)
+                .lastModifiedBy(3L)
+                .lastModifiedByName("Test User")
+                .build();
+        UpdateCardRequest request = new UpdateCardRequest();
+        request.setTitle("Renamed");
+        request.setPriority("high");
+
+        BoardEvent event = BoardEvents.cardUpdated(7L, card, request);
+
+        assertEquals(BoardEvent.Type.UPDATED, event.getType());
+        assertEquals(1L, event.getCardId());
+        assertEquals(42L, event.getVersion());
+        assertEquals(Map.of("title", "Renamed", "priority", "HIGH"), event.getChanges());
+        assertNull(event.getCard());
+    }
+
+    @Test
+    void testCardMoved_CarriesPlacementWithoutCard() {
+        CardDTO card = CardDTO.builder().id(1L).listId(20L).position(2).rank("n").version(43L).build();
+
+        BoardEvent event = BoardEvents.cardMoved(7L, card, 10L);
+
+        assertEquals(BoardEvent.Type.MOVED, event.getType());
+        assertEquals(20L, event.getListId());
+        assertEquals(10L, event.getPreviousListId());
+        assertEquals(2, event.getPosition());
+        assertEquals("n", event.getRank());
+        assertNull(event.getCard());
+        assertNull(event.getChanges());
+    }
+}
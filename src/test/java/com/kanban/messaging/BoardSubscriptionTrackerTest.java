@@ -0,0 +1,76 @@
+package com.kanban.messaging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoardSubscriptionTrackerTest {
+
+    private BoardEventBus boardEventBus;
+    private BoardEventFanout fanout;
+    private BoardSubscriptionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        boardEventBus = mock(BoardEventBus.class);
+        fanout = mock(BoardEventFanout.class);
+        tracker = new BoardSubscriptionTracker(boardEventBus, fanout);
+    }
+
+    @Test
+    void testSubscribe_ListensOncePerBoard() {
+        tracker.subscribe("s1", "sub-0", "/topic/board/1");
+        tracker.subscribe("s2", "sub-0", "/topic/board/1");
+
+        assertEquals(2, tracker.localSubscribers(1L));
+        verify(boardEventBus, times(1)).listen(1L);
+    }
+
+    @Test
+    void testUnsubscribe_StopsAfterLastSubscriber() {
+        tracker.subscribe("s1", "sub-0", "/topic/board/1");
+        tracker.subscribe("s2", "sub-0", "/topic/board/1");
+
+        tracker.unsubscribe("s1", "sub-0");
+        verify(boardEventBus, never()).stopListening(1L);
+
+        tracker.unsubscribe("s2", "sub-0");
+        verify(boardEventBus, times(1)).stopListening(1L);
+        assertEquals(0, tracker.localSubscribers(1L));
+    }
+
+    @Test
+    void testDisconnect_ReleasesAllSubscriptionsOfSession() {
+        tracker.subscribe("s1", "sub-0", "/topic/board/1");
+        tracker.subscribe("s1", "sub-1", "/topic/board/2");
+
+        tracker.disconnect("s1");
+
+        verify(boardEventBus).stopListening(1L);
+        verify(boardEventBus).stopListening(2L);
+    }
+
+    @Test
+    void testSubscribe_ReportsBinaryTopicsToFanout() {
+        tracker.subscribe("s1", "sub-0", "/topic/board/1.cbor");
+        tracker.subscribe("s2", "sub-0", "/topic/board/1");
+
+        assertEquals(2, tracker.localSubscribers(1L));
+        verify(boardEventBus, times(1)).listen(1L);
+        verify(fanout, times(1)).binarySubscribed("/topic/board/1.cbor");
+
+        tracker.disconnect("s1");
+        verify(fanout).binaryReleased("/topic/board/1.cbor");
+        verify(boardEventBus, never()).stopListening(1L);
+    }
+
+    @Test
+    void testBoardIdOf_OnlyBoardTopics() {
+        assertEquals(42L, BoardEventFanout.boardIdOf("/topic/board/42"));
+        assertEquals(42L, BoardEventFanout.boardIdOf("/topic/board/42.cbor"));
+        assertNull(BoardEventFanout.boardIdOf("/topic/boards"));
+        assertNull(BoardEventFanout.boardIdOf("/topic/board/abc"));
+    }
+}
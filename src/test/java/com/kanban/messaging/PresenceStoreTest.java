@@ -0,0 +1,93 @@
+package com.kanban.messaging;
+
+import com.kanban.dto.BoardPresenceDTO;
+import com.kanban.dto.PresenceHeartbeat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PresenceStoreTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private PresenceStore store;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        store = new PresenceStore(messagingTemplate, 1_000, 3, 2, 50);
+    }
+
+    @Test
+    void testFlush_BroadcastsOnlyWhenViewersChange() {
+        store.heartbeat(42L, "s1", viewing(7L, "Alice"), 0);
+        store.heartbeat(42L, "s1", viewing(7L, "Alice"), 100);
+
+        store.flush(200);
+        BoardPresenceDTO presence = lastBroadcast(42L);
+        assertEquals("PRESENCE", presence.getType());
+        assertEquals(1, presence.getViewerCount());
+        assertEquals("Alice", presence.getViewers().get(0).getDisplayName());
+
+        // A heartbeat that changes nothing is not rebroadcast
+        store.heartbeat(42L, "s1", viewing(7L, "Alice"), 300);
+        store.flush(400);
+        verify(messagingTemplate, times(1)).convertAndSend(eq(PresenceStore.destination(42L)), any(Object.class));
+    }
+
+    @Test
+    void testSnapshot_OneEntryPerUserPreferringActiveTab() {
+        store.heartbeat(42L, "s1", viewing(7L, "Alice"), 0);
+        store.heartbeat(42L, "s2", new PresenceHeartbeat(7L, "Alice", PresenceHeartbeat.Activity.DRAGGING, 99L, 0.5, 2.0, false), 0);
+        store.heartbeat(42L, "s3", viewing(8L, "Bob"), 0);
+
+        store.flush(10);
+
+        BoardPresenceDTO presence = lastBroadcast(42L);
+        assertEquals(2, presence.getViewerCount());
+        BoardPresenceDTO.Viewer alice = presence.getViewers().get(0);
+        assertEquals(PresenceHeartbeat.Activity.DRAGGING, alice.getActivity());
+        assertEquals(99L, alice.getCardId());
+        assertEquals(1.0, alice.getY());
+    }
+
+    @Test
+    void testFlush_ExpiresViewersAfterTtl() {
+        store.heartbeat(42L, "s1", viewing(7L, "Alice"), 0);
+        store.flush(10);
+
+        store.flush(1_001);
+
+        assertEquals(0, lastBroadcast(42L).getViewerCount());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testHeartbeat_RefusedAtCapacityAndFreedOnDisconnect() {
+        assertTrue(store.heartbeat(1L, "s1", viewing(7L, "Alice"), 0));
+        assertTrue(store.heartbeat(2L, "s1", viewing(7L, "Alice"), 0));
+        assertFalse(store.heartbeat(3L, "s1", viewing(7L, "Alice"), 0)); // Two boards per session
+        assertTrue(store.heartbeat(3L, "s2", viewing(8L, "Bob"), 0));
+        assertFalse(store.heartbeat(4L, "s3", viewing(9L, "Carol"), 0)); // Three entries in total
+
+        store.disconnect("s1");
+
+        assertEquals(1, store.size());
+        assertTrue(store.heartbeat(4L, "s3", viewing(9L, "Carol"), 0));
+    }
+
+    private static PresenceHeartbeat viewing(Long userId, String name) {
+        return new PresenceHeartbeat(userId, name, PresenceHeartbeat.Activity.VIEWING, null, null, null, false);
+    }
+
+    private BoardPresenceDTO lastBroadcast(Long boardId) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq(PresenceStore.destination(boardId)), payload.capture());
+        return (BoardPresenceDTO) payload.getValue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.config.RedisEventBusConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class RedisBoardEventBusTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RedisMessageListenerContainer container;
+    private BoardEventFanout fanout;
+    private RedisBoardEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        container = mock(RedisMessageListenerContainer.class);
+        fanout = mock(BoardEventFanout.class);
+        bus = new RedisBoardEventBus(redisTemplate, container, fanout, new ObjectMapper());
+    }
+
+    @Test
+    void testPublish_SendsJsonToBoardChannel() {
+        bus.publish(7L, Map.of("type", "DELETED"));
+
+        verify(redisTemplate).convertAndSend("kanban:board:7", "{\"type\":\"DELETED\"}");
+        verifyNoInteractions(fanout);
+    }
+
+    @Test
+    void testListen_SubscribesToBoardChannel() {
+        bus.listen(7L);
+        bus.stopListening(7L);
+
+        verify(container).addMessageListener(bus, new ChannelTopic("kanban:board:7"));
+        verify(container).removeMessageListener(bus, new ChannelTopic("kanban:board:7"));
+    }
+
+    @Test
+    void testOnMessage_DeliversToLocalClients() {
+        byte[] body = "{\"type\":\"DELETED\"}".getBytes(StandardCharsets.UTF_8);
+
+        bus.onMessage(new DefaultMessage("kanban:board:7".getBytes(StandardCharsets.UTF_8), body), null);
+        bus.onMessage(new DefaultMessage("kanban:workspace:3".getBytes(StandardCharsets.UTF_8), body), null);
+        bus.onMessage(new DefaultMessage("kanban:board:x".getBytes(StandardCharsets.UTF_8), body), null);
+
+        verify(fanout, times(1)).deliver(7L, body);
+        verify(fanout, times(1)).deliverToWorkspace(3L, body);
+        verify(fanout, times(1)).deliver(anyLong(), any());
+    }
+
+    @Test
+    void testConfig_RejectsRelayBroker() {
+        // Both would deliver every board event, so each client would see it twice
+        assertThrows(IllegalStateException.class, () -> new RedisEventBusConfig("relay"));
+        assertDoesNotThrow(() -> new RedisEventBusConfig("simple"));
+    }
+}
@@ -0,0 +1,205 @@
+package com.kanban.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.kanban.dto.WebSocketSessionStatsDTO;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SlowConsumerGuardTest {
+
+    private SlowConsumerGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        guard.shutdown();
+    }
+
+    @Test
+    void testResync_ReplacesQueuedBoardFramesWithMarker() throws Exception {
+        guard = new SlowConsumerGuard("resync", 3, 1_000_000, 60_000);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = new CopyOnWriteArrayList<>();
+        WebSocketSession session = blockingSession(writing, release, written);
+        SlowConsumerGuard.GuardedSession guarded = guard.guard(session);
+
+        // The first frame occupies the writer; the rest queue behind it until the cap is passed
+        guarded.sendMessage(boardFrame(1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 5; i++) {
+            guarded.sendMessage(boardFrame(i));
+        }
+        release.countDown();
+
+        waitFor(() -> written.size() == 2);
+        assertTrue(written.get(0).contains("\"n\":1"));
+        assertTrue(written.get(1).contains("\"type\":\"RESYNC\",\"boardId\":42"));
+        assertTrue(written.get(1).contains("subscription:sub-0"));
+
+        WebSocketSessionStatsDTO stats = guard.getStats();
+        assertEquals(4L, stats.getFramesDropped());
+        assertEquals(1L, stats.getResyncsSent());
+        verify(session, never()).close(any(CloseStatus.class));
+    }
+
+    @Test
+    void testResync_DropsBinaryBoardFrames() throws Exception {
+        guard = new SlowConsumerGuard("resync", 3, 1_000_000, 60_000);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = new CopyOnWriteArrayList<>();
+        WebSocketSession session = blockingSession(writing, release, written);
+        SlowConsumerGuard.GuardedSession guarded = guard.guard(session);
+
+        guarded.sendMessage(boardFrame(1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 5; i++) {
+            guarded.sendMessage(cborFrame(i));
+        }
+        release.countDown();
+
+        waitFor(() -> written.size() == 2);
+        String marker = written.get(1);
+        assertTrue(marker.contains("subscription:sub-1"));
+        assertTrue(marker.contains("content-type:application/octet-stream"));
+        assertEquals(4L, guard.getStats().getFramesDropped());
+        verify(session, never()).close(any(CloseStatus.class));
+
+        // The marker is CBOR like the rest of the subscription's frames
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        BinaryMessage binary = assertInstanceOf(BinaryMessage.class, sent.getAllValues().get(1));
+        byte[] frame = new byte[binary.getPayloadLength()];
+        binary.getPayload().duplicate().get(frame);
+        int body = marker.indexOf("\n\n") + 2;
+        JsonNode decoded = new CBORMapper().readTree(Arrays.copyOfRange(frame, body, frame.length - 1));
+        assertEquals("RESYNC", decoded.get("type").asText());
+        assertEquals(42L, decoded.get("boardId").asLong());
+    }
+
+    @Test
+    void testSendTimeLimit_ClosesSessionStuckInWrite() throws Exception {
+        guard = new SlowConsumerGuard("resync", 100, 1_000_000, 200);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession session = blockingSession(writing, release, new CopyOnWriteArrayList<>());
+        SlowConsumerGuard.GuardedSession guarded = guard.guard(session);
+
+        // Nothing else is sent; the limit is enforced on the write that is already in flight
+        guarded.sendMessage(boardFrame(1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        verify(session, timeout(5_000)).close(any(CloseStatus.class));
+        assertEquals(1L, guard.getStats().getSessionsClosed());
+        release.countDown();
+    }
+
+    @Test
+    void testNativeSession_WritesAsynchronously() throws Exception {
+        guard = new SlowConsumerGuard("resync", 100, 1_000_000, 60_000);
+        StandardWebSocketSession session = mock(StandardWebSocketSession.class);
+        Session nativeSession = mock(Session.class);
+        RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        when(session.getId()).thenReturn("s2");
+        when(session.getNativeSession()).thenReturn(nativeSession);
+        when(nativeSession.getAsyncRemote()).thenReturn(remote);
+        List<SendHandler> pending = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> pending.add(invocation.getArgument(1))).when(remote).sendText(anyString(), any(SendHandler.class));
+        SlowConsumerGuard.GuardedSession guarded = guard.guard(session);
+
+        guarded.sendMessage(boardFrame(1));
+        guarded.sendMessage(boardFrame(2));
+
+        // One frame in flight at a time, and no thread is held while it is
+        waitFor(() -> pending.size() == 1);
+        verify(remote).setSendTimeout(60_000);
+        verify(remote, times(1)).sendText(anyString(), any(SendHandler.class));
+        pending.get(0).onResult(new SendResult());
+        waitFor(() -> pending.size() == 2);
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    void testDisconnect_ClosesSessionOverCap() throws Exception {
+        guard = new SlowConsumerGuard("disconnect", 3, 1_000_000, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession session = blockingSession(new CountDownLatch(1), release, new CopyOnWriteArrayList<>());
+        SlowConsumerGuard.GuardedSession guarded = guard.guard(session);
+
+        for (int i = 1; i <= 5; i++) {
+            guarded.sendMessage(boardFrame(i));
+        }
+        release.countDown();
+
+        verify(session).close(any(CloseStatus.class));
+        assertEquals(1L, guard.getStats().getSessionsClosed());
+    }
+
+    private static WebSocketSession blockingSession(CountDownLatch writing, CountDownLatch release,
+                                                    List<String> written) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            written.add(message instanceof TextMessage text ? text.getPayload()
+                    : StandardCharsets.UTF_8.decode(((BinaryMessage) message).getPayload().duplicate()).toString());
+            return null;
+        }).when(session).sendMessage(any(WebSocketMessage.class));
+        return session;
+    }
+
+    private static TextMessage boardFrame(int n) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination("/topic/board/42");
+        accessor.setMessageId("m-" + n);
+        byte[] payload = ("{\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8);
+        return new TextMessage(new StompEncoder().encode(accessor.getMessageHeaders(), payload));
+    }
+
+    private static BinaryMessage cborFrame(int n) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setSubscriptionId("sub-1");
+        accessor.setDestination("/topic/board/42.cbor");
+        accessor.setMessageId("m-" + n);
+        byte[] payload = {(byte) 0xa1, 0x61, 0x6e, (byte) n}; // {"n": n}
+        return new BinaryMessage(new StompEncoder().encode(accessor.getMessageHeaders(), payload));
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
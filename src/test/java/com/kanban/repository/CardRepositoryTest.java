@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -28,6 +29,9 @@ class CardRepositoryTest {
     @Autowired
     private CardRepository cardRepository;
 
+    @Autowired
+    private BoardReadRepository boardReadRepository;
+
     private User user;
     private Workspace workspace;
     private Board board;
@@ -212,6 +216,22 @@ class CardRepositoryTest {
 
         assertFalse(listId.isPresent());
     }
-}
 
+    @Test
+    void testFindCardSummaries_UnrankedCardsComeLast() {
+        // The card from setUp has no rank yet
+        Card second = Card.builder().title("Second").list(list).rank("2i").createdBy(user).isDeleted(false).build();
+        Card first = Card.builder().title("First").list(list).rank("1i").createdBy(user).isDeleted(false).build();
+        entityManager.persist(second);
+        entityManager.persistAndFlush(first);
+        PageRequest limit = PageRequest.of(0, 2);
+
+        List<BoardReadRepository.CardSummaryRow> page = boardReadRepository.findCardSummaries(list.getId(), limit);
+        assertEquals(List.of(first.getId(), second.getId()), page.stream().map(BoardReadRepository.CardSummaryRow::getId).toList());
+
+        List<BoardReadRepository.CardSummaryRow> next = boardReadRepository.findCardSummariesAfter(list.getId(), "2i", second.getId(), limit);
+        assertEquals(List.of(card.getId()), next.stream().map(BoardReadRepository.CardSummaryRow::getId).toList());
 
+        assertTrue(boardReadRepository.findUnrankedCardSummariesAfter(list.getId(), card.getId(), limit).isEmpty());
+    }
+}
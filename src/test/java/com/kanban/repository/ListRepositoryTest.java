@@ -124,6 +124,24 @@ class ListRepositoryTest {
         assertTrue(lists.stream().noneMatch(ListEntity::getIsDeleted));
     }
 
+    @Test
+    void testFindRanksInWindow() {
+        list.setRank("01i");
+        entityManager.persistAndFlush(list);
+        for (String rank : List.of("03i", "02i")) {
+            entityManager.persistAndFlush(ListEntity.builder()
+                    .name("List " + rank)
+                    .board(board)
+                    .rank(rank)
+                    .isDeleted(false)
+                    .build());
+        }
+
+        assertEquals(List.of("01i", "02i"), listRepository.findRanksInWindow(board.getId(), 0, 2));
+        assertEquals(List.of("02i", "03i"), listRepository.findRanksInWindowExcludingList(board.getId(), list.getId(), 0, 2));
+        assertEquals("03i", listRepository.findMaxRankByBoardId(board.getId()));
+    }
+
     @Test
     void testFindByIdWithBoard() {
         Optional<ListEntity> found = listRepository.findByIdWithBoard(list.getId());
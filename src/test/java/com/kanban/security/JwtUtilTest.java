@@ -0,0 +1,100 @@
+package com.kanban.security;
+
+import com.kanban.model.User;
+import com.kanban.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-for-testing-purposes-only-minimum-256-bits-long");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        jwtUtil.init();
+
+        user = User.builder()
+                .id(7L)
+                .username("regular")
+                .fullName("Regular User")
+                .role(User.UserRole.ADMIN)
+                .tokenVersion(3L)
+                .build();
+    }
+
+    @Test
+    void testVerify_CarriesUserClaims() {
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(jwtUtil.generateToken(user));
+
+        UserPrincipal principal = verified.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("regular", principal.getUsername());
+        assertEquals(User.UserRole.ADMIN, principal.getRole());
+        assertEquals("Regular User", principal.getDisplayName());
+        assertEquals(3L, verified.getTokenVersion());
+        assertFalse(verified.isExpired(System.currentTimeMillis()));
+    }
+
+    @Test
+    void testVerify_RejectsTamperedToken() {
+        String token = jwtUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    void testVerifiedTokenCache_ExpiresAndRevokes() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 1_000);
+        String token = jwtUtil.generateToken(user);
+        long now = System.currentTimeMillis();
+
+        cache.put(token, jwtUtil.verify(token), now);
+
+        assertEquals(7L, cache.get(token, now + 500).getId());
+        assertNull(cache.get(token, now + 1_000));
+
+        cache.put(token, jwtUtil.verify(token), now);
+        cache.revokeUser(7L);
+
+        assertNull(cache.get(token, now));
+    }
+
+    @Test
+    void testResolve_LegacyTokenFollowsRevocation() {
+        UserRepository userRepository = mock(UserRepository.class);
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        JwtPrincipalResolver resolver = new JwtPrincipalResolver(jwtUtil, userDetailsService, userRepository,
+                new VerifiedTokenCache(10, 60_000));
+        // Signed like any other token, but issued before user claims existed
+        String legacy = Jwts.builder()
+                .subject("regular")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("test-secret-key-for-testing-purposes-only-minimum-256-bits-long"
+                        .getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        when(userDetailsService.loadUserByUsername("regular")).thenReturn(UserPrincipal.from(user));
+
+        when(userRepository.findActiveTokenVersion(7L)).thenReturn(Optional.of(0L));
+        assertNotNull(resolver.resolve(legacy));
+
+        when(userRepository.findActiveTokenVersion(7L)).thenReturn(Optional.of(1L));
+        assertNull(resolver.resolve(legacy));
+    }
+}
@@ -0,0 +1,124 @@
+package com.kanban.security;
+
+import com.kanban.model.User;
+import com.kanban.service.PermissionService;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StompAuthChannelInterceptorTest {
+
+    private JwtPrincipalResolver principalResolver;
+    private PermissionService permissionService;
+    private StompAuthChannelInterceptor interceptor;
+    private MessageChannel channel;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        principalResolver = mock(JwtPrincipalResolver.class);
+        permissionService = mock(PermissionService.class);
+        interceptor = new StompAuthChannelInterceptor(principalResolver, permissionService);
+        channel = mock(MessageChannel.class);
+        principal = new UserPrincipal(7L, "regular", null, User.UserRole.USER, "Regular User");
+    }
+
+    @Test
+    void testConnect_AuthenticatesBearerToken() {
+        when(principalResolver.resolve("good-token")).thenReturn(principal);
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader(StompAuthChannelInterceptor.AUTHORIZATION_HEADER, "Bearer good-token");
+
+        Message<?> result = interceptor.preSend(message(accessor), channel);
+
+        Authentication user = (Authentication) StompHeaderAccessor.wrap(result).getUser();
+        assertNotNull(user);
+        assertSame(principal, user.getPrincipal());
+    }
+
+    @Test
+    void testConnect_RejectsMissingInvalidAndRevokedTokens() {
+        when(principalResolver.resolve("bad-token")).thenThrow(new JwtException("bad signature"));
+        when(principalResolver.resolve("revoked-token")).thenReturn(null);
+
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(connect(null), channel));
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(connect("Bearer bad-token"), channel));
+        assertThrows(BadCredentialsException.class, () -> interceptor.preSend(connect("Bearer revoked-token"), channel));
+    }
+
+    @Test
+    void testSubscribe_ChecksBoardAccess() {
+        when(permissionService.hasBoardAccess(42L, principal)).thenReturn(true);
+        when(permissionService.hasBoardAccess(43L, principal)).thenReturn(false);
+
+        interceptor.preSend(subscribe("/topic/board/42", principal), channel);
+        interceptor.preSend(subscribe("/topic/board/42.cbor", principal), channel);
+        interceptor.preSend(subscribe("/topic/board/42/presence", principal), channel);
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/topic/board/43", principal), channel));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/topic/board/42", null), channel));
+    }
+
+    @Test
+    void testSubscribe_WorkspaceTopicsOnlyAndNoGlobalTopic() {
+        when(permissionService.hasWorkspaceAccess(3L, principal)).thenReturn(true);
+
+        interceptor.preSend(subscribe("/topic/workspace/3/boards", principal), channel);
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/topic/workspace/4/boards", principal), channel));
+        assertThrows(AccessDeniedException.class,
+                () -> interceptor.preSend(subscribe("/topic/boards", principal), channel));
+    }
+
+    @Test
+    void testSend_OnlyToAccessibleBoardDestinations() {
+        when(permissionService.hasBoardAccess(42L, principal)).thenReturn(true);
+
+        interceptor.preSend(send("/app/board/42/presence"), channel);
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(send("/app/board/43/presence"), channel));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(send("/topic/board/42"), channel));
+    }
+
+    private Message<byte[]> connect(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.setNativeHeader(StompAuthChannelInterceptor.AUTHORIZATION_HEADER, authorization);
+        }
+        return message(accessor);
+    }
+
+    private Message<byte[]> subscribe(String destination, UserPrincipal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-0");
+        if (user != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        }
+        return message(accessor);
+    }
+
+    private Message<byte[]> send(String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return message(accessor);
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
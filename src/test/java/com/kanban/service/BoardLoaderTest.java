@@ -0,0 +1,328 @@
+package com.kanban.service;
+
+import com.kanban.config.PrimaryReads;
+import com.kanban.dto.BoardDTO;
+import com.kanban.dto.BoardDeltaDTO;
+import com.kanban.dto.CardDTO;
+import com.kanban.dto.CardWindowDTO;
+import com.kanban.dto.ListDTO;
+import com.kanban.model.Board;
+import com.kanban.model.Card;
+import com.kanban.model.ListEntity;
+import com.kanban.model.User;
+import com.kanban.model.Workspace;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({BoardLoader.class, BoardVersionService.class, BoardSnapshotCache.class, PrimaryReads.class})
+class BoardLoaderTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BoardLoader boardLoader;
+
+    @Autowired
+    private BoardVersionService boardVersionService;
+
+    private User user;
+    private User assignee;
+    private Board board;
+    private ListEntity todo;
+    private ListEntity done;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .fullName("Test User")
+                .passwordHash("hashed")
+                .role(User.UserRole.USER)
+                .isDeleted(false)
+                .build();
+        entityManager.persist(user);
+
+        assignee = User.builder()
+                .username("jane@example.com")
+                .email("jane@example.com")
+                .passwordHash("hashed")
+                .role(User.UserRole.USER)
+                .isDeleted(false)
+                .build();
+        entityManager.persist(assignee);
+
+        Workspace workspace = Workspace.builder()
+                .name("Test Workspace")
+                .owner(user)
+                .isDeleted(false)
+                .build();
+        entityManager.persist(workspace);
+
+        board = Board.builder()
+                .name("Test Board")
+                .workspace(workspace)
+                .createdBy(user)
+                .isDeleted(false)
+                .build();
+        entityManager.persist(board);
+
+        todo = ListEntity.builder().name("To Do").board(board).position(0).rank("01i").isDeleted(false).build();
+        done = ListEntity.builder().name("Done").board(board).position(1).rank("02i").isDeleted(false).build();
+        entityManager.persist(todo);
+        entityManager.persist(done);
+        entityManager.flush();
+    }
+
+    private void addCards(Long listId, int count) {
+        ListEntity list = entityManager.find(ListEntity.class, listId);
+        User creator = entityManager.find(User.class, user.getId());
+        for (int i = 0; i < count; i++) {
+            List<User> assignees = new ArrayList<>();
+            assignees.add(entityManager.find(User.class, assignee.getId()));
+            entityManager.persist(Card.builder()
+                    .title(list.getName() + " " + i)
+                    .list(list)
+                    .position(i)
+                    .rank(String.format("%04di", i + 1))
+                    .createdBy(creator)
+                    .lastModifiedBy(creator)
+                    .assignedUsers(assignees)
+                    .priority(Card.Priority.HIGH)
+                    .isDeleted(false)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long statementsToLoad() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BoardDTO loaded = boardLoader.load(board.getId()).orElseThrow();
+        assertNotNull(loaded);
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testLoad_AssemblesBoard() {
+        addCards(todo.getId(), 2);
+        entityManager.persistAndFlush(Card.builder()
+                .title("Deleted")
+                .list(entityManager.find(ListEntity.class, todo.getId()))
+                .rank("0009i")
+                .createdBy(entityManager.find(User.class, user.getId()))
+                .isDeleted(true)
+                .build());
+
+        BoardDTO result = boardLoader.load(board.getId()).orElseThrow();
+
+        assertEquals("Test Board", result.getName());
+        assertEquals(2, result.getLists().size());
+        assertEquals("To Do", result.getLists().get(0).getName());
+        assertEquals(1, result.getLists().get(1).getPosition());
+
+        List<CardDTO> cards = result.getLists().get(0).getCards();
+        assertEquals(2, cards.size());
+        assertEquals("To Do 0", cards.get(0).getTitle());
+        assertEquals(1, cards.get(1).getPosition());
+        assertEquals("Test User", cards.get(0).getCreatorName());
+        assertEquals(List.of(assignee.getId()), cards.get(0).getAssignedUserIds());
+        assertEquals(List.of("Jane"), cards.get(0).getAssignedUserNames());
+        assertEquals("HIGH", cards.get(0).getPriority());
+        assertTrue(result.getLists().get(1).getCards().isEmpty());
+    }
+
+    @Test
+    void testLoad_SeesUnflushedListsOfSameTransaction() {
+        // createBoard builds its response this way right after saving the default lists
+        entityManager.persist(ListEntity.builder().name("Review").board(board).position(2).rank("03i").isDeleted(false).build());
+
+        BoardDTO result = boardLoader.load(board.getId()).orElseThrow();
+
+        assertEquals(List.of("To Do", "Done", "Review"), result.getLists().stream().map(ListDTO::getName).toList());
+    }
+
+    @Test
+    void testLoad_DeletedBoardNotFound() {
+        Board managed = entityManager.find(Board.class, board.getId());
+        managed.setIsDeleted(true);
+        entityManager.flush();
+
+        assertTrue(boardLoader.load(board.getId()).isEmpty());
+    }
+
+    @Test
+    void testLoad_StatementCountIndependentOfCardCount() {
+        addCards(todo.getId(), 2);
+        long small = statementsToLoad();
+
+        addCards(todo.getId(), 20);
+        addCards(done.getId(), 30);
+        long large = statementsToLoad();
+
+        assertEquals(4, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void testLoadChanges_ReturnsUpdatesAndTombstonesSinceVersion() {
+        addCards(todo.getId(), 2);
+        List<Card> cards = entityManager.getEntityManager()
+                .createQuery("SELECT c FROM Card c WHERE c.list.id = :listId ORDER BY c.rank", Card.class)
+                .setParameter("listId", todo.getId())
+                .getResultList();
+
+        long version = boardVersionService.recordChange(board.getId());
+        cards.get(0).setTitle("Renamed");
+        cards.get(0).setChangeVersion(version);
+        cards.get(1).setIsDeleted(true);
+        cards.get(1).setChangeVersion(version);
+        ListEntity deletedList = entityManager.find(ListEntity.class, done.getId());
+        deletedList.setIsDeleted(true);
+        deletedList.setChangeVersion(version);
+        entityManager.flush();
+        entityManager.clear();
+
+        BoardDeltaDTO delta = boardLoader.loadChanges(board.getId(), 0, 100).orElseThrow();
+
+        assertEquals(1L, delta.getToVersion());
+        assertFalse(delta.getFullReload());
+        assertTrue(delta.getLists().isEmpty());
+        assertEquals(1, delta.getCards().size());
+        assertEquals("Renamed", delta.getCards().get(0).getTitle());
+        assertEquals(version, delta.getCards().get(0).getVersion());
+        assertEquals(List.of(assignee.getId()), delta.getCards().get(0).getAssignedUserIds());
+        assertEquals(List.of(cards.get(1).getId()), delta.getDeletedCardIds());
+        assertEquals(List.of(done.getId()), delta.getDeletedListIds());
+    }
+
+    @Test
+    void testLoadChanges_PositionFollowsRankNotStoredColumn() {
+        addCards(todo.getId(), 3);
+        Card last = entityManager.getEntityManager()
+                .createQuery("SELECT c FROM Card c WHERE c.list.id = :listId ORDER BY c.rank DESC", Card.class)
+                .setParameter("listId", todo.getId())
+                .setMaxResults(1)
+                .getSingleResult();
+
+        // Moved to the front by rank only; the stored position still says it is last
+        long version = boardVersionService.recordChange(board.getId());
+        last.setRank("0000i");
+        last.setChangeVersion(version);
+        entityManager.flush();
+        entityManager.clear();
+
+        BoardDeltaDTO delta = boardLoader.loadChanges(board.getId(), 0, 100).orElseThrow();
+
+        assertEquals(1, delta.getCards().size());
+        assertEquals(0, delta.getCards().get(0).getPosition());
+        assertEquals("0000i", delta.getCards().get(0).getRank());
+        assertEquals(version, delta.getCards().get(0).getVersion());
+    }
+
+    @Test
+    void testLoadChanges_UpToDate() {
+        addCards(todo.getId(), 2);
+        boardVersionService.recordChange(board.getId());
+
+        BoardDeltaDTO delta = boardLoader.loadChanges(board.getId(), 1, 100).orElseThrow();
+
+        assertFalse(delta.getFullReload());
+        assertTrue(delta.getCards().isEmpty());
+        assertTrue(delta.getDeletedCardIds().isEmpty());
+    }
+
+    @Test
+    void testLoadChanges_FullReloadWhenTooManyChangesOrUnknownVersion() {
+        addCards(todo.getId(), 5);
+        long version = boardVersionService.recordChange(board.getId());
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Card c SET c.changeVersion = :version")
+                .setParameter("version", version)
+                .executeUpdate();
+
+        assertTrue(boardLoader.loadChanges(board.getId(), 0, 3).orElseThrow().getFullReload());
+        assertTrue(boardLoader.loadChanges(board.getId(), version + 10, 3).orElseThrow().getFullReload());
+        assertFalse(boardLoader.loadChanges(board.getId(), 0, 10).orElseThrow().getFullReload());
+    }
+
+    @Test
+    void testLoadWindow_FirstCardsOfEachListThenFurtherWindows() {
+        addCards(todo.getId(), 5);
+        addCards(done.getId(), 2);
+
+        BoardDTO result = boardLoader.loadWindow(board.getId(), 2, 3).orElseThrow();
+
+        ListDTO todoList = result.getLists().get(0);
+        assertEquals(2, todoList.getCards().size());
+        assertEquals(5, todoList.getCardCount());
+        assertNotNull(todoList.getNextCardCursor());
+        assertEquals(List.of(assignee.getId()), todoList.getCards().get(1).getAssignedUserIds());
+        ListDTO doneList = result.getLists().get(1);
+        assertEquals(2, doneList.getCards().size());
+        assertNull(doneList.getNextCardCursor());
+
+        // Windowing a cached full snapshot gives the same cursor as the windowed read
+        BoardDTO windowedSnapshot = BoardLoader.window(boardLoader.load(board.getId()).orElseThrow(), 2);
+        assertEquals(todoList.getNextCardCursor(), windowedSnapshot.getLists().get(0).getNextCardCursor());
+
+        CardWindowDTO next = boardLoader.loadCardWindow(board.getId(), todo.getId(), todoList.getNextCardCursor(), 2);
+        assertEquals("To Do 2", next.getCards().get(0).getTitle());
+        assertEquals(3, next.getCards().get(1).getPosition());
+        assertTrue(next.getHasMore());
+
+        CardWindowDTO last = boardLoader.loadCardWindow(board.getId(), todo.getId(), next.getNextCursor(), 2);
+        assertEquals(1, last.getCards().size());
+        assertEquals("To Do 4", last.getCards().get(0).getTitle());
+        assertEquals("Jane", last.getCards().get(0).getAssignedUserNames().get(0));
+        assertFalse(last.getHasMore());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void testLoadWindow_SmallBoardLoadedWhole() {
+        addCards(todo.getId(), 5);
+
+        BoardDTO result = boardLoader.loadWindow(board.getId(), 2, 100).orElseThrow();
+
+        assertEquals(5, result.getLists().get(0).getCards().size());
+        assertEquals(5, result.getLists().get(0).getCardCount());
+        assertNull(result.getLists().get(0).getNextCardCursor());
+        assertEquals(0, result.getLists().get(1).getCardCount());
+    }
+
+    @Test
+    void testLoadWindow_UnrankedCardsLoadBoardWhole() {
+        addCards(todo.getId(), 5);
+        entityManager.persistAndFlush(Card.builder()
+                .title("Unranked")
+                .list(entityManager.find(ListEntity.class, todo.getId()))
+                .createdBy(entityManager.find(User.class, user.getId()))
+                .isDeleted(false)
+                .build());
+
+        BoardDTO result = boardLoader.loadWindow(board.getId(), 2, 3).orElseThrow();
+
+        // A rank cursor could never reach the unranked card, so nothing is windowed
+        assertEquals(6, result.getLists().get(0).getCards().size());
+        assertEquals(6, result.getLists().get(0).getCardCount());
+        assertNull(result.getLists().get(0).getNextCardCursor());
+    }
+}
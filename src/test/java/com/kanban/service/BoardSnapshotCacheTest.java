@@ -0,0 +1,114 @@
+package com.kanban.service;
+
+import com.kanban.dto.BoardCacheStatsDTO;
+import com.kanban.dto.BoardDTO;
+import com.kanban.dto.CardDTO;
+import com.kanban.dto.ListDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotCacheTest {
+
+    private BoardDTO board(Long id, int cards) {
+        return board(id, 0L, cards);
+    }
+
+    private BoardDTO board(Long id, long version, int cards) {
+        List<CardDTO> cardDTOs = new ArrayList<>();
+        for (int i = 0; i < cards; i++) {
+            cardDTOs.add(CardDTO.builder().id((long) i).title("Card " + i).build());
+        }
+        ListDTO list = ListDTO.builder().id(id).name("To Do").cards(cardDTOs).build();
+        return BoardDTO.builder().id(id).name("Board " + id).version(version).lists(List.of(list)).build();
+    }
+
+    @Test
+    void testGet_HitAfterPut() {
+        BoardSnapshotCache cache = new BoardSnapshotCache(10, 1_000_000);
+        BoardDTO board = board(1L, 3);
+
+        assertNull(cache.get(1L, 0L));
+        cache.put(1L, board);
+
+        assertSame(board, cache.get(1L, 0L));
+        BoardCacheStatsDTO stats = cache.getStats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(1L, stats.getMisses());
+        assertEquals(1, stats.getEntries());
+    }
+
+    @Test
+    void testInvalidate_DropsSnapshot() {
+        BoardSnapshotCache cache = new BoardSnapshotCache(10, 1_000_000);
+        cache.put(1L, board(1L, 3));
+
+        cache.invalidate(1L);
+
+        assertNull(cache.get(1L, 0L));
+        assertEquals(1L, cache.getStats().getInvalidations());
+    }
+
+    @Test
+    void testGet_MissesWhenStoredVersionMovedOn() {
+        BoardSnapshotCache cache = new BoardSnapshotCache(10, 1_000_000);
+
+        // Built at version 4, but another instance has since committed version 5
+        cache.put(1L, board(1L, 4L, 3));
+
+        assertNull(cache.get(1L, 5L));
+        assertNotNull(cache.get(1L, 4L));
+    }
+
+    @Test
+    void testPut_KeepsNewerSnapshot() {
+        BoardSnapshotCache cache = new BoardSnapshotCache(10, 1_000_000);
+        BoardDTO current = board(1L, 5L, 3);
+        cache.put(1L, current);
+
+        // A slower reader finishes a snapshot of an older version afterwards
+        cache.put(1L, board(1L, 4L, 3));
+
+        assertSame(current, cache.get(1L, 5L));
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsedByCount() {
+        BoardSnapshotCache cache = new BoardSnapshotCache(2, 1_000_000);
+        cache.put(1L, board(1L, 1));
+        cache.put(2L, board(2L, 1));
+        cache.get(1L, 0L);
+
+        cache.put(3L, board(3L, 1));
+
+        assertNotNull(cache.get(1L, 0L));
+        assertNull(cache.get(2L, 0L));
+        assertNotNull(cache.get(3L, 0L));
+        assertEquals(1L, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void testPut_EvictsBySize() {
+        BoardSnapshotCache cache = new BoardSnapshotCache(100, 40_000);
+        cache.put(1L, board(1L, 30));
+        cache.put(2L, board(2L, 30));
+
+        cache.put(3L, board(3L, 30));
+
+        assertNull(cache.get(1L, 0L));
+        assertTrue(cache.getStats().getEstimatedBytes() <= 40_000);
+    }
+
+    @Test
+    void testPut_SkipsSnapshotLargerThanBudget() {
+        BoardSnapshotCache cache = new BoardSnapshotCache(100, 10_000);
+
+        cache.put(1L, board(1L, 100));
+
+        assertNull(cache.get(1L, 0L));
+        assertEquals(0, cache.getStats().getEntries());
+    }
+}
@@ -1,24 +1,37 @@
 package com.kanban.service;
 
+import com.kanban.dto.BoardEvent;
+import com.kanban.dto.BoardEventBatch;
+import com.kanban.dto.BulkCardRequest;
+import com.kanban.dto.BulkCardResultDTO;
 import com.kanban.dto.CardDTO;
+import com.kanban.dto.CardPageDTO;
 import com.kanban.dto.CreateCardRequest;
 import com.kanban.dto.MoveCardRequest;
 import com.kanban.dto.UpdateCardRequest;
+import com.kanban.messaging.BoardChangedEvent;
 import com.kanban.model.Board;
 import com.kanban.model.Card;
 import com.kanban.model.ListEntity;
 import com.kanban.model.User;
 import com.kanban.model.Workspace;
+import com.kanban.repository.BoardReadRepository;
+import com.kanban.repository.BoardReadRepository.AssigneeIdRow;
+import com.kanban.repository.BoardReadRepository.CardSummaryRow;
 import com.kanban.repository.CardRepository;
 import com.kanban.repository.ListRepository;
 import com.kanban.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -46,6 +59,18 @@ class CardServiceTest {
     @Mock
     private PermissionService permissionService;
 
+    @Mock
+    private RankRebalanceService rankRebalanceService;
+
+    @Mock
+    private BoardVersionService boardVersionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BoardReadRepository boardReadRepository;
+
     @InjectMocks
     private CardService cardService;
 
@@ -113,6 +138,10 @@ class CardServiceTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+
+        ReflectionTestUtils.setField(cardService, "maxBulkOperations", 500);
+        ReflectionTestUtils.setField(cardService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(cardService, "maxPageSize", 3);
     }
 
     @Test
@@ -126,14 +155,15 @@ class CardServiceTest {
         when(permissionService.getCurrentUser()).thenReturn(testUser);
         when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
         when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
-        when(cardRepository.findMaxPositionByListId(1L)).thenReturn(0);
+        when(cardRepository.findMaxRankByListId(1L)).thenReturn("0001i");
         when(cardRepository.save(any(Card.class))).thenReturn(card);
 
         CardDTO result = cardService.createCard(request);
 
         assertNotNull(result);
         assertEquals("Test Card", result.getTitle());
-        verify(cardRepository, times(1)).save(any(Card.class));
+        verify(cardRepository, times(1)).save(argThat(saved -> saved.getRank().compareTo("0001i") > 0));
+        verify(cardRepository, never()).findMaxPositionByListId(anyLong());
     }
 
     @Test
@@ -146,7 +176,6 @@ class CardServiceTest {
         when(permissionService.getCurrentUser()).thenReturn(testUser);
         when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
         when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
-        when(cardRepository.findMaxPositionByListId(1L)).thenReturn(null);
         when(userRepository.findById(2L)).thenReturn(Optional.of(assignedUser));
         when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> {
             Card savedCard = invocation.getArgument(0);
@@ -172,6 +201,7 @@ class CardServiceTest {
 
         assertThrows(AccessDeniedException.class, () -> cardService.createCard(request));
         verify(cardRepository, never()).save(any(Card.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -203,13 +233,14 @@ class CardServiceTest {
         when(permissionService.getCurrentUser()).thenReturn(testUser);
         when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
         when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
-        when(cardRepository.findByListIdAndIsDeletedFalseOrderByPositionAsc(1L)).thenReturn(cards);
+        when(cardRepository.findByListIdAndIsDeletedFalseOrderByRankAscIdAsc(1L)).thenReturn(cards);
 
         List<CardDTO> result = cardService.getCardsByListId(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Card", result.get(0).getTitle());
+        assertEquals(0, result.get(0).getPosition());
     }
 
     @Test
@@ -239,6 +270,7 @@ class CardServiceTest {
 
         assertThrows(AccessDeniedException.class, () -> cardService.updateCard(1L, request));
         verify(cardRepository, never()).save(any(Card.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -278,15 +310,72 @@ class CardServiceTest {
         when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(targetList));
         when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
         when(cardRepository.findListIdByCardId(1L)).thenReturn(Optional.of(1L));
-        when(cardRepository.findByListIdAndIsDeletedFalseOrderByPositionAsc(anyLong())).thenReturn(new ArrayList<>());
         when(cardRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(card));
         when(cardRepository.save(any(Card.class))).thenReturn(card);
-        when(cardRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
 
         CardDTO result = cardService.moveCard(1L, request);
 
         assertNotNull(result);
         verify(cardRepository, times(1)).save(any(Card.class));
+        verify(cardRepository, never()).saveAll(anyList());
+        verify(boardVersionService, times(1)).recordChange(1L);
+
+        ArgumentCaptor<BoardChangedEvent> event = ArgumentCaptor.forClass(BoardChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getBoardId());
+        BoardEvent moved = (BoardEvent) event.getValue().getPayload();
+        assertEquals(BoardEvent.Type.MOVED, moved.getType());
+        assertEquals(1L, moved.getPreviousListId());
+    }
+
+    @Test
+    void testMoveCard_RanksBetweenNeighbours() {
+        MoveCardRequest request = new MoveCardRequest();
+        request.setTargetListId(1L);
+        request.setNewPosition(1);
+
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(permissionService.canEditCard(1L, testUser)).thenReturn(true);
+        when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
+        when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
+        when(cardRepository.findListIdByCardId(1L)).thenReturn(Optional.of(1L));
+        when(cardRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(card));
+        when(cardRepository.findRanksInWindowExcludingCard(1L, 1L, 0, 2)).thenReturn(Arrays.asList("0001i", "0002i"));
+        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cardRepository.countCardsBefore(eq(1L), anyString(), eq(1L))).thenReturn(1L);
+
+        CardDTO result = cardService.moveCard(1L, request);
+
+        // The position comes from where the new rank sorts, and is not written to the row
+        assertEquals(1, result.getPosition());
+        assertEquals(0, card.getPosition());
+        assertTrue(result.getRank().compareTo("0001i") > 0);
+        assertTrue(result.getRank().compareTo("0002i") < 0);
+        verify(cardRepository, never()).saveAll(anyList());
+        verify(rankRebalanceService, never()).rebalanceCards(anyLong());
+    }
+
+    @Test
+    void testMoveCard_LegacyRowsTriggerRebalance() {
+        MoveCardRequest request = new MoveCardRequest();
+        request.setTargetListId(1L);
+        request.setNewPosition(0);
+
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(permissionService.canEditCard(1L, testUser)).thenReturn(true);
+        when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
+        when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
+        when(cardRepository.findListIdByCardId(1L)).thenReturn(Optional.of(1L));
+        when(cardRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(card));
+        when(cardRepository.findRanksInWindowExcludingCard(1L, 1L, 0, 1))
+                .thenReturn(Arrays.asList((String) null))
+                .thenReturn(Arrays.asList("01i"));
+        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CardDTO result = cardService.moveCard(1L, request);
+
+        verify(rankRebalanceService, times(1)).rebalanceCards(1L);
+        assertTrue(result.getRank().compareTo("01i") < 0);
     }
 
     @Test
@@ -300,6 +389,7 @@ class CardServiceTest {
 
         assertThrows(AccessDeniedException.class, () -> cardService.moveCard(1L, request));
         verify(cardRepository, never()).save(any(Card.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -312,6 +402,13 @@ class CardServiceTest {
         assertDoesNotThrow(() -> cardService.deleteCard(1L));
         verify(cardRepository, times(1)).save(any(Card.class));
         assertTrue(card.getIsDeleted());
+
+        ArgumentCaptor<BoardChangedEvent> event = ArgumentCaptor.forClass(BoardChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        BoardEvent deleted = (BoardEvent) event.getValue().getPayload();
+        assertEquals(BoardEvent.Type.DELETED, deleted.getType());
+        assertEquals(1L, deleted.getActorId());
+        assertEquals("Test User", deleted.getActorName());
     }
 
     @Test
@@ -321,7 +418,183 @@ class CardServiceTest {
 
         assertThrows(AccessDeniedException.class, () -> cardService.deleteCard(1L));
         verify(cardRepository, never()).save(any(Card.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testApplyBulk_AppliesValidOperationsAndReportsFailures() {
+        ListEntity targetList = ListEntity.builder()
+                .id(2L)
+                .name("Done")
+                .board(board)
+                .position(1)
+                .isDeleted(false)
+                .build();
+        BulkCardRequest request = new BulkCardRequest(List.of(
+                new BulkCardRequest.Operation(BulkCardRequest.Type.MOVE, 1L, 2L, 0, null),
+                new BulkCardRequest.Operation(BulkCardRequest.Type.DELETE, 99L, null, null, null),
+                new BulkCardRequest.Operation(BulkCardRequest.Type.DELETE, 1L, null, null, null)
+        ), false);
+
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(cardRepository.findByIdInAndIsDeletedFalse(anyCollection())).thenReturn(List.of(card));
+        when(listRepository.findAllById(anyIterable())).thenReturn(List.of(targetList));
+        when(permissionService.canEditCard(card, testUser)).thenReturn(true);
+        when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
+        when(cardRepository.findIdsAndRanksByListId(2L)).thenReturn(List.<Object[]>of(new Object[] { 5L, "i" }));
+        when(boardVersionService.recordChange(1L)).thenReturn(7L);
+
+        BulkCardResultDTO result = cardService.applyBulk(request);
+
+        assertEquals(1, result.getApplied());
+        assertEquals(2, result.getFailed());
+        assertEquals(BulkCardResultDTO.Status.APPLIED, result.getResults().get(0).getStatus());
+        assertEquals(2L, result.getResults().get(0).getCard().getListId());
+        assertEquals("Card not found", result.getResults().get(1).getError());
+        assertEquals(BulkCardResultDTO.Status.FAILED, result.getResults().get(2).getStatus());
+        assertTrue(card.getRank().compareTo("i") < 0); // Placed before the list's first card
+        assertFalse(card.getIsDeleted());
+        verify(cardRepository, times(1)).saveAll(List.of(card));
+        verify(boardVersionService, times(1)).recordChange(1L);
+
+        // One batch frame for the board, holding the move
+        ArgumentCaptor<BoardChangedEvent> event = ArgumentCaptor.forClass(BoardChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        BoardEventBatch batch = (BoardEventBatch) event.getValue().getPayload();
+        assertEquals(1, batch.getEvents().size());
+        BoardEvent moved = (BoardEvent) batch.getEvents().get(0);
+        assertEquals(BoardEvent.Type.MOVED, moved.getType());
+        assertEquals(1L, moved.getPreviousListId());
+        assertEquals(7L, moved.getVersion());
+    }
+
+    @Test
+    void testApplyBulk_AtomicRequestAppliesNothingWhenAnOperationFails() {
+        BulkCardRequest request = new BulkCardRequest(List.of(
+                new BulkCardRequest.Operation(BulkCardRequest.Type.DELETE, 1L, null, null, null),
+                new BulkCardRequest.Operation(BulkCardRequest.Type.DELETE, 2L, null, null, null)
+        ), true);
+
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(cardRepository.findByIdInAndIsDeletedFalse(anyCollection())).thenReturn(List.of(card));
+        when(permissionService.canDeleteCard(card, testUser)).thenReturn(true);
+
+        BulkCardResultDTO result = cardService.applyBulk(request);
+
+        assertEquals(0, result.getApplied());
+        assertEquals(1, result.getFailed());
+        assertEquals(BulkCardResultDTO.Status.SKIPPED, result.getResults().get(0).getStatus());
+        assertEquals(BulkCardResultDTO.Status.FAILED, result.getResults().get(1).getStatus());
+        assertFalse(card.getIsDeleted());
+        verify(boardVersionService, never()).recordChange(anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testApplyBulk_PriorityChangeWithoutPermissionFails() {
+        User otherUser = User.builder().id(3L).username("other").role(User.UserRole.USER).isDeleted(false).build();
+        UpdateCardRequest changes = new UpdateCardRequest();
+        changes.setPriority("HIGH");
+        BulkCardRequest request = new BulkCardRequest(List.of(
+                new BulkCardRequest.Operation(BulkCardRequest.Type.UPDATE, 1L, null, null, changes)
+        ), false);
+
+        when(permissionService.getCurrentUser()).thenReturn(otherUser);
+        when(cardRepository.findByIdInAndIsDeletedFalse(anyCollection())).thenReturn(List.of(card));
+        when(permissionService.canEditCard(card, otherUser)).thenReturn(true);
+
+        BulkCardResultDTO result = cardService.applyBulk(request);
+
+        assertEquals(BulkCardResultDTO.Status.FAILED, result.getResults().get(0).getStatus());
+        assertEquals(Card.Priority.MEDIUM, card.getPriority());
+        verify(boardVersionService, never()).recordChange(anyLong());
+    }
+
+    @Test
+    void testApplyBulk_MissingOperationsIsBadRequest() {
+        assertThrows(IllegalArgumentException.class, () -> cardService.applyBulk(new BulkCardRequest(null, false)));
     }
-}
 
+    @Test
+    void testGetCardPage_ContinuesAfterCursor() {
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(listRepository.findBoardIdById(1L)).thenReturn(Optional.of(1L));
+        when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
+        when(boardReadRepository.findCardSummaries(1L, PageRequest.of(0, 3))).thenReturn(List.of(
+                summary(10L, "a"), summary(11L, "b"), summary(12L, "c")));
+        when(boardReadRepository.findAssigneeIds(List.of(10L, 11L))).thenReturn(List.of(assignee(11L, 2L)));
+
+        CardPageDTO first = cardService.getCardPage(1L, null, null);
+
+        assertTrue(first.getHasMore());
+        assertNotNull(first.getNextCursor());
+        assertEquals(2, first.getCards().size());
+        assertEquals(1, first.getCards().get(1).getPosition());
+        assertEquals(List.of(2L), first.getCards().get(1).getAssignedUserIds());
+        assertEquals(List.of(), first.getCards().get(0).getAssignedUserIds());
+
+        // Requested sizes are capped, and the next page picks up after the last card of the previous one
+        when(boardReadRepository.findCardSummariesAfter(1L, "b", 11L, PageRequest.of(0, 4)))
+                .thenReturn(List.of(summary(12L, "c")));
+        when(boardReadRepository.findAssigneeIds(List.of(12L))).thenReturn(List.of());
+
+        CardPageDTO second = cardService.getCardPage(1L, first.getNextCursor(), 50);
+
+        assertFalse(second.getHasMore());
+        assertNull(second.getNextCursor());
+        assertEquals(12L, second.getCards().get(0).getId());
+        assertEquals(2, second.getCards().get(0).getPosition());
+    }
+
+    @Test
+    void testGetCardPage_ContinuesPastUnrankedCard() {
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(listRepository.findBoardIdById(1L)).thenReturn(Optional.of(1L));
+        when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true);
+        when(boardReadRepository.findCardSummaries(1L, PageRequest.of(0, 2))).thenReturn(List.of(
+                summary(10L, null), summary(11L, null)));
+        when(boardReadRepository.findAssigneeIds(List.of(10L))).thenReturn(List.of());
+
+        CardPageDTO first = cardService.getCardPage(1L, null, 1);
+
+        // The cursor of an unranked card only looks at later unranked cards
+        when(boardReadRepository.findUnrankedCardSummariesAfter(1L, 10L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(summary(11L, null)));
+        when(boardReadRepository.findAssigneeIds(List.of(11L))).thenReturn(List.of());
+
+        CardPageDTO second = cardService.getCardPage(1L, first.getNextCursor(), 1);
 
+        assertEquals(11L, second.getCards().get(0).getId());
+        assertEquals(1, second.getCards().get(0).getPosition());
+        assertFalse(second.getHasMore());
+        verify(boardReadRepository, never()).findCardSummariesAfter(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testGetCardPage_RejectsInvalidCursorAndMissingAccess() {
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(listRepository.findBoardIdById(1L)).thenReturn(Optional.of(1L));
+        when(permissionService.hasBoardAccess(1L, testUser)).thenReturn(true, false);
+
+        assertThrows(IllegalArgumentException.class, () -> cardService.getCardPage(1L, "not-a-cursor", null));
+        assertThrows(AccessDeniedException.class, () -> cardService.getCardPage(1L, null, null));
+        verifyNoInteractions(boardReadRepository);
+    }
+
+    private static CardSummaryRow summary(Long id, String rank) {
+        return new CardSummaryRow() {
+            public Long getId() { return id; }
+            public String getTitle() { return "Card " + id; }
+            public String getRank() { return rank; }
+            public Card.Priority getPriority() { return Card.Priority.HIGH; }
+            public LocalDateTime getDueDate() { return null; }
+        };
+    }
+
+    private static AssigneeIdRow assignee(Long cardId, Long userId) {
+        return new AssigneeIdRow() {
+            public Long getCardId() { return cardId; }
+            public Long getUserId() { return userId; }
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package com.kanban.service;
 
+import com.kanban.dto.BoardEvent;
 import com.kanban.dto.CreateListRequest;
 import com.kanban.dto.ListDTO;
 import com.kanban.dto.MoveListRequest;
+import com.kanban.messaging.BoardChangedEvent;
 import com.kanban.model.Board;
 import com.kanban.model.ListEntity;
 import com.kanban.model.User;
@@ -10,16 +12,18 @@ import com.kanban.model.Workspace;
 import com.kanban.model.WorkspaceMember;
 import com.kanban.repository.BoardRepository;
 import com.kanban.repository.ListRepository;
+import com.kanban.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +44,15 @@ class ListServiceTest {
     @Mock
     private PermissionService permissionService;
 
+    @Mock
+    private RankRebalanceService rankRebalanceService;
+
+    @Mock
+    private BoardVersionService boardVersionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ListService listService;
 
@@ -93,15 +106,24 @@ class ListServiceTest {
         request.setPosition(null); // Auto-calculate position
 
         doNothing().when(permissionService).verifyBoardAccess(1L);
+        when(permissionService.getCurrentPrincipal()).thenReturn(UserPrincipal.from(testUser));
         when(boardRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(board));
-        when(listRepository.findByBoardIdAndIsDeletedFalseOrderByPositionAsc(1L)).thenReturn(new ArrayList<>());
+        when(listRepository.findMaxPositionByBoardId(1L)).thenReturn(2);
+        when(listRepository.findMaxRankByBoardId(1L)).thenReturn("03i");
         when(listRepository.save(any(ListEntity.class))).thenReturn(list);
 
         ListDTO result = listService.createList(request);
 
         assertNotNull(result);
         assertEquals("To Do", result.getName());
-        verify(listRepository, times(1)).save(any(ListEntity.class));
+        verify(listRepository, times(1)).save(argThat(saved ->
+                saved.getPosition() == 3 && saved.getRank().compareTo("03i") > 0));
+        verify(listRepository, never()).findByBoardIdAndIsDeletedFalseOrderByPositionAsc(anyLong());
+
+        ArgumentCaptor<BoardChangedEvent> event = ArgumentCaptor.forClass(BoardChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getBoardId());
+        assertEquals(BoardEvent.Type.LIST_CREATED, ((BoardEvent) event.getValue().getPayload()).getType());
     }
 
     @Test
@@ -112,6 +134,7 @@ class ListServiceTest {
         request.setPosition(2);
 
         doNothing().when(permissionService).verifyBoardAccess(1L);
+        when(permissionService.getCurrentPrincipal()).thenReturn(UserPrincipal.from(testUser));
         when(boardRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(board));
         when(listRepository.save(any(ListEntity.class))).thenReturn(list);
 
@@ -139,17 +162,26 @@ class ListServiceTest {
         assertThrows(RuntimeException.class, () -> listService.getListById(1L));
     }
 
+    @Test
+    void testGetListsETag_ChecksBoardAccess() {
+        doThrow(new RuntimeException("Access denied")).when(permissionService).verifyBoardAccess(1L);
+
+        assertThrows(RuntimeException.class, () -> listService.getListsETag(1L));
+        verify(boardVersionService, never()).committedVersion(anyLong());
+    }
+
     @Test
     void testGetListsByBoardId_Success() {
         List<ListEntity> lists = Arrays.asList(list);
 
-        when(listRepository.findByBoardIdAndIsDeletedFalseOrderByPositionAsc(1L)).thenReturn(lists);
+        when(listRepository.findByBoardIdAndIsDeletedFalseOrderByRankAscIdAsc(1L)).thenReturn(lists);
 
         List<ListDTO> result = listService.getListsByBoardId(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("To Do", result.get(0).getName());
+        assertEquals(0, result.get(0).getPosition());
     }
 
     @Test
@@ -191,6 +223,12 @@ class ListServiceTest {
         assertDoesNotThrow(() -> listService.deleteList(1L));
         verify(listRepository, times(1)).save(any(ListEntity.class));
         assertTrue(list.getIsDeleted());
+
+        ArgumentCaptor<BoardChangedEvent> event = ArgumentCaptor.forClass(BoardChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        BoardEvent deleted = (BoardEvent) event.getValue().getPayload();
+        assertEquals(BoardEvent.Type.LIST_DELETED, deleted.getType());
+        assertEquals(1L, deleted.getListId());
     }
 
     @Test
@@ -200,6 +238,7 @@ class ListServiceTest {
 
         assertThrows(AccessDeniedException.class, () -> listService.deleteList(1L));
         verify(listRepository, never()).save(any(ListEntity.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -223,20 +262,46 @@ class ListServiceTest {
                 .isDeleted(false)
                 .build();
 
-        List<ListEntity> allLists = new ArrayList<>(Arrays.asList(list, list2, list3));
-
         when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
         when(boardRepository.findByIdWithWorkspace(1L)).thenReturn(Optional.of(board));
         when(permissionService.getCurrentUser()).thenReturn(testUser);
         when(permissionService.isWorkspaceOwnerOrAdmin(1L, testUser)).thenReturn(true);
-        when(listRepository.findByBoardIdAndIsDeletedFalseOrderByPositionAsc(1L)).thenReturn(allLists);
-        when(listRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(listRepository.findRanksInWindowExcludingList(1L, 1L, 1, 2)).thenReturn(Arrays.asList("02i", "03i"));
+        when(listRepository.save(any(ListEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(listRepository.findByIdWithCards(1L)).thenReturn(Optional.of(list));
 
         ListDTO result = listService.moveList(1L, request);
 
         assertNotNull(result);
-        verify(listRepository, times(1)).saveAll(anyList());
+        assertEquals(2, result.getPosition());
+        assertTrue(result.getRank().compareTo("02i") > 0);
+        assertTrue(result.getRank().compareTo("03i") < 0);
+        verify(listRepository, times(1)).save(list);
+        verify(listRepository, never()).saveAll(anyList());
+        assertEquals(1, list2.getPosition());
+        verify(boardVersionService, times(1)).recordChange(1L);
+        assertEquals(2, list3.getPosition());
+    }
+
+    @Test
+    void testMoveList_LegacyRowsTriggerRebalance() {
+        MoveListRequest request = new MoveListRequest();
+        request.setNewPosition(0);
+
+        when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
+        when(boardRepository.findByIdWithWorkspace(1L)).thenReturn(Optional.of(board));
+        when(permissionService.getCurrentUser()).thenReturn(testUser);
+        when(permissionService.isWorkspaceOwnerOrAdmin(1L, testUser)).thenReturn(true);
+        when(listRepository.findRanksInWindowExcludingList(1L, 1L, 0, 1))
+                .thenReturn(Arrays.asList((String) null))
+                .thenReturn(Arrays.asList("01i"));
+        when(listRepository.save(any(ListEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(listRepository.findByIdWithCards(1L)).thenReturn(Optional.of(list));
+
+        ListDTO result = listService.moveList(1L, request);
+
+        verify(rankRebalanceService, times(1)).rebalanceLists(1L);
+        assertTrue(result.getRank().compareTo("01i") < 0);
     }
 
     @Test
@@ -251,6 +316,7 @@ class ListServiceTest {
 
         assertThrows(AccessDeniedException.class, () -> listService.moveList(1L, request));
         verify(listRepository, never()).saveAll(anyList());
+        verify(boardVersionService, never()).recordChange(anyLong());
     }
 }
 
@@ -1,5 +1,6 @@
 package com.kanban.service;
 
+import com.kanban.config.PrimaryReads;
 import com.kanban.model.Board;
 import com.kanban.model.Card;
 import com.kanban.model.ListEntity;
@@ -13,6 +14,7 @@ import com.kanban.repository.ListRepository;
 import com.kanban.repository.UserRepository;
 import com.kanban.repository.WorkspaceMemberRepository;
 import com.kanban.repository.WorkspaceRepository;
+import com.kanban.security.UserPrincipal;
 import com.kanban.util.SecurityUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,11 +22,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -54,6 +60,12 @@ class PermissionServiceTest {
     @Mock
     private ListRepository listRepository;
 
+    @Spy
+    private PermissionCache permissionCache = new PermissionCache(100, 60_000);
+
+    @Spy
+    private PrimaryReads primaryReads = new PrimaryReads(Optional.empty(), null);
+
     @InjectMocks
     private PermissionService permissionService;
 
@@ -145,6 +157,32 @@ class PermissionServiceTest {
         }
     }
 
+    @Test
+    void testGetCurrentUser_ByPrincipalId() {
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentPrincipal)
+                    .thenReturn(new UserPrincipal(2L, "regular", null, User.UserRole.USER, "Regular User"));
+            when(userRepository.findById(2L)).thenReturn(Optional.of(regularUser));
+
+            User result = permissionService.getCurrentUser();
+
+            assertSame(regularUser, result);
+            verify(userRepository, never()).findByUsernameAndIsDeletedFalse(anyString());
+        }
+    }
+
+    @Test
+    void testGetCurrentPrincipal_NoQuery() {
+        UserPrincipal principal = new UserPrincipal(2L, "regular", null, User.UserRole.USER, "Regular User");
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentPrincipal).thenReturn(principal);
+
+            assertSame(principal, permissionService.getCurrentPrincipal());
+            assertEquals("Regular User", principal.getDisplayName());
+            verifyNoInteractions(userRepository);
+        }
+    }
+
     @Test
     void testGetCurrentUser_NotFound() {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
@@ -173,15 +211,44 @@ class PermissionServiceTest {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUsername).thenReturn("regular");
             when(userRepository.findByUsernameAndIsDeletedFalse("regular")).thenReturn(Optional.of(regularUser));
-            when(workspaceMemberRepository.existsByWorkspaceIdAndUserIdAndIsDeletedFalse(1L, 2L)).thenReturn(true);
+            when(workspaceMemberRepository.findWorkspaceRolesByUserId(2L))
+                    .thenReturn(List.of(workspaceRole(1L, WorkspaceMember.WorkspaceRole.MEMBER)));
 
             boolean result = permissionService.hasWorkspaceAccess(1L);
 
             assertTrue(result);
-            verify(workspaceMemberRepository, times(1)).existsByWorkspaceIdAndUserIdAndIsDeletedFalse(1L, 2L);
+            verify(workspaceMemberRepository, times(1)).findWorkspaceRolesByUserId(2L);
         }
     }
 
+    @Test
+    void testHasBoardAccess_ForPrincipalCachesAccessModel() {
+        UserPrincipal principal = new UserPrincipal(2L, "regular", null, User.UserRole.USER, "Regular User");
+        when(userRepository.findById(2L)).thenReturn(Optional.of(regularUser));
+        when(workspaceMemberRepository.findWorkspaceRolesByUserId(2L))
+                .thenReturn(List.of(workspaceRole(1L, WorkspaceMember.WorkspaceRole.MEMBER)));
+        when(boardRepository.findWorkspaceId(1L)).thenReturn(Optional.of(1L));
+        when(boardRepository.findWorkspaceId(2L)).thenReturn(Optional.of(5L));
+
+        assertTrue(permissionService.hasBoardAccess(1L, principal));
+        assertFalse(permissionService.hasBoardAccess(2L, principal));
+        assertTrue(permissionService.hasWorkspaceAccess(1L, principal));
+
+        // Later checks are answered from the cached model
+        verify(userRepository, times(1)).findById(2L);
+        verify(workspaceMemberRepository, times(1)).findWorkspaceRolesByUserId(2L);
+    }
+
+    @Test
+    void testHasBoardAccess_ForDeletedPrincipal() {
+        UserPrincipal principal = new UserPrincipal(2L, "regular", null, User.UserRole.USER, "Regular User");
+        regularUser.setIsDeleted(true);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(regularUser));
+
+        assertFalse(permissionService.hasBoardAccess(1L, principal));
+        assertFalse(permissionService.hasWorkspaceAccess(1L, principal));
+    }
+
     @Test
     void testHasBoardAccess_Admin() {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
@@ -199,11 +266,12 @@ class PermissionServiceTest {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUsername).thenReturn("regular");
             when(userRepository.findByUsernameAndIsDeletedFalse("regular")).thenReturn(Optional.of(regularUser));
-            when(boardMemberRepository.existsByBoardIdAndUserIdAndIsDeletedFalse(1L, 2L)).thenReturn(true);
+            when(boardMemberRepository.findBoardIdsByUserId(2L)).thenReturn(List.of(1L));
 
             boolean result = permissionService.hasBoardAccess(1L);
 
             assertTrue(result);
+            verify(boardRepository, never()).findWorkspaceId(anyLong());
         }
     }
 
@@ -212,9 +280,9 @@ class PermissionServiceTest {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUsername).thenReturn("regular");
             when(userRepository.findByUsernameAndIsDeletedFalse("regular")).thenReturn(Optional.of(regularUser));
-            when(boardMemberRepository.existsByBoardIdAndUserIdAndIsDeletedFalse(1L, 2L)).thenReturn(false);
-            when(boardRepository.findByIdWithWorkspace(1L)).thenReturn(Optional.of(board));
-            when(workspaceMemberRepository.existsByWorkspaceIdAndUserIdAndIsDeletedFalse(1L, 2L)).thenReturn(true);
+            when(boardRepository.findWorkspaceId(1L)).thenReturn(Optional.of(1L));
+            when(workspaceMemberRepository.findWorkspaceRolesByUserId(2L))
+                    .thenReturn(List.of(workspaceRole(1L, WorkspaceMember.WorkspaceRole.MEMBER)));
 
             boolean result = permissionService.hasBoardAccess(1L);
 
@@ -280,7 +348,7 @@ class PermissionServiceTest {
     @Test
     void testCanEditList_WorkspaceOwner() {
         when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
-        when(workspaceRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(workspace));
+        when(workspaceRepository.findIdsByOwnerId(3L)).thenReturn(List.of(1L));
 
         boolean result = permissionService.canEditList(1L, workspaceOwner);
 
@@ -289,17 +357,9 @@ class PermissionServiceTest {
 
     @Test
     void testCanEditList_WorkspaceAdmin() {
-        WorkspaceMember adminMember = WorkspaceMember.builder()
-                .workspace(workspace)
-                .user(regularUser)
-                .role(WorkspaceMember.WorkspaceRole.ADMIN)
-                .isDeleted(false)
-                .build();
-
         when(listRepository.findByIdWithBoard(1L)).thenReturn(Optional.of(list));
-        when(workspaceRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(workspace));
-        when(workspaceMemberRepository.findByWorkspaceIdAndUserIdAndIsDeletedFalse(1L, 2L))
-                .thenReturn(Optional.of(adminMember));
+        when(workspaceMemberRepository.findWorkspaceRolesByUserId(2L))
+                .thenReturn(List.of(workspaceRole(1L, WorkspaceMember.WorkspaceRole.ADMIN)));
 
         boolean result = permissionService.canEditList(1L, regularUser);
 
@@ -309,12 +369,12 @@ class PermissionServiceTest {
     @Test
     void testIsWorkspaceOwnerOrAdmin_Admin() {
         assertTrue(permissionService.isWorkspaceOwnerOrAdmin(1L, adminUser));
-        verify(workspaceRepository, never()).findByIdAndIsDeletedFalse(anyLong());
+        verify(workspaceRepository, never()).findIdsByOwnerId(anyLong());
     }
 
     @Test
     void testIsWorkspaceOwnerOrAdmin_Owner() {
-        when(workspaceRepository.findByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(workspace));
+        when(workspaceRepository.findIdsByOwnerId(3L)).thenReturn(List.of(1L));
 
         boolean result = permissionService.isWorkspaceOwnerOrAdmin(1L, workspaceOwner);
 
@@ -326,7 +386,8 @@ class PermissionServiceTest {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUsername).thenReturn("regular");
             when(userRepository.findByUsernameAndIsDeletedFalse("regular")).thenReturn(Optional.of(regularUser));
-            when(workspaceMemberRepository.existsByWorkspaceIdAndUserIdAndIsDeletedFalse(1L, 2L)).thenReturn(true);
+            when(workspaceMemberRepository.findWorkspaceRolesByUserId(2L))
+                    .thenReturn(List.of(workspaceRole(1L, WorkspaceMember.WorkspaceRole.MEMBER)));
 
             assertDoesNotThrow(() -> permissionService.verifyWorkspaceAccess(1L));
         }
@@ -337,7 +398,6 @@ class PermissionServiceTest {
         try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
             mockedSecurityUtil.when(SecurityUtil::getCurrentUsername).thenReturn("regular");
             when(userRepository.findByUsernameAndIsDeletedFalse("regular")).thenReturn(Optional.of(regularUser));
-            when(workspaceMemberRepository.existsByWorkspaceIdAndUserIdAndIsDeletedFalse(1L, 2L)).thenReturn(false);
 
             assertThrows(RuntimeException.class, () -> permissionService.verifyWorkspaceAccess(1L));
         }
@@ -362,6 +422,76 @@ class PermissionServiceTest {
             assertThrows(RuntimeException.class, () -> permissionService.verifyAdmin());
         }
     }
-}
 
+    @Test
+    void testHasBoardAccess_CachedAfterFirstCheck() {
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUsername).thenReturn("regular");
+            when(userRepository.findByUsernameAndIsDeletedFalse("regular")).thenReturn(Optional.of(regularUser));
+            when(boardRepository.findWorkspaceId(1L)).thenReturn(Optional.of(1L));
+            when(workspaceMemberRepository.findWorkspaceRolesByUserId(2L))
+                    .thenReturn(List.of(workspaceRole(1L, WorkspaceMember.WorkspaceRole.MEMBER)));
+
+            assertTrue(permissionService.hasBoardAccess(1L));
+            assertTrue(permissionService.hasBoardAccess(1L));
+            assertTrue(permissionService.hasWorkspaceAccess(1L));
+
+            verify(userRepository, times(1)).findByUsernameAndIsDeletedFalse("regular");
+            verify(workspaceMemberRepository, times(1)).findWorkspaceRolesByUserId(2L);
+            verify(boardRepository, times(1)).findWorkspaceId(1L);
+        }
+    }
+
+    @Test
+    void testHasBoardAccess_ReloadedAfterInvalidation() {
+        try (MockedStatic<SecurityUtil> mockedSecurityUtil = mockStatic(SecurityUtil.class)) {
+            mockedSecurityUtil.when(SecurityUtil::getCurrentUsername).thenReturn("regular");
+            when(userRepository.findByUsernameAndIsDeletedFalse("regular")).thenReturn(Optional.of(regularUser));
+            when(boardMemberRepository.findBoardIdsByUserId(2L))
+                    .thenReturn(List.of(1L))
+                    .thenReturn(List.of());
+            when(boardRepository.findWorkspaceId(1L)).thenReturn(Optional.of(1L));
+
+            assertTrue(permissionService.hasBoardAccess(1L));
+
+            permissionCache.invalidateUser(2L);
 
+            assertFalse(permissionService.hasBoardAccess(1L));
+            verify(boardMemberRepository, times(2)).findBoardIdsByUserId(2L);
+        }
+    }
+
+    @Test
+    void testPermissionCache_StaleLoadIsDiscarded() {
+        long generation = permissionCache.generation();
+        permissionCache.invalidateUser(2L);
+
+        permissionCache.putBoardWorkspace(generation, 1L, 1L);
+
+        assertNull(permissionCache.getBoardWorkspace(1L));
+    }
+
+    @Test
+    void testPermissionCache_UserModelExpires() {
+        PermissionCache.UserAccess access = new PermissionCache.UserAccess(
+                2L, "regular", User.UserRole.USER, Set.of(1L), Map.of(), Set.of());
+        permissionCache.putUser(permissionCache.generation(), access, 1_000);
+
+        assertSame(access, permissionCache.getUser("regular", 60_999));
+        assertNull(permissionCache.getUser("regular", 61_000));
+    }
+
+    private WorkspaceMemberRepository.WorkspaceRoleRow workspaceRole(Long workspaceId, WorkspaceMember.WorkspaceRole role) {
+        return new WorkspaceMemberRepository.WorkspaceRoleRow() {
+            @Override
+            public Long getWorkspaceId() {
+                return workspaceId;
+            }
+
+            @Override
+            public WorkspaceMember.WorkspaceRole getRole() {
+                return role;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.kanban.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankUtilTest {
+
+    @Test
+    void testBetween_EmptyList() {
+        assertEquals("i", RankUtil.between(null, null));
+    }
+
+    @Test
+    void testBetween_SortsStrictlyBetweenNeighbours() {
+        String rank = RankUtil.between("0001i", "0002i");
+
+        assertTrue(rank.compareTo("0001i") > 0);
+        assertTrue(rank.compareTo("0002i") < 0);
+    }
+
+    @Test
+    void testBetween_AdjacentKeysExtendLength() {
+        String rank = RankUtil.between("a", "b");
+
+        assertTrue(rank.compareTo("a") > 0);
+        assertTrue(rank.compareTo("b") < 0);
+        assertEquals(2, rank.length());
+    }
+
+    @Test
+    void testBetween_RepeatedInsertsAtFront() {
+        String first = "0001i";
+        for (int i = 0; i < 50; i++) {
+            String rank = RankUtil.between(null, first);
+            assertTrue(rank.compareTo(first) < 0);
+            assertFalse(rank.endsWith("0"));
+            first = rank;
+        }
+    }
+
+    @Test
+    void testBetween_RepeatedInsertsAtSamePosition() {
+        String lo = "0001i";
+        String hi = "0002i";
+        for (int i = 0; i < 100; i++) {
+            String rank = RankUtil.between(lo, hi);
+            assertTrue(rank.compareTo(lo) > 0);
+            assertTrue(rank.compareTo(hi) < 0);
+            hi = rank;
+        }
+        assertTrue(RankUtil.needsRebalance(hi));
+    }
+
+    @Test
+    void testBetween_AppendsStayShort() {
+        String last = "0001i";
+        for (int i = 0; i < 2000; i++) {
+            String rank = RankUtil.between(last, null);
+            assertTrue(rank.compareTo(last) > 0);
+            last = rank;
+        }
+        assertFalse(RankUtil.needsRebalance(last));
+    }
+
+    @Test
+    void testBetween_AppendCarriesAtFixedWidth() {
+        assertEquals("0002", RankUtil.between("0001", null));
+        assertEquals("00021", RankUtil.between("0001z", null));
+        assertEquals("zzi", RankUtil.between("zz", null));
+    }
+
+    @Test
+    void testBetween_RejectsOutOfOrderBounds() {
+        assertThrows(IllegalArgumentException.class, () -> RankUtil.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> RankUtil.between("a", "a"));
+    }
+
+    @Test
+    void testSpread_ProducesSortedEqualLengthKeys() {
+        List<String> ranks = RankUtil.spread(1500);
+
+        assertEquals(1500, ranks.size());
+        List<String> sorted = new ArrayList<>(ranks);
+        sorted.sort(String::compareTo);
+        assertEquals(sorted, ranks);
+        assertTrue(ranks.stream().allMatch(rank -> rank.length() == ranks.get(0).length()));
+    }
+}